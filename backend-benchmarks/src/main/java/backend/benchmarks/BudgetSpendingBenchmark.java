@@ -0,0 +1,124 @@
+package backend.benchmarks;
+
+import backend.entity.Budget;
+import backend.repository.BudgetRepository;
+import backend.repository.CategoryMonthTotalRepository;
+import backend.repository.CategoryMonthTotalRepository.CategorySpending;
+import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.DailyCategoryTotal;
+import backend.service.BudgetPeriodEngine;
+import backend.service.BudgetService;
+import backend.service.BudgetSpendingCache;
+import backend.service.CategoryTotalsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget listing with spent amounts, taken per budget from month- and year-to-date category sums
+ * (calendar periods) or by bucketing a year of daily category sums (mixed periods).
+ * Repositories return prebuilt lists, so only the spending calculation is measured; with cached=true
+ * every call after the first is served from BudgetSpendingCache, as for a polling dashboard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetSpendingBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "Groceries", "Dining", "Transportation", "Shopping", "Utilities", "Entertainment", "Healthcare", "Other"
+    };
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    /** calendar: monthly and yearly budgets only; mixed: weekly, biweekly and rolling ones too. */
+    @Param({"calendar", "mixed"})
+    public String periods;
+
+    private BudgetService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<Budget> budgets = new ArrayList<>();
+        String[] periodTypes = periods.equals("calendar")
+            ? new String[]{"monthly", "yearly"}
+            : new String[]{"monthly", "weekly", "yearly", "biweekly", "rolling"};
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Budget budget = new Budget();
+            budget.setId(i + 1L);
+            budget.setUserId(1L);
+            budget.setCategory(CATEGORIES[i]);
+            budget.setAmount(new BigDecimal("500.00"));
+            budget.setPeriodType(periodTypes[i % periodTypes.length]);
+            budget.setPeriodLengthDays(30);
+            budget.setIsActive(true);
+            budgets.add(budget);
+        }
+
+        // What the database returns: month-to-date and year-to-date sums per category
+        List<CategorySpending> spending = new ArrayList<>();
+        for (String category : CATEGORIES) {
+            BigDecimal monthToDate = BigDecimal.valueOf(10_000 + random.nextInt(100_000), 2);
+            BigDecimal yearToDate = monthToDate.add(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            spending.add(new CategorySpending() {
+                public String getCategory() { return category.toLowerCase(); }
+                public BigDecimal getMonthToDate() { return monthToDate; }
+                public BigDecimal getYearToDate() { return yearToDate; }
+            });
+        }
+
+        // And the daily sums of the range scan, over the last year
+        List<DailyCategoryTotal> days = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate date = today.withDayOfYear(1); !date.isAfter(today); date = date.plusDays(1)) {
+            for (String category : CATEGORIES) {
+                String key = category.toLowerCase();
+                LocalDate day = date;
+                BigDecimal total = BigDecimal.valueOf(100 + random.nextInt(10_000), 2);
+                days.add(new DailyCategoryTotal() {
+                    public String getCategory() { return key; }
+                    public LocalDate getTransactionDate() { return day; }
+                    public BigDecimal getTotal() { return total; }
+                });
+            }
+        }
+
+        CategoryMonthTotalRepository totalsRepository =
+            repository(CategoryMonthTotalRepository.class, "findCategorySpending", spending);
+        service = new BudgetService(
+            repository(BudgetRepository.class, "findByUserIdAndIsActive", budgets),
+            new CategoryTotalsService(totalsRepository,
+                repository(TransactionRepository.class, "findDailyCategorySpending", days), null),
+            new BudgetSpendingCache(new SimpleMeterRegistry(), cached ? 10_000 : 0, 300),
+            new BudgetPeriodEngine(),
+            null);
+    }
+
+    @Benchmark
+    public List<Budget> getUserBudgets() {
+        return service.getUserBudgets(1L);
+    }
+
+    /** A repository whose only supported query returns the given list. */
+    private static <T> T repository(Class<T> type, String query, List<?> result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(query)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,41 @@
+package backend.benchmarks;
+
+import backend.service.KeywordCategorizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-description category inference with the default keyword rules, which is what every parsed
+ * statement row goes through.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorizationBenchmark {
+
+    private static final String[] DESCRIPTIONS = {
+        "DEBIT CARD PURCHASE - STARBUCKS STORE 1234 VISA",
+        "Payroll Deposit ACME Corp",
+        "WHOLEFDS MKT 10234 AUSTIN TX",
+        "Shell Oil 57442 Gas Station",
+        "Netflix.com Subscription",
+        "Transfer to Savings 000123",
+        "ZELLE PAYMENT TO J SMITH",
+        "Interest Paid This Period",
+        "Unrecognized Merchant 998877 Somewhere"
+    };
+
+    private final KeywordCategorizer categorizer = KeywordCategorizer.defaults();
+    private int next;
+
+    @Benchmark
+    public String categorize() {
+        String description = DESCRIPTIONS[next];
+        next = next + 1 == DESCRIPTIONS.length ? 0 : next + 1;
+        return categorizer.categorize(description);
+    }
+}
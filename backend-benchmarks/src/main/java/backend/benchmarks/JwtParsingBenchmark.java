@@ -0,0 +1,51 @@
+package backend.benchmarks;
+
+import backend.util.JwtUtil;
+import backend.util.JwtUtil.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done for every authenticated request: signature check and claims parsing,
+ * and verify() as used by the filter, which parses once and then serves the token from its cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // Same values as the application's property defaults
+        set("secret", "mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm");
+        set("expiration", 86_400_000L);
+        token = jwtUtil.generateToken("benchmark-user", Map.of("userId", 1L));
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtUtil.verify(token);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtUtil.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtil, value);
+    }
+}
@@ -0,0 +1,91 @@
+package backend.benchmarks;
+
+import backend.service.StatementLineScanner;
+import backend.service.StatementLineScanner.LineFeatures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-line classification cost of the generic statement parser:
+ * the previous String.matches / contains chain against the single-pass StatementLineScanner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineScanBenchmark {
+
+    private static final String[] SAMPLE_LINES = {
+        "01/15 Starbucks Coffee #1234 5.75",
+        "01/16 Payroll Deposit ACME Corp 1,250.00",
+        "17 Jan Shell Gas Station -40.10",
+        "Page 2 of 40",
+        "Date Description Amount Balance",
+        "01/18 Amazon Marketplace Purchase $129.99 2,310.44",
+        "Total Withdrawals 3,412.77",
+        "Member FDIC Equal Housing Lender",
+        "02-01-2024 Transfer to Savings 500.00",
+        "Thank you for banking with us"
+    };
+
+    private String[] lines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // 40 pages of roughly 50 lines each
+        Random random = new Random(42);
+        lines = new String[2000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = SAMPLE_LINES[random.nextInt(SAMPLE_LINES.length)];
+        }
+    }
+
+    private String nextLine() {
+        String line = lines[next];
+        next = (next + 1) % lines.length;
+        return line;
+    }
+
+    @Benchmark
+    public void legacyRegexClassification(Blackhole bh) {
+        String line = nextLine();
+        bh.consume(!legacyIsHeaderOrFooter(line) && legacyContainsDate(line) && legacyContainsAmount(line));
+    }
+
+    @Benchmark
+    public void singlePassScanner(Blackhole bh) {
+        LineFeatures features = StatementLineScanner.scan(nextLine());
+        bh.consume(!features.isHeaderOrFooter() && features.hasDate() && features.hasAmount());
+    }
+
+    // ==================== PREVIOUS IMPLEMENTATION ====================
+
+    private static boolean legacyIsHeaderOrFooter(String line) {
+        String lower = line.toLowerCase();
+        return lower.contains("page") ||
+               lower.contains("continued") ||
+               lower.contains("total") && !lower.matches(".*\\d+\\.\\d{2}.*") ||
+               lower.contains("statement") && !lower.matches(".*\\d+\\.\\d{2}.*") ||
+               lower.contains("account summary") ||
+               lower.contains("transaction history") ||
+               lower.contains("date") && lower.contains("description") ||
+               lower.contains("privacy") ||
+               lower.contains("member fdic") ||
+               lower.length() < 5;
+    }
+
+    private static boolean legacyContainsDate(String line) {
+        return line.matches(".*\\d{1,2}[/\\-]\\d{1,2}([/\\-]\\d{2,4})?.*") ||
+               line.matches(".*\\d{1,2}\\s+(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\w*.*");
+    }
+
+    private static boolean legacyContainsAmount(String line) {
+        return line.matches(".*\\$?\\d{1,3}(,\\d{3})*\\.\\d{2}.*");
+    }
+}
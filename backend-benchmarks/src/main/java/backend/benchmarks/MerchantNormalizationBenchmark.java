@@ -0,0 +1,69 @@
+package backend.benchmarks;
+
+import backend.service.MerchantNormalizationService;
+import backend.service.MerchantNormalizer;
+import backend.service.MerchantNormalizer.Merchant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Merchant extraction from a statement description: the previous chain of regex replacements
+ * against the trie-based MerchantNormalizer, with and without the service's lookup cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MerchantNormalizationBenchmark {
+
+    private static final String[] DESCRIPTIONS = {
+        "DEBIT CARD PURCHASE - STARBUCKS STORE 1234 VISA",
+        "POS PURCHASE WHOLEFDS MKT 10234",
+        "SQ *BLUE BOTTLE COFFEE",
+        "Payment to Comcast Cable 8877",
+        "AMZN Mktp US*2K4L91",
+        "Shell Oil 57442 Gas Station",
+        "Online Payment - Netflix.com",
+        "Unrecognized Merchant #998877 Somewhere"
+    };
+
+    private static final Pattern MERCHANT_PREFIX = Pattern.compile("(?i)^(debit card purchase|debit purchase|credit card|purchase|payment to|transfer to|from|pos purchase|card payment|online payment|mobile payment)\\s*-?\\s*");
+    private static final Pattern MERCHANT_CARD_SUFFIX = Pattern.compile("(?i)\\s+(visa|mastercard|debit|credit|card|\\d{4}).*$");
+    private static final Pattern MERCHANT_STORE_NUMBER = Pattern.compile("\\s+#\\d+.*$");
+    private static final Pattern MERCHANT_MASKED_NUMBER = Pattern.compile("\\s+\\*+\\d+.*$");
+    private static final Pattern MERCHANT_SEPARATOR = Pattern.compile("[\\-\\#\\*]");
+
+    private final MerchantNormalizationService cached = new MerchantNormalizationService();
+    private int next;
+
+    @Benchmark
+    public String legacyRegexChain() {
+        String cleaned = MERCHANT_PREFIX.matcher(nextDescription()).replaceAll("");
+        cleaned = MERCHANT_CARD_SUFFIX.matcher(cleaned).replaceAll("");
+        cleaned = MERCHANT_STORE_NUMBER.matcher(cleaned).replaceAll("");
+        cleaned = MERCHANT_MASKED_NUMBER.matcher(cleaned).replaceAll("").trim();
+
+        String[] parts = MERCHANT_SEPARATOR.split(cleaned);
+        return parts.length > 0 ? parts[0].trim() : cleaned;
+    }
+
+    @Benchmark
+    public Merchant normalizer() {
+        return MerchantNormalizer.defaults().normalize(nextDescription());
+    }
+
+    @Benchmark
+    public Merchant cachedService() {
+        return cached.normalize(nextDescription());
+    }
+
+    private String nextDescription() {
+        String description = DESCRIPTIONS[next];
+        next = next + 1 == DESCRIPTIONS.length ? 0 : next + 1;
+        return description;
+    }
+}
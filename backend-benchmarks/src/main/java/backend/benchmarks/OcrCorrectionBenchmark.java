@@ -0,0 +1,92 @@
+package backend.benchmarks;
+
+import backend.service.OcrCorrector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OCR correction over a whole statement's text:
+ * the previous chain of precompiled replaceAll passes against the single-pass OcrCorrector.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OcrCorrectionBenchmark {
+
+    private static final String[] SAMPLE_LINES = {
+        "01/15 Starbucks Coffee #1234 5.75 1,204.11",
+        "0ll6 Payroll Depcsit ACME Corp 1,25O.00",
+        "Acccunt Summary for Acccunt Number 000123456789",
+        "Tctal Withdrawals 3,412.77",
+        "Baiance cn 01/31 2,310.44",
+        "Date Descripticn Amcunt Baiance",
+        "17 Jan Shell Gas Station 40.10",
+        "Questions? Please ca!!!1-800-555-0100",
+        "01/18 Amazon Marketplace TransactiOn 129.99 2,180.45"
+    };
+
+    private static final Map<Pattern, String> LEGACY_CORRECTIONS = legacyCorrections();
+
+    @Param({"1000", "50000"})
+    public int lineCount;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            builder.append(SAMPLE_LINES[random.nextInt(SAMPLE_LINES.length)]).append('\n');
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public String legacyReplaceAllPasses() {
+        String result = text;
+        for (Map.Entry<Pattern, String> entry : LEGACY_CORRECTIONS.entrySet()) {
+            result = entry.getKey().matcher(result).replaceAll(entry.getValue());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String singlePassCorrector() {
+        return OcrCorrector.defaults().correct(text);
+    }
+
+    // ==================== PREVIOUS IMPLEMENTATION ====================
+
+    private static Map<Pattern, String> legacyCorrections() {
+        Map<String, String> words = new LinkedHashMap<>();
+        words.put("Acccunt", "Account");
+        words.put("Amcunt", "Amount");
+        words.put("Depcsit", "Deposit");
+        words.put("Descripticn", "Description");
+        words.put("Tctal", "Total");
+        words.put("ca!!!", "call");
+        words.put("N br", "Nbr");
+        words.put("TransactiOn", "Transaction");
+        words.put("Baiance", "Balance");
+
+        Map<Pattern, String> corrections = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : words.entrySet()) {
+            corrections.put(Pattern.compile("\\b" + Pattern.quote(entry.getKey()) + "\\b"), Matcher.quoteReplacement(entry.getValue()));
+        }
+        corrections.put(Pattern.compile("\\bcn\\b"), "on");
+        corrections.put(Pattern.compile("Balance cn\\b"), "Balance on");
+        corrections.put(Pattern.compile("(\\d{1,2})l(\\d{1,2})"), "$1/$2");
+        corrections.put(Pattern.compile("(\\d)O(\\d)"), "$10$2");
+        return corrections;
+    }
+}
@@ -0,0 +1,71 @@
+package backend.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes a reproducible corpus of synthetic statement PDFs, one per format and page count,
+ * named like "table-100p-s42.pdf". Run with
+ * {@code java -cp target/benchmarks.jar backend.benchmarks.StatementCorpus [options]}:
+ * <pre>
+ *   --out DIR            output directory (default target/corpus)
+ *   --formats A,B        formats to write (default all)
+ *   --pages 1,10,100     page counts (default 1,10,100,500)
+ *   --density N          transactions per page (default 30)
+ *   --noise P            probability of an OCR misread per line (default 0)
+ *   --seed N             random seed (default 42)
+ * </pre>
+ */
+public final class StatementCorpus {
+
+    private StatementCorpus() {}
+
+    public static void main(String[] args) throws IOException {
+        Path out = Path.of("target", "corpus");
+        List<String> formats = StatementGenerator.FORMATS;
+        List<Integer> pageCounts = List.of(1, 10, 100, 500);
+        int density = 30;
+        double noise = 0;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--out" -> out = Path.of(value);
+                case "--formats" -> formats = Arrays.asList(value.split(","));
+                case "--pages" -> pageCounts = Arrays.stream(value.split(",")).map(Integer::valueOf).toList();
+                case "--density" -> density = Integer.parseInt(value);
+                case "--noise" -> noise = Double.parseDouble(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+
+        Files.createDirectories(out);
+        for (String format : formats) {
+            StatementGenerator generator = new StatementGenerator(format, density, noise, seed);
+            for (int pages : pageCounts) {
+                Path pdf = generator.write(pages, out.resolve(fileName(format, pages, noise, seed)));
+                System.out.println(pdf);
+            }
+        }
+    }
+
+    static String fileName(String format, int pages, double noise, long seed) {
+        List<String> parts = new ArrayList<>(List.of(format, pages + "p"));
+        if (noise > 0) {
+            parts.add(String.format(Locale.ROOT, "n%.3f", noise));
+        }
+        parts.add("s" + seed);
+        return String.join("-", parts) + ".pdf";
+    }
+}
@@ -0,0 +1,257 @@
+package backend.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Synthetic bank statements in each layout PDFParserService understands, for benchmarks, load
+ * tests and parser regression runs that cannot use customer PDFs.
+ * Output depends only on the settings and seed, so a corpus can be regenerated byte for byte.
+ * OCR noise uses only misreads that OcrCorrector repairs ("Baiance", "03l05", "1O5.00"), so noisy
+ * and clean statements of the same seed should parse to the same transactions.
+ * Instances are immutable; generate or write as many statements as needed from one.
+ */
+public final class StatementGenerator {
+
+    public static final List<String> FORMATS = List.of("table", "broken-table", "us-bank", "capital-one", "generic");
+
+    /** Two-line layouts need two lines per transaction, and a letter page holds about 80 lines at this leading. */
+    public static final int MAX_TRANSACTIONS_PER_PAGE = 35;
+    public static final int MAX_PAGES = 1000;
+
+    private static final LocalDate STATEMENT_DATE = LocalDate.of(2024, 3, 31);
+    private static final DateTimeFormatter SLASH_DATE = DateTimeFormatter.ofPattern("MM/dd", Locale.ROOT);
+    private static final DateTimeFormatter MONTH_DAY = DateTimeFormatter.ofPattern("MMM d", Locale.ENGLISH);
+    private static final DateTimeFormatter DAY_MONTH = DateTimeFormatter.ofPattern("d MMM", Locale.ENGLISH);
+
+    private static final String[] DEBITS = {
+        "Starbucks Coffee #1234", "DEBIT CARD PURCHASE - WHOLEFDS MKT 10234", "Shell Oil 57442 Gas Station",
+        "AMZN Mktp US Marketplace", "Netflix.com Subscription", "Uber Trip Help.Uber.Com", "CVS Pharmacy 0042",
+        "Chipotle Online", "SQ *Blue Bottle Coffee", "Comcast Cable Bill", "Transfer to Savings", "Target Store 0871"
+    };
+    private static final String[] CREDITS = {
+        "Payroll Deposit ACME Corp", "Mobile Check Deposit", "Interest Paid", "Transfer from Savings"
+    };
+
+    /** Misreads injected as OCR noise, each the reverse of an OcrCorrector word correction. */
+    private static final String[][] WORD_MISREADS = {
+        {"Account", "Acccunt"}, {"Amount", "Amcunt"}, {"Deposit", "Depcsit"}, {"Description", "Descripticn"},
+        {"Total", "Tctal"}, {"Balance", "Baiance"}, {"Transaction", "TransactiOn"}
+    };
+
+    private final String format;
+    private final int transactionsPerPage;
+    private final double ocrNoise;
+    private final long seed;
+
+    /**
+     * @param transactionsPerPage transaction density, 1 to MAX_TRANSACTIONS_PER_PAGE
+     * @param ocrNoise            probability that a line gets one OCR misread, 0 to 1
+     */
+    public StatementGenerator(String format, int transactionsPerPage, double ocrNoise, long seed) {
+        if (!FORMATS.contains(format)) {
+            throw new IllegalArgumentException("Unknown statement format: " + format);
+        }
+        if (transactionsPerPage < 1 || transactionsPerPage > MAX_TRANSACTIONS_PER_PAGE) {
+            throw new IllegalArgumentException("Transactions per page must be between 1 and " + MAX_TRANSACTIONS_PER_PAGE);
+        }
+        if (!(ocrNoise >= 0 && ocrNoise <= 1)) {
+            throw new IllegalArgumentException("OCR noise must be between 0 and 1");
+        }
+        this.format = format;
+        this.transactionsPerPage = transactionsPerPage;
+        this.ocrNoise = ocrNoise;
+        this.seed = seed;
+    }
+
+    /** Clean, 30 transactions per page. */
+    public static StatementGenerator of(String format, long seed) {
+        return new StatementGenerator(format, 30, 0, seed);
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /** Statement text, one list of lines per page. */
+    public List<List<String>> generate(int pageCount) {
+        if (pageCount < 1 || pageCount > MAX_PAGES) {
+            throw new IllegalArgumentException("Page count must be between 1 and " + MAX_PAGES);
+        }
+        Random random = new Random(seed);
+        Random noise = new Random(~seed); // separate, so noise never changes the transactions
+        int total = pageCount * transactionsPerPage;
+        BigDecimal balance = BigDecimal.valueOf(250_000 + random.nextInt(500_000), 2);
+
+        List<List<String>> pages = new ArrayList<>(pageCount);
+        for (int page = 1; page <= pageCount; page++) {
+            List<String> lines = new ArrayList<>();
+            if (page == 1) {
+                lines.add("Statement Date: " + STATEMENT_DATE.format(DateTimeFormatter.ofPattern("MM/dd/yyyy", Locale.ROOT)));
+                lines.add("Account Number 0000" + (100_000_000 + random.nextInt(900_000_000)));
+                lines.add("Beginning Balance " + money(balance));
+            }
+            List<Row> rows = new ArrayList<>(transactionsPerPage);
+            for (int i = 0; i < transactionsPerPage; i++) {
+                int index = (page - 1) * transactionsPerPage + i;
+                Row row = row(random, index, total, balance);
+                balance = row.balance;
+                rows.add(row);
+            }
+            layout(lines, rows);
+            if (page == pageCount) {
+                lines.add("Ending Balance " + money(balance));
+            }
+            lines.add("Page " + page + " of " + pageCount);
+
+            if (ocrNoise > 0) {
+                lines.replaceAll(line -> noise.nextDouble() < ocrNoise ? misread(line, noise) : line);
+            }
+            pages.add(lines);
+        }
+        return pages;
+    }
+
+    /** Writes a statement of pageCount pages to pdf, replacing any existing file. */
+    public Path write(int pageCount, Path pdf) throws IOException {
+        List<List<String>> pages = generate(pageCount);
+        try (PDDocument document = new PDDocument()) {
+            document.setDocumentId(seed); // otherwise the trailer ID is derived from the clock
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (List<String> lines : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 8);
+                    content.setLeading(9);
+                    content.newLineAtOffset(40, 760);
+                    for (String line : lines) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(pdf.toFile());
+        }
+        return pdf;
+    }
+
+    // ==================== LAYOUTS ====================
+
+    private static final class Row {
+        LocalDate date;
+        String description;
+        BigDecimal amount;
+        boolean credit;
+        BigDecimal balance;
+    }
+
+    private void layout(List<String> lines, List<Row> rows) {
+        switch (format) {
+            case "table" -> {
+                lines.add("Date Description Debit Credit Balance");
+                for (Row row : rows) {
+                    lines.add(row.date.format(SLASH_DATE) + " " + row.description + " " + money(row.amount) + " " + money(row.balance));
+                }
+            }
+            case "broken-table" -> {
+                // Descriptions and amounts come out of the PDF as two separate column blocks
+                lines.add("Date Description");
+                for (Row row : rows) {
+                    lines.add(row.date.format(DAY_MONTH) + " " + row.description);
+                }
+                lines.add("Money out Money In Balance");
+                for (Row row : rows) {
+                    lines.add((row.credit ? "- " + money(row.amount) : money(row.amount) + " -") + " " + money(row.balance));
+                }
+            }
+            case "us-bank" -> {
+                lines.add("Deposits I Credits");
+                lines.add("Date Description of Transaction Ref Number Amount");
+                rows.stream().filter(row -> row.credit).forEach(row ->
+                    lines.add(row.date.format(MONTH_DAY) + " " + row.description + " " + money(row.amount)));
+                lines.add("Other Withdrawals");
+                lines.add("Date Description of Transaction Ref Number Amount");
+                rows.stream().filter(row -> !row.credit).forEach(row ->
+                    lines.add(row.date.format(MONTH_DAY) + " " + row.description + " " + money(row.amount) + "-"));
+            }
+            case "capital-one" -> {
+                lines.add("Date Amount Resulting Balance Type");
+                for (Row row : rows) {
+                    lines.add(row.date.format(SLASH_DATE) + " " + (row.credit ? "$" : "-$") + money(row.amount)
+                        + " $" + money(row.balance) + (row.credit ? " Deposit" : " Debit"));
+                    lines.add(row.description);
+                }
+            }
+            default -> {
+                for (Row row : rows) {
+                    lines.add(row.date.format(SLASH_DATE) + " " + row.description + " " + (row.credit ? "" : "-") + money(row.amount));
+                }
+            }
+        }
+    }
+
+    /** Dates run through the statement month in order; roughly one transaction in five is a credit. */
+    private static Row row(Random random, int index, int total, BigDecimal balance) {
+        Row row = new Row();
+        int days = STATEMENT_DATE.lengthOfMonth();
+        row.date = STATEMENT_DATE.withDayOfMonth(1 + (int) ((long) index * days / total));
+        row.credit = random.nextInt(5) == 0;
+        row.description = row.credit ? CREDITS[random.nextInt(CREDITS.length)] : DEBITS[random.nextInt(DEBITS.length)];
+        row.amount = row.credit
+            ? BigDecimal.valueOf(5_000 + random.nextInt(200_000), 2)
+            : BigDecimal.valueOf(100 + random.nextInt(25_000), 2);
+        row.balance = row.credit ? balance.add(row.amount) : balance.subtract(row.amount);
+        return row;
+    }
+
+    private static String money(BigDecimal amount) {
+        return String.format(Locale.US, "%,.2f", amount.abs());
+    }
+
+    // ==================== OCR NOISE ====================
+
+    /** One misread: a known word, a '/' between digits read as 'l', or a '0' between digits read as 'O'. */
+    private static String misread(String line, Random random) {
+        List<String> candidates = new ArrayList<>();
+        for (String[] misread : WORD_MISREADS) {
+            int at = wordIndex(line, misread[0]);
+            if (at >= 0) {
+                candidates.add(line.substring(0, at) + misread[1] + line.substring(at + misread[0].length()));
+            }
+        }
+        for (int i = 1; i + 1 < line.length(); i++) {
+            char c = line.charAt(i);
+            if ((c == '/' || c == '0') && Character.isDigit(line.charAt(i - 1)) && Character.isDigit(line.charAt(i + 1))) {
+                candidates.add(line.substring(0, i) + (c == '/' ? 'l' : 'O') + line.substring(i + 1));
+            }
+        }
+        return candidates.isEmpty() ? line : candidates.get(random.nextInt(candidates.size()));
+    }
+
+    private static int wordIndex(String line, String word) {
+        for (int at = line.indexOf(word); at >= 0; at = line.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            if ((at == 0 || !Character.isLetterOrDigit(line.charAt(at - 1)))
+                    && (end == line.length() || !Character.isLetterOrDigit(line.charAt(end)))) {
+                return at;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,55 @@
+package backend.benchmarks;
+
+import backend.service.PDFParserService;
+import backend.service.PDFParserService.ParsedStatement;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end statement parsing from a PDF on disk: text extraction, OCR correction, format
+ * detection and transaction parsing, for each supported layout at 1, 10 and 100 pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementParsingBenchmark {
+
+    @Param({"table", "broken-table", "us-bank", "capital-one", "generic"})
+    public String format;
+
+    @Param({"1", "10", "100"})
+    public int pages;
+
+    private final PDFParserService service = new PDFParserService();
+    private Path dir;
+    private Path pdf;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("statement-bench");
+        pdf = StatementGenerator.of(format, 42).write(pages, dir.resolve(format + ".pdf"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public ParsedStatement parseStatementFile() throws IOException {
+        return service.parseStatementFile(pdf);
+    }
+}
@@ -0,0 +1,66 @@
+package backend.benchmarks;
+
+import backend.entity.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of transaction lists as returned by the transaction endpoints, with the same
+ * mapper defaults Spring Boot configures for the API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+
+    private static final String[] MERCHANTS = {"Starbucks", "Whole Foods", "Shell", "Amazon", "Netflix", "ACME Corp"};
+    private static final String[] CATEGORIES = {"Dining", "Groceries", "Transportation", "Shopping", "Entertainment", "Income"};
+
+    @Param({"50", "1000"})
+    public int transactionCount;
+
+    private final ObjectMapper mapper = new Jackson2ObjectMapperBuilder().build();
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2024, 3, 31, 12, 0);
+        transactions = new ArrayList<>();
+        for (int i = 0; i < transactionCount; i++) {
+            int kind = random.nextInt(MERCHANTS.length);
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setUserId(1L);
+            transaction.setAccountId(1L);
+            transaction.setTransactionDate(LocalDate.of(2024, 3, 1).plusDays(random.nextInt(30)));
+            transaction.setAmount(BigDecimal.valueOf(100 + random.nextInt(20_000), 2));
+            transaction.setCategory(CATEGORIES[kind]);
+            transaction.setType(kind == MERCHANTS.length - 1 ? "in" : "out");
+            transaction.setMerchant(MERCHANTS[kind]);
+            transaction.setMerchantKey(MERCHANTS[kind].toLowerCase());
+            transaction.setNote("Imported from statement");
+            transaction.setCreatedAt(now);
+            transaction.setUpdatedAt(now);
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeTransactions() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(transactions);
+    }
+}
@@ -0,0 +1,16 @@
+package backend.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The caller of an authenticated request, set by JwtAuthenticationFilter as the principal of the
+ * Authentication. Controller methods declare a parameter of this type to receive it. Not a
+ * java.security.Principal, which Spring MVC would resolve itself as the whole Authentication.
+ */
+public record AuthenticatedUser(long userId, String username, String email) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
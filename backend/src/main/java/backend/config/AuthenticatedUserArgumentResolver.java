@@ -0,0 +1,31 @@
+package backend.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves AuthenticatedUser controller parameters from the request's Authentication. A request
+ * without one is rejected as unauthenticated before the controller method runs.
+ */
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == AuthenticatedUser.class;
+    }
+
+    @Override
+    public AuthenticatedUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        if (webRequest.getUserPrincipal() instanceof Authentication auth
+                && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new AuthenticationCredentialsNotFoundException("User not authenticated");
+    }
+}
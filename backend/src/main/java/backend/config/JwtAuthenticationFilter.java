@@ -1,7 +1,7 @@
 package backend.config;
 
 import backend.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import backend.util.JwtUtil.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,9 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,34 +27,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         // Extract JWT from Authorization header
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-                
-                // Validate token and set authentication
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtUtil.validateToken(jwt, username)) {
-                        // Extract additional claims for user info
-                        Claims claims = jwtUtil.extractAllClaims(jwt);
-                        
-                        // Create authentication with user details
-                        UsernamePasswordAuthenticationToken authenticationToken = 
-                            new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
-                        
-                        // Store additional user info in details
-                        Map<String, Object> userDetails = new HashMap<>();
-                        userDetails.put("userId", claims.get("userId"));
-                        userDetails.put("email", claims.get("email"));
-                        userDetails.put("username", username);
-                        authenticationToken.setDetails(userDetails);
-                        
-                        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                    }
+                // Signature, expiry and claims in a single parse (or none, for a recently seen token)
+                VerifiedToken token = jwtUtil.verify(jwt).orElse(null);
+                if (token != null && token.userId() != null) {
+                    // The typed principal carries what controllers need, so no details map is built
+                    AuthenticatedUser user = new AuthenticatedUser(token.userId(), token.username(), token.email());
+                    UsernamePasswordAuthenticationToken authenticationToken =
+                        new UsernamePasswordAuthenticationToken(user, null, List.of());
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
                 }
             } catch (Exception e) {
                 logger.error("JWT extraction failed: " + e.getMessage());
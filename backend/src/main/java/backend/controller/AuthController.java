@@ -4,8 +4,10 @@ import backend.dto.AuthRequest;
 import backend.dto.AuthResponse;
 import backend.dto.PasswordResetRequest;
 import backend.service.AuthService;
+import backend.service.PasswordHashingService.HashingBusyException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +35,8 @@ public class AuthController {
                 request.getLastName()
             );
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new AuthResponse(null, null, false, e.getMessage())
@@ -46,6 +50,8 @@ public class AuthController {
             String usernameOrEmail = request.getUsername();
             AuthResponse response = authService.login(usernameOrEmail, request.getPassword());
             return ResponseEntity.ok(response);
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
                 new AuthResponse(null, null, false, e.getMessage())
@@ -93,6 +99,8 @@ public class AuthController {
                 request.getNewPassword()
             );
             return ResponseEntity.ok(response);
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new AuthResponse(null, null, false, e.getMessage())
@@ -127,10 +135,19 @@ public class AuthController {
             return ResponseEntity.ok(
                 new AuthResponse(null, request.getUsername(), true, "Username changed successfully")
             );
+        } catch (HashingBusyException e) {
+            return busy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                 new AuthResponse(null, null, false, e.getMessage())
             );
         }
     }
+
+    // Password hashing is at capacity; the client should retry after a short pause
+    private ResponseEntity<AuthResponse> busy(HashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "2")
+            .body(new AuthResponse(null, null, false, e.getMessage()));
+    }
 }
\ No newline at end of file
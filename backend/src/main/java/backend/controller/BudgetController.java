@@ -1,14 +1,15 @@
 package backend.controller;
 
+import backend.config.AuthenticatedUser;
 import backend.entity.Budget;
 import backend.service.BudgetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -21,9 +22,9 @@ public class BudgetController {
     private BudgetService budgetService;
 
     @GetMapping
-    public ResponseEntity<?> getBudgets(Authentication auth) {
+    public ResponseEntity<?> getBudgets(AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             List<Budget> budgets = budgetService.getUserBudgets(userId);
             return ResponseEntity.ok(budgets);
         } catch (Exception e) {
@@ -33,9 +34,9 @@ public class BudgetController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getBudget(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<?> getBudget(@PathVariable Long id, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             Budget budget = budgetService.getBudgetById(id, userId);
             return ResponseEntity.ok(budget);
         } catch (IllegalArgumentException e) {
@@ -47,15 +48,17 @@ public class BudgetController {
     }
 
     @PostMapping
-    public ResponseEntity<?> createBudget(@RequestBody BudgetRequest request, Authentication auth) {
+    public ResponseEntity<?> createBudget(@RequestBody BudgetRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Budget budget = budgetService.createBudget(
                 userId,
                 request.category,
                 request.amount,
-                request.periodType != null ? request.periodType : "monthly"
+                request.periodType != null ? request.periodType : "monthly",
+                request.periodAnchor,
+                request.periodLengthDays
             );
             
             return ResponseEntity.status(HttpStatus.CREATED).body(budget);
@@ -71,17 +74,19 @@ public class BudgetController {
     public ResponseEntity<?> updateBudget(
         @PathVariable Long id,
         @RequestBody BudgetRequest request,
-        Authentication auth
+        AuthenticatedUser currentUser
     ) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Budget budget = budgetService.updateBudget(
                 id,
                 userId,
                 request.category,
                 request.amount,
-                request.periodType
+                request.periodType,
+                request.periodAnchor,
+                request.periodLengthDays
             );
             
             return ResponseEntity.ok(budget);
@@ -94,9 +99,9 @@ public class BudgetController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteBudget(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<?> deleteBudget(@PathVariable Long id, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             budgetService.deleteBudget(id, userId);
             return ResponseEntity.ok(Map.of("message", "Budget deleted successfully"));
         } catch (Exception e) {
@@ -106,9 +111,9 @@ public class BudgetController {
     }
 
     @PostMapping("/recalculate")
-    public ResponseEntity<?> recalculateBudgets(Authentication auth) {
+    public ResponseEntity<?> recalculateBudgets(AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             budgetService.recalculateAllBudgets(userId);
             return ResponseEntity.ok(Map.of("message", "Budgets recalculated successfully"));
         } catch (Exception e) {
@@ -117,25 +122,11 @@ public class BudgetController {
         }
     }
 
-    private Long getUserIdFromAuth(Authentication auth) {
-        if (auth == null) {
-            throw new IllegalArgumentException("User not authenticated");
-        }
-        
-        @SuppressWarnings("unchecked")
-        Map<String, Object> details = (Map<String, Object>) auth.getDetails();
-        Object userIdObj = details.get("userId");
-        
-        if (userIdObj == null) {
-            throw new IllegalArgumentException("User ID not found in authentication");
-        }
-        
-        return Long.parseLong(userIdObj.toString());
-    }
-
     public static class BudgetRequest {
         public String category;
         public BigDecimal amount;
         public String periodType;
+        public LocalDate periodAnchor;
+        public Integer periodLengthDays;
     }
 }
\ No newline at end of file
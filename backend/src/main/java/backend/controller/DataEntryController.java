@@ -1,21 +1,38 @@
 package backend.controller;
 
+import backend.config.AuthenticatedUser;
+import backend.dto.TransactionPage;
 import backend.entity.Account;
+import backend.entity.CategoryRule;
 import backend.entity.Transaction;
 import backend.service.AccountService;
+import backend.service.CategoryEngine;
+import backend.service.TransactionImportService;
+import backend.service.TransactionImportService.ImportResult;
 import backend.service.TransactionService;
-import backend.service.PDFParserService;
 import backend.service.PDFParserService.ParsedStatement;
+import backend.service.PDFParserService.ParsedTransaction;
+import backend.service.StatementJobService;
+import backend.service.StatementJobService.QueueFullException;
+import backend.service.StatementJobService.StatementJob;
+import backend.service.StatementParseListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,14 +47,23 @@ public class DataEntryController {
     private TransactionService transactionService;
 
     @Autowired
-    private PDFParserService pdfParserService;
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private CategoryEngine categoryEngine;
+
+    @Autowired
+    private StatementJobService statementJobService;
+
+    @Value("${statement.jobs.response-timeout-ms:60000}")
+    private long statementResponseTimeoutMillis;
 
     // ==================== ACCOUNT ENDPOINTS ====================
 
     @GetMapping("/accounts")
-    public ResponseEntity<?> getAccounts(Authentication auth) {
+    public ResponseEntity<?> getAccounts(AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             List<Account> accounts = accountService.getUserAccounts(userId);
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
@@ -47,9 +73,9 @@ public class DataEntryController {
     }
 
     @PostMapping("/accounts")
-    public ResponseEntity<?> createAccount(@RequestBody AccountRequest request, Authentication auth) {
+    public ResponseEntity<?> createAccount(@RequestBody AccountRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Account account = accountService.createAccount(
                 userId,
@@ -73,10 +99,10 @@ public class DataEntryController {
     public ResponseEntity<?> updateAccount(
         @PathVariable Long id,
         @RequestBody AccountRequest request,
-        Authentication auth
+        AuthenticatedUser currentUser
     ) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Account account = accountService.updateAccount(
                 id,
@@ -98,9 +124,9 @@ public class DataEntryController {
     }
 
     @DeleteMapping("/accounts/{id}")
-    public ResponseEntity<?> deleteAccount(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<?> deleteAccount(@PathVariable Long id, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             accountService.deleteAccount(id, userId);
             return ResponseEntity.ok(Map.of("message", "Account deleted successfully"));
         } catch (Exception e) {
@@ -115,10 +141,19 @@ public class DataEntryController {
     public ResponseEntity<?> getTransactions(
         @RequestParam(required = false) Long accountId,
         @RequestParam(required = false) String search,
-        Authentication auth
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        AuthenticatedUser currentUser
     ) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
+
+            // Paginated mode when the client asks for it; plain list kept for existing callers
+            if (cursor != null || limit != null) {
+                TransactionPage page = transactionService.getTransactionPage(userId, accountId, search, cursor, limit);
+                return ResponseEntity.ok(page);
+            }
+
             List<Transaction> transactions;
             
             if (search != null && !search.trim().isEmpty()) {
@@ -130,16 +165,34 @@ public class DataEntryController {
             }
             
             return ResponseEntity.ok(transactions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", e.getMessage()));
         }
     }
 
+    @GetMapping("/transactions/merchants")
+    public ResponseEntity<?> getMerchantTotals(
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) Integer limit,
+        AuthenticatedUser currentUser
+    ) {
+        try {
+            Long userId = currentUser.userId();
+            return ResponseEntity.ok(transactionService.getMerchantTotals(userId, type, startDate, endDate, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/transactions")
-    public ResponseEntity<?> createTransaction(@RequestBody TransactionRequest request, Authentication auth) {
+    public ResponseEntity<?> createTransaction(@RequestBody TransactionRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Transaction transaction = transactionService.createTransaction(
                 userId,
@@ -166,10 +219,10 @@ public class DataEntryController {
     public ResponseEntity<?> updateTransaction(
         @PathVariable Long id,
         @RequestBody TransactionRequest request,
-        Authentication auth
+        AuthenticatedUser currentUser
     ) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             
             Transaction transaction = transactionService.updateTransaction(
                 id,
@@ -193,31 +246,11 @@ public class DataEntryController {
     }
 
     @DeleteMapping("/transactions/{id}")
-public ResponseEntity<?> deleteTransaction(@PathVariable Long id, Authentication auth) {
+public ResponseEntity<?> deleteTransaction(@PathVariable Long id, AuthenticatedUser currentUser) {
     try {
-        Long userId = getUserIdFromAuth(auth);
-        
-        // Get the transaction first to revert balance
-        Transaction transaction = transactionService.getTransactionById(id, userId);
-        
-        // Revert balance change if transaction has an account
-        if (transaction.getAccountId() != null) {
-            Account account = accountService.getAccountById(transaction.getAccountId(), userId);
-            BigDecimal currentBalance = account.getBalance();
-            BigDecimal newBalance;
-            
-            // Reverse the transaction effect
-            if ("in".equals(transaction.getType())) {
-                // Was income, subtract it
-                newBalance = currentBalance.subtract(transaction.getAmount());
-            } else {
-                // Was expense, add it back
-                newBalance = currentBalance.add(transaction.getAmount());
-            }
-            
-            accountService.updateBalance(transaction.getAccountId(), userId, newBalance);
-        }
+        Long userId = currentUser.userId();
         
+        // The service reverts the account balance as part of the delete
         transactionService.deleteTransaction(id, userId);
         return ResponseEntity.ok(Map.of("message", "Transaction deleted successfully"));
     } catch (Exception e) {
@@ -229,10 +262,10 @@ public ResponseEntity<?> deleteTransaction(@PathVariable Long id, Authentication
 @DeleteMapping("/transactions/bulk")
 public ResponseEntity<?> bulkDeleteTransactions(
     @RequestBody Map<String, List<Integer>> request,  // Changed from List<Long> to List<Integer>
-    Authentication auth
+    AuthenticatedUser currentUser
 ) {
     try {
-        Long userId = getUserIdFromAuth(auth);
+        Long userId = currentUser.userId();
         List<Integer> transactionIdsInt = request.get("transactionIds");
         
         if (transactionIdsInt == null || transactionIdsInt.isEmpty()) {
@@ -258,20 +291,145 @@ public ResponseEntity<?> bulkDeleteTransactions(
 }
 
 
-    // ==================== PDF UPLOAD ENDPOINT ====================
+    // ==================== PDF UPLOAD ENDPOINTS ====================
+
+    /**
+     * Parses a statement on the bounded parser pool without holding the servlet thread.
+     * Responds with the parsed data as before; if parsing outlasts the response timeout,
+     * responds 202 with the job id so the client can poll /statement-jobs/{jobId}.
+     */
+    @PostMapping("/upload-statement")
+    public DeferredResult<ResponseEntity<?>> uploadStatement(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(required = false) Long accountId,
+        AuthenticatedUser currentUser
+    ) {
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>(statementResponseTimeoutMillis);
+        try {
+            Long userId = currentUser.userId();
+            StatementJob job = statementJobService.submit(userId, accountId, file);
+
+            deferred.onTimeout(() -> deferred.setResult(ResponseEntity.status(HttpStatus.ACCEPTED).body(jobResponse(job))));
+            job.getFuture().whenComplete((statement, error) -> {
+                if (error == null) {
+                    deferred.setResult(ResponseEntity.ok(buildStatementResponse(userId, accountId, statement)));
+                } else {
+                    deferred.setResult(statementErrorResponse(error));
+                }
+            });
+        } catch (Exception e) {
+            deferred.setResult(statementErrorResponse(e));
+        }
+        return deferred;
+    }
+
+    @PostMapping("/statement-jobs")
+    public ResponseEntity<?> submitStatementJob(
+        @RequestParam("file") MultipartFile file,
+        @RequestParam(required = false) Long accountId,
+        AuthenticatedUser currentUser
+    ) {
+        try {
+            Long userId = currentUser.userId();
+            StatementJob job = statementJobService.submit(userId, accountId, file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobResponse(job));
+        } catch (Exception e) {
+            return statementErrorResponse(e);
+        }
+    }
+
+    @GetMapping("/statement-jobs/{jobId}")
+    public ResponseEntity<?> getStatementJob(@PathVariable String jobId, AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.userId();
+            StatementJob job = statementJobService.getJob(jobId, userId);
+            return ResponseEntity.ok(jobResponse(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Server-sent event stream for a job: a "transaction" event for each transaction as the parser
+     * finds it ("reset" if the parser revises those), then a single "status" event when the job finishes.
+     */
+    @GetMapping(value = "/statement-jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeStatementJob(@PathVariable String jobId, AuthenticatedUser currentUser) {
+        StatementJob job;
+        try {
+            job = statementJobService.getJob(jobId, currentUser.userId());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+
+        SseEmitter emitter = new SseEmitter(statementResponseTimeoutMillis);
+        StatementParseListener forwarder = new StatementParseListener() {
+            @Override
+            public void onTransaction(ParsedTransaction transaction) {
+                sendQuietly(emitter, SseEmitter.event().name("transaction").data(transaction));
+            }
+
+            @Override
+            public void onRestart() {
+                sendQuietly(emitter, SseEmitter.event().name("reset").data(job.getId()));
+            }
+        };
+        job.addParseListener(forwarder);
+        job.getFuture().whenComplete((statement, error) -> {
+            job.removeParseListener(forwarder);
+            try {
+                emitter.send(SseEmitter.event().name("status").data(jobResponse(job)));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private void sendQuietly(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (Exception e) {
+            // Client went away or the stream already completed; the parse itself carries on
+        }
+    }
+
+    private Map<String, Object> jobResponse(StatementJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus());
+        response.put("filename", job.getFilename());
+        response.put("createdAt", job.getCreatedAt());
+        response.put("completedAt", job.getCompletedAt());
+        if (job.getStatus() == StatementJobService.Status.COMPLETED) {
+            response.put("result", buildStatementResponse(job.getUserId(), job.getAccountId(), job.getResult()));
+        } else if (job.getStatus() == StatementJobService.Status.FAILED) {
+            response.put("error", "Failed to parse statement: " + job.getError());
+        } else {
+            response.put("queueDepth", statementJobService.getQueueDepth());
+            response.put("transactionsParsed", job.getTransactionsParsed());
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> statementErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof QueueFullException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", cause.getMessage()));
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(Map.of("error", cause.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(Map.of("error", "Failed to parse statement: " + cause.getMessage()));
+    }
+
+    private Map<String, Object> buildStatementResponse(Long userId, Long accountId, ParsedStatement parsedStatement) {
+        String institution = accountService.getInstitution(accountId, userId);
 
-@PostMapping("/upload-statement")
-public ResponseEntity<?> uploadStatement(
-    @RequestParam("file") MultipartFile file,
-    @RequestParam(required = false) Long accountId,
-    Authentication auth
-) {
-    try {
-        Long userId = getUserIdFromAuth(auth);
-        
-        // Parse the PDF
-        ParsedStatement parsedStatement = pdfParserService.parseStatement(file);
-        
         // Filter out transactions with null dates and convert to Transaction entities
         List<Transaction> validTransactions = parsedStatement.transactions.stream()
             .filter(pt -> pt.date != null) // Only keep transactions with valid dates
@@ -279,7 +437,8 @@ public ResponseEntity<?> uploadStatement(
                 Transaction t = new Transaction();
                 t.setTransactionDate(pt.date);
                 t.setAmount(pt.amount);
-                t.setCategory(pt.category);
+                // Parser assigns built-in categories; re-run with the user's own rules
+                t.setCategory(categoryEngine.categorize(userId, institution, pt.description));
                 t.setType(pt.type);
                 t.setNote(pt.description);
                 t.setMerchant(pt.merchant);
@@ -304,57 +463,109 @@ public ResponseEntity<?> uploadStatement(
             response.put("warning", filteredCount + " transaction(s) had invalid dates and were excluded");
         }
         
-        return ResponseEntity.ok(response);
-    } catch (IllegalArgumentException e) {
-        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-    } catch (Exception e) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-            .body(Map.of("error", "Failed to parse statement: " + e.getMessage()));
+        return response;
     }
-}
+
+    // ==================== CATEGORY RULE ENDPOINTS ====================
+
+    @GetMapping("/category-rules")
+    public ResponseEntity<?> getCategoryRules(AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.userId();
+            List<CategoryRule> rules = categoryEngine.getUserRules(userId);
+            return ResponseEntity.ok(rules);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/category-rules")
+    public ResponseEntity<?> createCategoryRule(@RequestBody CategoryRuleRequest request, AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.userId();
+
+            // Users own their rules; institution only narrows where a rule applies
+            CategoryRule rule = categoryEngine.addRule(
+                userId,
+                request.institution,
+                request.keyword,
+                request.excludeKeyword,
+                request.category,
+                request.priority
+            );
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(rule);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/category-rules/{id}")
+    public ResponseEntity<?> deleteCategoryRule(@PathVariable Long id, AuthenticatedUser currentUser) {
+        try {
+            Long userId = currentUser.userId();
+            categoryEngine.deleteRule(id, userId);
+            return ResponseEntity.ok(Map.of("message", "Category rule deleted successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // ==================== IMPORT ENDPOINTS ====================
 
     @PostMapping("/import-transactions")
     public ResponseEntity<?> importTransactions(
         @RequestBody ImportRequest request,
-        Authentication auth
+        AuthenticatedUser currentUser
     ) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
+
+            if (request.transactions == null || request.transactions.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "No transactions to import"));
+            }
             
-            List<Transaction> saved = transactionService.createBulkTransactions(
+            ImportResult result = transactionImportService.importTransactions(
                 userId,
                 request.transactions,
                 request.updateBalance != null ? request.updateBalance : true
             );
+
+            // Every row was rejected: nothing was written, so report the row errors as the failure
+            if (result.imported == 0) {
+                return ResponseEntity.unprocessableEntity().body(Map.of(
+                    "error", "No transactions were imported",
+                    "count", 0,
+                    "skipped", result.skipped,
+                    "errors", result.errors
+                ));
+            }
             
             return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-                "message", "Transactions imported successfully",
-                "count", saved.size(),
-                "transactions", saved
+                "message", result.skipped > 0
+                    ? "Imported " + result.imported + " transaction(s), skipped " + result.skipped
+                    : "Transactions imported successfully",
+                "count", result.imported,
+                "skipped", result.skipped,
+                "errors", result.errors,
+                "elapsedMillis", result.elapsedMillis,
+                "rowsPerMilli", result.rowsPerMilli
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", e.getMessage()));
         }
     }
 
-    // ==================== HELPER METHODS ====================
-
-    private Long getUserIdFromAuth(Authentication auth) {
-        if (auth == null) {
-            throw new IllegalArgumentException("User not authenticated");
-        }
-        
-        Map<String, Object> details = (Map<String, Object>) auth.getDetails();
-        Object userIdObj = details.get("userId");
-        
-        if (userIdObj == null) {
-            throw new IllegalArgumentException("User ID not found in authentication");
-        }
-        
-        return Long.parseLong(userIdObj.toString());
-    }
-
     // ==================== REQUEST DTOs ====================
 
     public static class AccountRequest {
@@ -376,6 +587,14 @@ public ResponseEntity<?> uploadStatement(
         public Boolean updateBalance;
     }
 
+    public static class CategoryRuleRequest {
+        public String keyword;
+        public String excludeKeyword;
+        public String category;
+        public String institution;
+        public Integer priority;
+    }
+
     public static class ImportRequest {
         public List<Transaction> transactions;
         public Boolean updateBalance;
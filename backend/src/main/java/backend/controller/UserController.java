@@ -1,17 +1,22 @@
 package backend.controller;
 
+import backend.config.AuthenticatedUser;
 import backend.entity.User;
+import backend.service.PasswordHashingService.HashingBusyException;
 import backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -28,9 +33,9 @@ public class UserController {
     // ==================== PROFILE ENDPOINTS ====================
 
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(Authentication auth) {
+    public ResponseEntity<?> getProfile(AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             User user = userService.getUserById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
             
@@ -52,9 +57,9 @@ public class UserController {
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<?> updateProfile(@RequestBody ProfileUpdateRequest request, Authentication auth) {
+    public ResponseEntity<?> updateProfile(@RequestBody ProfileUpdateRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             User user = userService.updateProfile(
                 userId,
                 request.firstName,
@@ -84,9 +89,9 @@ public class UserController {
     }
 
     @PostMapping("/change-password")
-    public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request, Authentication auth) {
+    public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             userService.changePassword(
                 userId,
                 request.currentPassword,
@@ -97,6 +102,10 @@ public class UserController {
                 "success", true,
                 "message", "Password changed successfully"
             ));
+        } catch (HashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
@@ -107,9 +116,9 @@ public class UserController {
     }
 
     @DeleteMapping("/account")
-    public ResponseEntity<?> deleteAccount(@RequestBody Map<String, String> request, Authentication auth) {
+    public ResponseEntity<?> deleteAccount(@RequestBody Map<String, String> request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             String password = request.get("password");
             
             if (password == null || password.isEmpty()) {
@@ -123,6 +132,10 @@ public class UserController {
                 "success", true,
                 "message", "Account deleted successfully"
             ));
+        } catch (HashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
@@ -133,9 +146,9 @@ public class UserController {
     }
 
     @PostMapping("/export-data")
-    public ResponseEntity<?> exportData(@RequestBody Map<String, String> request, Authentication auth) {
+    public ResponseEntity<?> exportData(@RequestBody Map<String, String> request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             String format = request.getOrDefault("format", "csv");
             
             Map<String, Object> exportedData = userService.exportUserData(userId, format);
@@ -151,10 +164,49 @@ public class UserController {
         }
     }
 
+    @GetMapping("/export-data/stream")
+    public ResponseEntity<?> streamExportData(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(defaultValue = "false") boolean gzip,
+        AuthenticatedUser currentUser
+    ) {
+        try {
+            Long userId = currentUser.userId();
+            boolean csv = "csv".equalsIgnoreCase(format);
+            if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Export format must be 'ndjson' or 'csv'"));
+            }
+
+            String filename = "export." + (csv ? "csv" : "ndjson") + (gzip ? ".gz" : "");
+            MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson");
+
+            StreamingResponseBody body = out -> {
+                if (gzip) {
+                    GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                    userService.streamUserData(userId, format, gzipOut);
+                    gzipOut.finish();
+                } else {
+                    userService.streamUserData(userId, format, out);
+                }
+            };
+
+            return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+
         @GetMapping("/financial-goals")
-    public ResponseEntity<?> getFinancialGoals(Authentication auth) {
+    public ResponseEntity<?> getFinancialGoals(AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             Map<String, Object> goals = userService.getFinancialGoals(userId);
             return ResponseEntity.ok(goals);
         } catch (Exception e) {
@@ -164,9 +216,9 @@ public class UserController {
     }
 
     @PutMapping("/financial-goals")
-    public ResponseEntity<?> updateFinancialGoals(@RequestBody FinancialGoalsRequest request, Authentication auth) {
+    public ResponseEntity<?> updateFinancialGoals(@RequestBody FinancialGoalsRequest request, AuthenticatedUser currentUser) {
         try {
-            Long userId = getUserIdFromAuth(auth);
+            Long userId = currentUser.userId();
             User user = userService.updateFinancialGoals(
                 userId,
                 request.savingsGoal
@@ -187,24 +239,6 @@ public class UserController {
         }
     }
 
-    // ==================== HELPER METHODS ====================
-
-    private Long getUserIdFromAuth(Authentication auth) {
-        if (auth == null) {
-            throw new IllegalArgumentException("User not authenticated");
-        }
-        
-        @SuppressWarnings("unchecked")
-        Map<String, Object> details = (Map<String, Object>) auth.getDetails();
-        Object userIdObj = details.get("userId");
-        
-        if (userIdObj == null) {
-            throw new IllegalArgumentException("User ID not found in authentication");
-        }
-        
-        return Long.parseLong(userIdObj.toString());
-    }
-
     // ==================== REQUEST DTOs ====================
     public static class FinancialGoalsRequest {
         public BigDecimal savingsGoal;
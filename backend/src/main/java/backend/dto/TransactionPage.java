@@ -0,0 +1,44 @@
+package backend.dto;
+
+import backend.entity.Transaction;
+
+import java.util.List;
+
+public class TransactionPage {
+    private List<Transaction> transactions;
+    private String nextCursor; // opaque token for the next page, null on the last page
+    private boolean hasMore;
+
+    public TransactionPage() {}
+
+    public TransactionPage(List<Transaction> transactions, String nextCursor, boolean hasMore) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
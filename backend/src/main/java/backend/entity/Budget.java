@@ -2,6 +2,7 @@ package backend.entity;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -22,7 +23,13 @@ public class Budget {
     private BigDecimal amount;
 
     @Column(name = "period_type", nullable = false, length = 20)
-    private String periodType; // monthly, yearly
+    private String periodType; // monthly, yearly, weekly, biweekly, pay-cycle, rolling
+
+    @Column(name = "period_anchor")
+    private LocalDate periodAnchor; // a first day of the cycle, for weekly, biweekly and pay-cycle
+
+    @Column(name = "period_length_days")
+    private Integer periodLengthDays; // window length, for rolling
 
     @Column(nullable = false, precision = 5, scale = 2)
     private BigDecimal spent = BigDecimal.ZERO;
@@ -55,6 +62,12 @@ public class Budget {
     public String getPeriodType() { return periodType; }
     public void setPeriodType(String periodType) { this.periodType = periodType; }
 
+    public LocalDate getPeriodAnchor() { return periodAnchor; }
+    public void setPeriodAnchor(LocalDate periodAnchor) { this.periodAnchor = periodAnchor; }
+
+    public Integer getPeriodLengthDays() { return periodLengthDays; }
+    public void setPeriodLengthDays(Integer periodLengthDays) { this.periodLengthDays = periodLengthDays; }
+
     public BigDecimal getSpent() { return spent; }
     public void setSpent(BigDecimal spent) { this.spent = spent; }
 
@@ -0,0 +1,75 @@
+package backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running total of a user's transactions per month, category and type; maintained by CategoryTotalsService
+@Entity
+@Table(name = "category_month_totals", uniqueConstraints = @UniqueConstraint(
+    name = "uk_category_month_totals_key", columnNames = {"user_id", "year_month", "category", "type"}))
+public class CategoryMonthTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "year_month", nullable = false, length = 7)
+    private String yearMonth; // YYYY-MM, so string order is month order
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 10)
+    private String type; // in, out
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Constructors
+    public CategoryMonthTotal() {}
+
+    public CategoryMonthTotal(Long userId, String yearMonth, String category, String type,
+                              BigDecimal total, Long transactionCount) {
+        this.userId = userId;
+        this.yearMonth = yearMonth;
+        this.category = category;
+        this.type = type;
+        this.total = total;
+        this.transactionCount = transactionCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getYearMonth() { return yearMonth; }
+    public void setYearMonth(String yearMonth) { this.yearMonth = yearMonth; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+
+    public Long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(Long transactionCount) { this.transactionCount = transactionCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
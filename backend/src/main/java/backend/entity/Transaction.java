@@ -6,7 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_user_merchant", columnList = "user_id, merchant_key"))
 public class Transaction {
 
     @Id
@@ -37,6 +37,10 @@ public class Transaction {
     @Column(length = 100)
     private String merchant;
 
+    // Normalized merchant for grouping ("starbucks"); set by MerchantNormalizationService
+    @Column(name = "merchant_key", length = 100)
+    private String merchantKey;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -74,6 +78,9 @@ public class Transaction {
     public String getMerchant() { return merchant; }
     public void setMerchant(String merchant) { this.merchant = merchant; }
 
+    public String getMerchantKey() { return merchantKey; }
+    public void setMerchantKey(String merchantKey) { this.merchantKey = merchantKey; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
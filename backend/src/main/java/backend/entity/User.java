@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
     uniqueConstraints = {
         @UniqueConstraint(columnNames = "email"),
         @UniqueConstraint(columnNames = "username")
-    }
+    },
+    indexes = @Index(name = "idx_users_consumed_verification_token", columnList = "consumed_verification_token")
 )
 public class User {
 
@@ -42,6 +43,12 @@ public class User {
     @Column(name = "verification_token", length = 255)
     private String verificationToken;
 
+    @Column(name = "consumed_verification_token", length = 255)
+    private String consumedVerificationToken; // the token that verified the email, so repeated clicks still succeed
+
+    @Column(name = "email_verified_at")
+    private LocalDateTime emailVerifiedAt;
+
     @Column(name = "password_reset_token", length = 255)
     private String passwordResetToken;
 
@@ -91,6 +98,12 @@ public class User {
     public String getVerificationToken() { return verificationToken; }
     public void setVerificationToken(String verificationToken) { this.verificationToken = verificationToken; }
 
+    public String getConsumedVerificationToken() { return consumedVerificationToken; }
+    public void setConsumedVerificationToken(String consumedVerificationToken) { this.consumedVerificationToken = consumedVerificationToken; }
+
+    public LocalDateTime getEmailVerifiedAt() { return emailVerifiedAt; }
+    public void setEmailVerifiedAt(LocalDateTime emailVerifiedAt) { this.emailVerifiedAt = emailVerifiedAt; }
+
     public String getPasswordResetToken() { return passwordResetToken; }
     public void setPasswordResetToken(String passwordResetToken) { this.passwordResetToken = passwordResetToken; }
 
@@ -2,8 +2,13 @@ package backend.repository;
 
 import backend.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,15 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByIdAndUserId(Long id, Long userId);
     Optional<Account> findByUserIdAndNameAndIsActive(Long userId, String name, Boolean isActive);
     boolean existsByUserIdAndName(Long userId, String name);
+
+    // Atomic in-database delta so concurrent writers never lose an update
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.updatedAt = :updatedAt " +
+           "WHERE a.id = :id AND a.userId = :userId")
+    int adjustBalance(
+        @Param("id") Long id,
+        @Param("userId") Long userId,
+        @Param("delta") BigDecimal delta,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
 }
\ No newline at end of file
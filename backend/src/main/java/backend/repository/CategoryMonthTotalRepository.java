@@ -0,0 +1,62 @@
+package backend.repository;
+
+import backend.entity.CategoryMonthTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CategoryMonthTotalRepository extends JpaRepository<CategoryMonthTotal, Long> {
+
+    // Month-to-date and year-to-date spending per category in one round trip; months are YYYY-MM
+    // strings, so BETWEEN selects the year so far. Categories are grouped case-insensitively.
+    @Query("SELECT LOWER(c.category) AS category, " +
+           "SUM(CASE WHEN c.yearMonth = :month THEN c.total ELSE 0 END) AS monthToDate, " +
+           "SUM(c.total) AS yearToDate " +
+           "FROM CategoryMonthTotal c WHERE c.userId = :userId AND c.type = 'out' " +
+           "AND c.yearMonth BETWEEN :yearStart AND :month " +
+           "GROUP BY LOWER(c.category)")
+    List<CategorySpending> findCategorySpending(
+        @Param("userId") Long userId,
+        @Param("yearStart") String yearStart,
+        @Param("month") String month
+    );
+
+    interface CategorySpending {
+        String getCategory();
+        BigDecimal getMonthToDate();
+        BigDecimal getYearToDate();
+    }
+
+    // Atomic in-database delta, like account balances. Inserts the row when it does not exist yet, in
+    // the same statement, so two transactions creating the same key both land instead of one failing
+    // on uk_category_month_totals_key
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO category_month_totals " +
+           "(user_id, year_month, category, type, total, transaction_count, updated_at) " +
+           "VALUES (:userId, :yearMonth, :category, :type, :amount, :count, :updatedAt) " +
+           "ON CONFLICT (user_id, year_month, category, type) DO UPDATE SET " +
+           "total = category_month_totals.total + EXCLUDED.total, " +
+           "transaction_count = category_month_totals.transaction_count + EXCLUDED.transaction_count, " +
+           "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int addToTotal(
+        @Param("userId") Long userId,
+        @Param("yearMonth") String yearMonth,
+        @Param("category") String category,
+        @Param("type") String type,
+        @Param("amount") BigDecimal amount,
+        @Param("count") long count,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CategoryMonthTotal c WHERE c.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
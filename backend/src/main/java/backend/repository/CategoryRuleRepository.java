@@ -0,0 +1,15 @@
+package backend.repository;
+
+import backend.entity.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+    Optional<CategoryRule> findByIdAndUserId(Long id, Long userId);
+    List<CategoryRule> findByUserIdOrderByPriorityAscIdAsc(Long userId);
+    List<CategoryRule> findByUserIdIsNullAndInstitutionIgnoreCaseOrderByPriorityAscIdAsc(String institution);
+}
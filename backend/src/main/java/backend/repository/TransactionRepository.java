@@ -1,14 +1,21 @@
 package backend.repository;
 
 import backend.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -23,4 +30,117 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
            "LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(t.merchant) LIKE LOWER(CONCAT('%', :search, '%')))")
     List<Transaction> searchTransactions(@Param("userId") Long userId, @Param("search") String search);
-}
\ No newline at end of file
+
+    // Keyset pages ordered by (transaction_date, id) descending; rows strictly after the cursor
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND " +
+           "(t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserId(
+        @Param("userId") Long userId,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.accountId = :accountId AND " +
+           "(t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserIdAndAccountId(
+        @Param("userId") Long userId,
+        @Param("accountId") Long accountId,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND " +
+           "(LOWER(t.category) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(t.note) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(t.merchant) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> searchPage(
+        @Param("userId") Long userId,
+        @Param("search") String search,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    // Totals per normalized merchant; the (user_id, merchant_key) index serves the grouping
+    @Query("SELECT t.merchantKey AS merchantKey, MAX(t.merchant) AS merchant, SUM(t.amount) AS total, COUNT(t) AS count " +
+           "FROM Transaction t WHERE t.userId = :userId AND t.type = :type AND t.merchantKey IS NOT NULL AND " +
+           "t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.merchantKey ORDER BY SUM(t.amount) DESC")
+    List<MerchantTotal> findMerchantTotals(
+        @Param("userId") Long userId,
+        @Param("type") String type,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        Pageable pageable
+    );
+
+    interface MerchantTotal {
+        String getMerchantKey();
+        String getMerchant();
+        BigDecimal getTotal();
+        Long getCount();
+    }
+
+    // Per-month category totals straight from the transactions, used to rebuild category_month_totals
+    @Query("SELECT YEAR(t.transactionDate) AS transactionYear, MONTH(t.transactionDate) AS transactionMonth, " +
+           "t.category AS category, t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count " +
+           "FROM Transaction t WHERE t.userId = :userId " +
+           "GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), t.category, t.type")
+    List<MonthlyCategoryTotal> findMonthlyCategoryTotals(@Param("userId") Long userId);
+
+    interface MonthlyCategoryTotal {
+        Integer getTransactionYear();
+        Integer getTransactionMonth();
+        String getCategory();
+        String getType();
+        BigDecimal getTotal();
+        Long getCount();
+    }
+
+    // Outgoing spending per category and day over one date range, for budget periods that do not
+    // line up with calendar months; served by idx_transactions_user_date
+    @Query("SELECT LOWER(t.category) AS category, t.transactionDate AS transactionDate, SUM(t.amount) AS total " +
+           "FROM Transaction t WHERE t.userId = :userId AND t.type = 'out' " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endDate " +
+           "GROUP BY LOWER(t.category), t.transactionDate")
+    List<DailyCategoryTotal> findDailyCategorySpending(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    interface DailyCategoryTotal {
+        String getCategory();
+        LocalDate getTransactionDate();
+        BigDecimal getTotal();
+    }
+
+    // Cursor-backed export stream: scalar rows only, so nothing accumulates in the persistence context
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.accountId AS accountId, t.transactionDate AS transactionDate, " +
+           "t.amount AS amount, t.category AS category, t.type AS type, t.note AS note, " +
+           "t.merchant AS merchant, t.createdAt AS createdAt " +
+           "FROM Transaction t WHERE t.userId = :userId ORDER BY t.id")
+    Stream<ExportRow> streamExportRows(@Param("userId") Long userId);
+
+    interface ExportRow {
+        Long getId();
+        Long getAccountId();
+        LocalDate getTransactionDate();
+        BigDecimal getAmount();
+        String getCategory();
+        String getType();
+        String getNote();
+        String getMerchant();
+        LocalDateTime getCreatedAt();
+    }
+}
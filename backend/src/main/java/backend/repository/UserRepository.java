@@ -2,8 +2,11 @@ package backend.repository;
 
 import backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,7 +14,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     Optional<User> findByVerificationToken(String token);
+    Optional<User> findByConsumedVerificationToken(String token);
     Optional<User> findByPasswordResetToken(String token);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    // Username or email in one round trip, ignoring case; served by idx_users_lower_username and
+    // idx_users_lower_email, so the identifier must already be lower-cased
+    @Query("SELECT u FROM User u WHERE LOWER(u.username) = :identifier OR LOWER(u.email) = :identifier")
+    List<User> findByLowerUsernameOrEmail(@Param("identifier") String identifier);
+}
@@ -4,10 +4,12 @@ import backend.entity.Account;
 import backend.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -29,6 +31,18 @@ public class AccountService {
             .orElseThrow(() -> new IllegalArgumentException("Account not found"));
     }
 
+    /**
+     * Institution of the user's account, for institution category rules; null when no account is given or found
+     */
+    public String getInstitution(Long accountId, Long userId) {
+        if (accountId == null) {
+            return null;
+        }
+        return accountRepository.findByIdAndUserId(accountId, userId)
+            .map(Account::getInstitution)
+            .orElse(null);
+    }
+
     public Account createAccount(Long userId, String name, String type, BigDecimal balance, String institution, String accountNumber) {
         // Validate account type
         if (!List.of("checking", "savings", "credit").contains(type.toLowerCase())) {
@@ -94,4 +108,27 @@ public class AccountService {
         account.setUpdatedAt(LocalDateTime.now());
         accountRepository.save(account);
     }
-}
\ No newline at end of file
+
+    /**
+     * Add a signed delta to the stored balance with a single UPDATE, no read first
+     */
+    @Transactional
+    public void adjustBalance(Long accountId, Long userId, BigDecimal delta) {
+        int updated = accountRepository.adjustBalance(accountId, userId, delta, LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalArgumentException("Account not found");
+        }
+    }
+
+    /**
+     * Apply pre-aggregated deltas: one UPDATE per account regardless of how many transactions fed it
+     */
+    @Transactional
+    public void applyBalanceDeltas(Long userId, Map<Long, BigDecimal> deltasByAccount) {
+        for (Map.Entry<Long, BigDecimal> entry : deltasByAccount.entrySet()) {
+            if (entry.getValue().signum() != 0) {
+                adjustBalance(entry.getKey(), userId, entry.getValue());
+            }
+        }
+    }
+}
@@ -5,14 +5,16 @@ import backend.entity.User;
 import backend.repository.UserRepository;
 import backend.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,17 +24,26 @@ public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
+    // How long a used verification link keeps answering "already verified"
+    private static final Duration REVERIFY_WINDOW = Duration.ofMinutes(5);
+
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHasher;
     private final EmailService emailService;
     private final JwtUtil jwtUtil; 
+    private final UnknownIdentifierCache unknownIdentifiers;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AuthService(UserRepository userRepository, EmailService emailService, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, PasswordHashingService passwordHasher,
+                       EmailService emailService, JwtUtil jwtUtil,
+                       UnknownIdentifierCache unknownIdentifiers, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHasher = passwordHasher;
         this.emailService = emailService;
         this.jwtUtil = jwtUtil; 
+        this.unknownIdentifiers = unknownIdentifiers;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -78,7 +89,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHasher.encode(password));
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setIsActive(true);
@@ -88,6 +99,7 @@ public class AuthService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserIdentifiersChangedEvent(List.of(username, email)));
         
         logger.info("User saved successfully with ID: {}", savedUser.getId());
 
@@ -116,10 +128,7 @@ public class AuthService {
         }
 
         // Find user by username or email
-        Optional<User> userOpt = userRepository.findByUsername(usernameOrEmail);
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmail(usernameOrEmail);
-        }
+        Optional<User> userOpt = findUser(usernameOrEmail);
         
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("Invalid credentials");
@@ -133,7 +142,7 @@ public class AuthService {
         }
 
         // Verify password using BCrypt
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
@@ -176,22 +185,19 @@ public class AuthService {
         Optional<User> userOpt = userRepository.findByVerificationToken(cleanToken);
         
         if (userOpt.isEmpty()) {
-            // Check if there's a user who was recently verified
-            LocalDateTime fiveMinutesAgo = LocalDateTime.now().minusMinutes(5);
-            List<User> allUsers = userRepository.findAll();
-            for (User u : allUsers) {
-                if (u.getIsEmailVerified() && 
-                    u.getUpdatedAt() != null && 
-                    u.getUpdatedAt().isAfter(fiveMinutesAgo) &&
-                    u.getVerificationToken() == null) {
-                    
-                    return new AuthResponse(
-                        u.getId().toString(),
-                        u.getUsername(),
-                        true,
-                        "Email already verified. You can now log in."
-                    );
-                }
+            // A link clicked again shortly after it verified the account still succeeds
+            LocalDateTime windowStart = LocalDateTime.now().minus(REVERIFY_WINDOW);
+            Optional<User> verified = userRepository.findByConsumedVerificationToken(cleanToken)
+                .filter(u -> Boolean.TRUE.equals(u.getIsEmailVerified()) &&
+                    u.getEmailVerifiedAt() != null &&
+                    u.getEmailVerifiedAt().isAfter(windowStart));
+            if (verified.isPresent()) {
+                return new AuthResponse(
+                    verified.get().getId().toString(),
+                    verified.get().getUsername(),
+                    true,
+                    "Email already verified. You can now log in."
+                );
             }
             
             throw new IllegalArgumentException("Invalid or expired verification token");
@@ -210,9 +216,12 @@ public class AuthService {
         }
 
         // Verify the user
+        LocalDateTime now = LocalDateTime.now();
         user.setIsEmailVerified(true);
+        user.setConsumedVerificationToken(user.getVerificationToken());
         user.setVerificationToken(null);
-        user.setUpdatedAt(LocalDateTime.now());
+        user.setEmailVerifiedAt(now);
+        user.setUpdatedAt(now);
         userRepository.save(user);
 
         logger.info("Email verified successfully for user: {}", user.getUsername());
@@ -233,10 +242,7 @@ public class AuthService {
             throw new IllegalArgumentException("Username or email is required");
         }
 
-        Optional<User> userOpt = userRepository.findByUsername(usernameOrEmail);
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmail(usernameOrEmail);
-        }
+        Optional<User> userOpt = findUser(usernameOrEmail);
         
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
@@ -309,7 +315,7 @@ public class AuthService {
         }
 
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHasher.encode(newPassword));
         user.setPasswordResetToken(null);
         user.setPasswordResetExpiry(null);
         user.setUpdatedAt(LocalDateTime.now());
@@ -333,10 +339,7 @@ public class AuthService {
             throw new IllegalArgumentException("Username or email is required");
         }
 
-        Optional<User> userOpt = userRepository.findByUsername(usernameOrEmail);
-        if (userOpt.isEmpty()) {
-            userOpt = userRepository.findByEmail(usernameOrEmail);
-        }
+        Optional<User> userOpt = findUser(usernameOrEmail);
         
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
@@ -392,7 +395,7 @@ public class AuthService {
         User user = userOpt.get();
         
         // Verify password
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
         
@@ -405,10 +408,34 @@ public class AuthService {
         user.setUsername(newUsername);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserIdentifiersChangedEvent(List.of(newUsername)));
         
         logger.info("Username changed successfully for email: {}", email);
     }
 
+    /**
+     * Find a user by username or email, in any case, with one query; identifiers that just matched
+     * nobody are answered from UnknownIdentifierCache without one. Should two usernames differ only
+     * in case, the exact spelling decides; with no exact match neither is returned.
+     */
+    Optional<User> findUser(String usernameOrEmail) {
+        if (unknownIdentifiers.isUnknown(usernameOrEmail)) {
+            return Optional.empty();
+        }
+        long stamp = unknownIdentifiers.stamp();
+        List<User> matches = userRepository.findByLowerUsernameOrEmail(usernameOrEmail.toLowerCase(Locale.ROOT));
+        if (matches.isEmpty()) {
+            unknownIdentifiers.add(usernameOrEmail, stamp);
+            return Optional.empty();
+        }
+        if (matches.size() == 1) {
+            return Optional.of(matches.get(0));
+        }
+        return matches.stream()
+            .filter(user -> usernameOrEmail.equals(user.getUsername()) || usernameOrEmail.equals(user.getEmail()))
+            .findFirst();
+    }
+
     /**
      * Helper method to build full name
      */
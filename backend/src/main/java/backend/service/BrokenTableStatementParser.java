@@ -0,0 +1,142 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tables whose text extraction splits into a "Date Description" block followed by a separate
+ * "Money out Money In Balance" block; rows are paired up by position.
+ */
+@Component
+@Order(2)
+public class BrokenTableStatementParser implements StatementParser {
+
+    private static final Pattern BROKEN_TABLE_DATE_LINE = Pattern.compile("^(\\d{1,2})\\s+(\\w+)\\s+(.+)$");
+
+    @Override
+    public String name() {
+        return "broken-table";
+    }
+
+    @Override
+    public int score(StatementFingerprint fingerprint) {
+        if (!fingerprint.contains("money out money in balance")) {
+            return 0;
+        }
+        return fingerprint.contains("date description") ? 10 : 8;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        
+        int dateDescStart = text.indexOf("Date Description");
+        int moneyStart = text.indexOf("Money out Money In Balance");
+        
+        if (dateDescStart == -1 || moneyStart == -1) {
+            return transactions;
+        }
+        
+        String dateDescSection = text.substring(dateDescStart, moneyStart).trim();
+        String moneySection = text.substring(moneyStart).trim();
+        
+        String[] dateDescLines = StatementParsing.LINE_BREAK.split(dateDescSection);
+        String[] moneyLines = StatementParsing.LINE_BREAK.split(moneySection);
+        
+        List<TransactionLine> txnLines = new ArrayList<>();
+        Matcher dateMatcher = BROKEN_TABLE_DATE_LINE.matcher("");
+        
+        for (int i = 1; i < dateDescLines.length; i++) {
+            String line = dateDescLines[i].trim();
+            if (line.isEmpty() || line.equals("Date Description")) continue;
+            
+            dateMatcher.reset(line);
+            
+            if (dateMatcher.matches()) {
+                TransactionLine txn = new TransactionLine();
+                txn.day = dateMatcher.group(1);
+                txn.month = dateMatcher.group(2);
+                txn.description = dateMatcher.group(3).trim();
+                txnLines.add(txn);
+            } else if (!txnLines.isEmpty()) {
+                TransactionLine lastTxn = txnLines.get(txnLines.size() - 1);
+                lastTxn.description += " " + line.trim();
+            }
+        }
+        
+        List<AmountLine> amountLines = new ArrayList<>();
+        for (int i = 1; i < moneyLines.length; i++) {
+            String line = moneyLines[i].trim();
+            if (line.isEmpty() || line.startsWith("Money")) continue;
+            
+            String[] parts = StatementParsing.WHITESPACE.split(line);
+            if (parts.length >= 1) {
+                AmountLine amtLine = new AmountLine();
+                
+                if (parts.length >= 1 && !parts[0].isEmpty() && !parts[0].equals("-")) {
+                    amtLine.moneyOut = StatementParsing.parseAmount(parts[0]);
+                }
+                
+                if (parts.length >= 2 && !parts[1].isEmpty() && !parts[1].equals("-")) {
+                    amtLine.moneyIn = StatementParsing.parseAmount(parts[1]);
+                }
+                
+                if (parts.length >= 3 && !parts[2].isEmpty()) {
+                    amtLine.balance = StatementParsing.parseAmount(parts[2]);
+                }
+                
+                amountLines.add(amtLine);
+            }
+        }
+        
+        int minSize = Math.min(txnLines.size(), amountLines.size());
+        for (int i = 0; i < minSize; i++) {
+            TransactionLine txn = txnLines.get(i);
+            AmountLine amt = amountLines.get(i);
+            
+            String dateStr = txn.month + " " + txn.day;
+            LocalDate date = StatementParsing.parseDate(dateStr, year);
+            
+            if (date == null) continue;
+            
+            BigDecimal amount;
+            String type;
+            
+            if (amt.moneyIn.compareTo(BigDecimal.ZERO) > 0) {
+                amount = amt.moneyIn;
+                type = "in";
+            } else if (amt.moneyOut.compareTo(BigDecimal.ZERO) > 0) {
+                amount = amt.moneyOut;
+                type = "out";
+            } else {
+                continue;
+            }
+            
+            if (amount.compareTo(BigDecimal.ZERO) > 0) {
+                transactions.add(new ParsedTransaction(date, txn.description, amount, type));
+            }
+        }
+        
+        return transactions;
+    }
+
+    private static class TransactionLine {
+        String day;
+        String month;
+        String description;
+    }
+    
+    private static class AmountLine {
+        BigDecimal moneyOut = BigDecimal.ZERO;
+        BigDecimal moneyIn = BigDecimal.ZERO;
+        BigDecimal balance = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,132 @@
+package backend.service;
+
+import backend.entity.Budget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Budget period boundaries. Period types:
+ * <pre>
+ *   monthly     calendar month
+ *   yearly      calendar year
+ *   weekly      7 days from the anchor's weekday (Monday without an anchor)
+ *   biweekly    14-day cycles counted from the anchor date (the Monday of the creation week without one)
+ *   pay-cycle   a month from the anchor's day of month, e.g. paid on the 25th: 25th to the 24th
+ *   rolling     the last periodLengthDays days, today included
+ * </pre>
+ * All of a user's budgets are bounded against one "today", so a calculation never straddles midnight.
+ */
+@Component
+public class BudgetPeriodEngine {
+
+    public static final List<String> PERIOD_TYPES = List.of("monthly", "yearly", "weekly", "biweekly", "pay-cycle", "rolling");
+
+    public static final int MAX_ROLLING_DAYS = 366;
+
+    /** A budget period, start inclusive and end exclusive. */
+    public record Period(LocalDate start, LocalDate end) {
+        public boolean contains(LocalDate date) {
+            return !date.isBefore(start) && date.isBefore(end);
+        }
+    }
+
+    private final Clock clock;
+
+    @Autowired
+    public BudgetPeriodEngine() {
+        this(Clock.systemDefaultZone());
+    }
+
+    BudgetPeriodEngine(Clock clock) {
+        this.clock = clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /** True for periods that start on the first of a month and last whole calendar months. */
+    public static boolean isCalendar(String periodType) {
+        return "monthly".equals(periodType) || "yearly".equals(periodType);
+    }
+
+    /** Checks that the period type is known and has the settings it needs. */
+    public void validate(String periodType, LocalDate anchor, Integer lengthDays) {
+        if (periodType == null || !PERIOD_TYPES.contains(periodType)) {
+            throw new IllegalArgumentException("Period type must be one of: " + String.join(", ", PERIOD_TYPES));
+        }
+        if ("pay-cycle".equals(periodType) && anchor == null) {
+            throw new IllegalArgumentException("Pay-cycle budgets need a period anchor (a payday)");
+        }
+        if ("rolling".equals(periodType) && (lengthDays == null || lengthDays < 1 || lengthDays > MAX_ROLLING_DAYS)) {
+            throw new IllegalArgumentException("Rolling budgets need a period length between 1 and " + MAX_ROLLING_DAYS + " days");
+        }
+    }
+
+    /** Periods for the budgets, in the same order, all as of today. */
+    public List<Period> periodsFor(List<Budget> budgets, LocalDate today) {
+        List<Period> periods = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            periods.add(periodFor(budget, today));
+        }
+        return periods;
+    }
+
+    public Period periodFor(Budget budget, LocalDate today) {
+        LocalDate anchor = budget.getPeriodAnchor();
+        switch (budget.getPeriodType() == null ? "monthly" : budget.getPeriodType()) {
+            case "yearly" -> {
+                LocalDate start = today.withDayOfYear(1);
+                return new Period(start, start.plusYears(1));
+            }
+            case "weekly" -> {
+                DayOfWeek firstDay = anchor != null ? anchor.getDayOfWeek() : DayOfWeek.MONDAY;
+                LocalDate start = today.with(TemporalAdjusters.previousOrSame(firstDay));
+                return new Period(start, start.plusWeeks(1));
+            }
+            case "biweekly" -> {
+                LocalDate first = anchor != null ? anchor : defaultAnchor(budget, today);
+                long cycles = Math.floorDiv(ChronoUnit.DAYS.between(first, today), 14);
+                LocalDate start = first.plusDays(cycles * 14);
+                return new Period(start, start.plusDays(14));
+            }
+            case "pay-cycle" -> {
+                int payday = anchor != null ? anchor.getDayOfMonth() : 1;
+                YearMonth month = YearMonth.from(today);
+                LocalDate start = payday(month, payday);
+                if (start.isAfter(today)) {
+                    month = month.minusMonths(1);
+                    start = payday(month, payday);
+                }
+                return new Period(start, payday(month.plusMonths(1), payday));
+            }
+            case "rolling" -> {
+                int days = budget.getPeriodLengthDays() != null ? budget.getPeriodLengthDays() : 30;
+                return new Period(today.minusDays(days - 1L), today.plusDays(1));
+            }
+            default -> {
+                LocalDate start = today.withDayOfMonth(1);
+                return new Period(start, start.plusMonths(1));
+            }
+        }
+    }
+
+    /** Short months move the payday to their last day, e.g. the 31st becomes the 30th in April. */
+    private static LocalDate payday(YearMonth month, int day) {
+        return month.atDay(Math.min(day, month.lengthOfMonth()));
+    }
+
+    private static LocalDate defaultAnchor(Budget budget, LocalDate today) {
+        LocalDate created = budget.getCreatedAt() != null ? budget.getCreatedAt().toLocalDate() : today;
+        return created.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -1,10 +1,12 @@
 package backend.service;
 
 import backend.entity.Budget;
-import backend.entity.Transaction;
 import backend.repository.BudgetRepository;
-import backend.repository.TransactionRepository;
+import backend.repository.CategoryMonthTotalRepository.CategorySpending;
+import backend.repository.TransactionRepository.DailyCategoryTotal;
+import backend.service.BudgetPeriodEngine.Period;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,40 +14,53 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
+    private final CategoryTotalsService categoryTotalsService;
+    private final BudgetSpendingCache budgetSpendingCache;
+    private final BudgetPeriodEngine budgetPeriodEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BudgetService(BudgetRepository budgetRepository, TransactionRepository transactionRepository) {
+    public BudgetService(BudgetRepository budgetRepository, CategoryTotalsService categoryTotalsService,
+                         BudgetSpendingCache budgetSpendingCache, BudgetPeriodEngine budgetPeriodEngine,
+                         ApplicationEventPublisher eventPublisher) {
         this.budgetRepository = budgetRepository;
-        this.transactionRepository = transactionRepository;
+        this.categoryTotalsService = categoryTotalsService;
+        this.budgetSpendingCache = budgetSpendingCache;
+        this.budgetPeriodEngine = budgetPeriodEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Budget> getUserBudgets(Long userId) {
+        long stamp = budgetSpendingCache.stamp();
         List<Budget> budgets = budgetRepository.findByUserIdAndIsActive(userId, true);
         
-        // Single query: fetch all transactions for all budgets at once
-        LocalDate startDate = calculateStartDate(budgets);
-        LocalDate endDate = LocalDate.now();
-        
-        // Get all transactions in the date range with a single query
-        List<Transaction> allTransactions = transactionRepository
-            .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-        
-        // Calculate spending in memory instead of querying per budget
-        Map<String, BigDecimal> categorySpending = calculateCategorySpending(allTransactions, budgets);
+        // Spending computed since the user's last write is reused; otherwise a single query
+        // over the monthly category totals instead of the transactions themselves
+        Map<Long, BigDecimal> spentByBudget = budgetSpendingCache.get(userId)
+            .filter(cached -> budgets.stream().allMatch(budget -> cached.containsKey(budget.getId())))
+            .orElse(null);
+        if (spentByBudget == null) {
+            Map<String, BigDecimal> categorySpending = calculateCategorySpending(userId, budgets);
+            spentByBudget = new HashMap<>();
+            for (Budget budget : budgets) {
+                spentByBudget.put(budget.getId(), categorySpending.getOrDefault(budget.getCategory(), BigDecimal.ZERO));
+            }
+            budgetSpendingCache.put(userId, stamp, spentByBudget);
+        }
         
         // Update budgets with calculated spending
         for (Budget budget : budgets) {
-            BigDecimal spent = categorySpending.getOrDefault(budget.getCategory(), BigDecimal.ZERO);
-            budget.setSpent(spent);
+            budget.setSpent(spentByBudget.getOrDefault(budget.getId(), BigDecimal.ZERO));
             budget.setUpdatedAt(LocalDateTime.now());
         }
         
@@ -56,19 +71,9 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
             .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
         
-        // Single query: fetch transactions for this budget's period
-        LocalDate startDate = getStartDateForBudget(budget);
-        LocalDate endDate = LocalDate.now();
-        
-        List<Transaction> transactions = transactionRepository
-            .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-        
-        // Calculate spending in memory
-        BigDecimal totalSpent = transactions.stream()
-            .filter(t -> "out".equals(t.getType()))
-            .filter(t -> budget.getCategory().equalsIgnoreCase(t.getCategory()))
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Optional<BigDecimal> cached = budgetSpendingCache.get(userId).map(spent -> spent.get(budget.getId()));
+        BigDecimal totalSpent = cached.orElseGet(() -> calculateCategorySpending(userId, List.of(budget))
+            .getOrDefault(budget.getCategory(), BigDecimal.ZERO));
         
         budget.setSpent(totalSpent);
         budget.setUpdatedAt(LocalDateTime.now());
@@ -78,10 +83,14 @@ public class BudgetService {
 
     @Transactional
     public Budget createBudget(Long userId, String category, BigDecimal amount, String periodType) {
-        // Validate period type
-        if (!List.of("monthly", "yearly").contains(periodType.toLowerCase())) {
-            throw new IllegalArgumentException("Period type must be 'monthly' or 'yearly'");
-        }
+        return createBudget(userId, category, amount, periodType, null, null);
+    }
+
+    @Transactional
+    public Budget createBudget(Long userId, String category, BigDecimal amount, String periodType,
+                               LocalDate periodAnchor, Integer periodLengthDays) {
+        // Validate period type and its settings
+        budgetPeriodEngine.validate(periodType.toLowerCase(), periodAnchor, periodLengthDays);
 
         // Check if budget already exists for this category
         if (budgetRepository.existsByUserIdAndCategoryAndIsActive(userId, category, true)) {
@@ -98,6 +107,8 @@ public class BudgetService {
         budget.setCategory(category);
         budget.setAmount(amount);
         budget.setPeriodType(periodType.toLowerCase());
+        budget.setPeriodAnchor(periodAnchor);
+        budget.setPeriodLengthDays(periodLengthDays);
         budget.setSpent(BigDecimal.ZERO);
         budget.setIsActive(true);
         budget.setCreatedAt(LocalDateTime.now());
@@ -105,27 +116,25 @@ public class BudgetService {
 
         Budget saved = budgetRepository.save(budget);
         
-        // Single query to calculate initial spending
-        LocalDate startDate = getStartDateForBudget(saved);
-        LocalDate endDate = LocalDate.now();
-        
-        List<Transaction> transactions = transactionRepository
-            .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-        
-        BigDecimal totalSpent = transactions.stream()
-            .filter(t -> "out".equals(t.getType()))
-            .filter(t -> category.equalsIgnoreCase(t.getCategory()))
-            .map(Transaction::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Initial spending for the current period
+        BigDecimal totalSpent = calculateCategorySpending(userId, List.of(saved))
+            .getOrDefault(category, BigDecimal.ZERO);
         
         saved.setSpent(totalSpent);
         budgetRepository.save(saved);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(userId));
         
         return saved;
     }
 
     @Transactional
     public Budget updateBudget(Long budgetId, Long userId, String category, BigDecimal amount, String periodType) {
+        return updateBudget(budgetId, userId, category, amount, periodType, null, null);
+    }
+
+    @Transactional
+    public Budget updateBudget(Long budgetId, Long userId, String category, BigDecimal amount, String periodType,
+                               LocalDate periodAnchor, Integer periodLengthDays) {
         Budget budget = getBudgetById(budgetId, userId);
 
         if (category != null && !category.trim().isEmpty()) {
@@ -143,21 +152,28 @@ public class BudgetService {
         }
 
         if (periodType != null && !periodType.trim().isEmpty()) {
-            if (!List.of("monthly", "yearly").contains(periodType.toLowerCase())) {
-                throw new IllegalArgumentException("Period type must be 'monthly' or 'yearly'");
-            }
             budget.setPeriodType(periodType.toLowerCase());
         }
+        if (periodAnchor != null) {
+            budget.setPeriodAnchor(periodAnchor);
+        }
+        if (periodLengthDays != null) {
+            budget.setPeriodLengthDays(periodLengthDays);
+        }
+        budgetPeriodEngine.validate(budget.getPeriodType(), budget.getPeriodAnchor(), budget.getPeriodLengthDays());
 
         budget.setUpdatedAt(LocalDateTime.now());
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(userId));
+        return saved;
     }
 
     @Transactional
     public void deleteBudget(Long budgetId, Long userId) {
         Budget budget = getBudgetById(budgetId, userId);
         budgetRepository.delete(budget); // Hard delete instead of soft delete
-}
+        eventPublisher.publishEvent(new BudgetsChangedEvent(userId));
+    }
 
     @Transactional
     public void recalculateAllBudgets(Long userId) {
@@ -167,15 +183,9 @@ public class BudgetService {
             return;
         }
 
-        // Single query: fetch all transactions once
-        LocalDate startDate = calculateStartDate(budgets);
-        LocalDate endDate = LocalDate.now();
-        
-        List<Transaction> allTransactions = transactionRepository
-            .findByUserIdAndTransactionDateBetween(userId, startDate, endDate);
-        
-        // Calculate spending by category in memory
-        Map<String, BigDecimal> categorySpending = calculateCategorySpending(allTransactions, budgets);
+        // Recalculation also repairs the monthly totals from the transactions themselves
+        categoryTotalsService.rebuild(userId);
+        Map<String, BigDecimal> categorySpending = calculateCategorySpending(userId, budgets);
         
         // Update all budgets in memory, then save
         for (Budget budget : budgets) {
@@ -186,63 +196,65 @@ public class BudgetService {
         
         // Single batch save
         budgetRepository.saveAll(budgets);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(userId));
     }
 
     /**
-     * Calculate spending for all categories at once
+     * Calculate spending for all budgets at once with a single query. Calendar budgets read
+     * month-to-date and year-to-date sums from the monthly category totals; once any budget has
+     * another period, one range scan of daily sums covering every period is bucketed per budget.
      */
-    private Map<String, BigDecimal> calculateCategorySpending(List<Transaction> transactions, List<Budget> budgets) {
+    private Map<String, BigDecimal> calculateCategorySpending(Long userId, List<Budget> budgets) {
         Map<String, BigDecimal> categorySpending = new HashMap<>();
-        
-        // Initialize all budget categories
-        for (Budget budget : budgets) {
-            categorySpending.put(budget.getCategory(), BigDecimal.ZERO);
+        if (budgets.isEmpty()) {
+            return categorySpending;
         }
-        
-        // Sum up spending by category
-        for (Transaction transaction : transactions) {
-            if ("out".equals(transaction.getType())) {
-                String category = transaction.getCategory();
-                BigDecimal amount = transaction.getAmount();
-                
-                categorySpending.put(
-                    category,
-                    categorySpending.getOrDefault(category, BigDecimal.ZERO).add(amount)
-                );
+
+        LocalDate today = budgetPeriodEngine.today();
+        if (budgets.stream().allMatch(budget -> BudgetPeriodEngine.isCalendar(budget.getPeriodType()))) {
+            Map<String, CategorySpending> byCategory = new HashMap<>();
+            for (CategorySpending spending : categoryTotalsService.getSpending(userId, YearMonth.from(today))) {
+                byCategory.put(spending.getCategory(), spending);
+            }
+
+            // Each budget takes the window of its own period
+            for (Budget budget : budgets) {
+                CategorySpending spending = byCategory.get(budget.getCategory().toLowerCase());
+                BigDecimal spent = BigDecimal.ZERO;
+                if (spending != null) {
+                    spent = "monthly".equals(budget.getPeriodType()) ? spending.getMonthToDate() : spending.getYearToDate();
+                }
+                categorySpending.put(budget.getCategory(), spent);
             }
+            return categorySpending;
         }
-        
-        return categorySpending;
-    }
 
-    /**
-     * Determine the start date based on budget period type and current date
-     */
-    private LocalDate getStartDateForBudget(Budget budget) {
-        if ("monthly".equals(budget.getPeriodType())) {
-            // Current month
-            YearMonth currentMonth = YearMonth.now();
-            return currentMonth.atDay(1);
-        } else {
-            // Current year
-            return LocalDate.now().withDayOfYear(1);
+        List<Period> periods = budgetPeriodEngine.periodsFor(budgets, today);
+        LocalDate start = periods.get(0).start();
+        LocalDate end = periods.get(0).end();
+        for (Period period : periods) {
+            start = period.start().isBefore(start) ? period.start() : start;
+            end = period.end().isAfter(end) ? period.end() : end;
         }
-    }
 
-    /**
-     * Calculate the earliest start date needed for all budgets
-     * (in case they have different period types)
-     */
-    private LocalDate calculateStartDate(List<Budget> budgets) {
-        LocalDate earliest = LocalDate.now();
+        Map<String, List<DailyCategoryTotal>> byCategory = new HashMap<>();
+        for (DailyCategoryTotal day : categoryTotalsService.getDailySpending(userId, start, end)) {
+            byCategory.computeIfAbsent(day.getCategory(), k -> new ArrayList<>()).add(day);
+        }
 
-        for (Budget budget : budgets) {
-            LocalDate budgetStart = getStartDateForBudget(budget);
-            if (budgetStart.isBefore(earliest)) {
-                earliest = budgetStart;
+        // Each budget sums the days inside its own period
+        for (int i = 0; i < budgets.size(); i++) {
+            Budget budget = budgets.get(i);
+            Period period = periods.get(i);
+            BigDecimal spent = BigDecimal.ZERO;
+            for (DailyCategoryTotal day : byCategory.getOrDefault(budget.getCategory().toLowerCase(), List.of())) {
+                if (period.contains(day.getTransactionDate())) {
+                    spent = spent.add(day.getTotal());
+                }
             }
+            categorySpending.put(budget.getCategory(), spent);
         }
 
-        return earliest;
+        return categorySpending;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Computed budget spending per user (spent amount by budget id), so dashboard polling skips the
+ * aggregate query. Entries are dropped when TransactionsChangedEvent or BudgetsChangedEvent is
+ * published for the user, after the writing transaction commits; they also expire after ttl or
+ * at midnight, when budget periods move on, and the map is an LRU bounded by maxEntries.
+ * A value computed while an invalidation was in flight is not stored: callers take a stamp before
+ * reading the database and put only succeeds if that user was not invalidated since.
+ */
+@Component
+public class BudgetSpendingCache {
+
+    private static final class Entry {
+        final Map<Long, BigDecimal> spentByBudget;
+        final LocalDate day;
+        final Instant expiresAt;
+
+        Entry(Map<Long, BigDecimal> spentByBudget, LocalDate day, Instant expiresAt) {
+            this.spentByBudget = spentByBudget;
+            this.day = day;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final InvalidationGenerations<Long> invalidations; // guarded by this
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    @Autowired
+    public BudgetSpendingCache(
+        MeterRegistry meterRegistry,
+        @Value("${budget.cache.max-entries:10000}") int maxEntries,
+        @Value("${budget.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this(meterRegistry, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemDefaultZone());
+    }
+
+    BudgetSpendingCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.invalidations = new InvalidationGenerations<>(Math.max(maxEntries, 1024));
+
+        this.hitCounter = meterRegistry.counter("budget.cache.hits");
+        this.missCounter = meterRegistry.counter("budget.cache.misses");
+        this.invalidationCounter = meterRegistry.counter("budget.cache.invalidations");
+        Gauge.builder("budget.cache.size", this, BudgetSpendingCache::size)
+            .description("Users with cached budget spending")
+            .register(meterRegistry);
+        Gauge.builder("budget.cache.hit-ratio", this, BudgetSpendingCache::hitRatio)
+            .description("Share of budget reads served from the cache")
+            .register(meterRegistry);
+    }
+
+    /** Token to pass to put; take it before reading the data the value is computed from. */
+    public synchronized long stamp() {
+        return invalidations.stamp();
+    }
+
+    public Optional<Map<Long, BigDecimal>> get(Long userId) {
+        Instant now = clock.instant();
+        LocalDate today = LocalDate.now(clock);
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt.isAfter(now) && entry.day.equals(today)) {
+                hitCounter.increment();
+                return Optional.of(entry.spentByBudget);
+            }
+            if (entry != null) {
+                entries.remove(userId);
+            }
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    public void put(Long userId, long stamp, Map<Long, BigDecimal> spentByBudget) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        Entry entry = new Entry(Collections.unmodifiableMap(new HashMap<>(spentByBudget)),
+            LocalDate.now(clock), clock.instant().plus(ttl));
+        synchronized (this) {
+            if (invalidations.isStale(userId, stamp)) {
+                return;
+            }
+            entries.put(userId, entry);
+            Iterator<Long> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (this) {
+            invalidations.invalidate(userId);
+            entries.remove(userId);
+        }
+        invalidationCounter.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+}
@@ -0,0 +1,4 @@
+package backend.service;
+
+/** Published after a user's budgets are created, changed, deleted or recalculated. */
+public record BudgetsChangedEvent(Long userId) {}
@@ -0,0 +1,83 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Capital One layout: "Date Amount Resulting Balance" rows with the description on the following line.
+ */
+@Component
+@Order(4)
+public class CapitalOneStatementParser implements StatementParser {
+
+    private static final Pattern CAPITAL_ONE_SECTION = Pattern.compile(
+        "Date\\s+Amount\\s+Resulting Balance.*?\\n(.*?)(?=PAGE|$)",
+        Pattern.DOTALL | Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern CAPITAL_ONE_FIRST_LINE = Pattern.compile(
+        "^(\\d{1,2}/\\d{1,2})\\s+(-?\\$[\\d,]+\\.\\d{2})\\s+\\$[\\d,]+\\.\\d{2}\\s+(\\w+)\\s*$"
+    );
+    private static final Pattern CAPITAL_ONE_DATE_PREFIX = Pattern.compile("^\\d{1,2}/\\d{1,2}");
+
+    @Override
+    public String name() {
+        return "capital-one";
+    }
+
+    @Override
+    public int score(StatementFingerprint fingerprint) {
+        return fingerprint.contains("date amount resulting balance") ? 10 : 0;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        
+        Matcher tableMatcher = CAPITAL_ONE_SECTION.matcher(text);
+        
+        if (!tableMatcher.find()) {
+            return transactions;
+        }
+        
+        String tableSection = tableMatcher.group(1);
+        String[] lines = StatementParsing.LINE_BREAK.split(tableSection);
+        Matcher firstLineMatcher = CAPITAL_ONE_FIRST_LINE.matcher("");
+        
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) continue;
+            
+            firstLineMatcher.reset(line);
+            
+            if (firstLineMatcher.matches()) {
+                String dateStr = firstLineMatcher.group(1);
+                String amountStr = firstLineMatcher.group(2);
+                String typeStr = firstLineMatcher.group(3);
+                
+                String description = "";
+                if (i + 1 < lines.length) {
+                    String nextLine = lines[i + 1].trim();
+                    if (!CAPITAL_ONE_DATE_PREFIX.matcher(nextLine).lookingAt()) {
+                        description = nextLine;
+                    }
+                }
+                
+                LocalDate date = StatementParsing.parseDate(dateStr, year);
+                BigDecimal amount = StatementParsing.parseAmount(amountStr.replace("$", "").replace("-", ""));
+                String type = amountStr.startsWith("-") ? "out" : "in";
+                
+                transactions.add(new ParsedTransaction(date, description.isEmpty() ? typeStr : description, amount, type));
+            }
+        }
+        
+        return transactions;
+    }
+}
@@ -0,0 +1,169 @@
+package backend.service;
+
+import backend.entity.CategoryRule;
+import backend.repository.CategoryRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Category engine shared by statement parsing, manual entry and import.
+ * User rules take precedence over institution rules, which take precedence over the built-in table;
+ * the merged rules are compiled into one automaton per (user, institution) and cached until they change.
+ * Cached automatons are dropped once a rule change commits, so a categorize running beside the change
+ * cannot cache the rules as they were before it.
+ */
+@Service
+public class CategoryEngine {
+
+    static final int MAX_CACHED_CATEGORIZERS = 10_000;
+
+    private final CategoryRuleRepository categoryRuleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, KeywordCategorizer> categorizers = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // bumped before every invalidation
+
+    @Autowired
+    public CategoryEngine(CategoryRuleRepository categoryRuleRepository, ApplicationEventPublisher eventPublisher) {
+        this.categoryRuleRepository = categoryRuleRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public String categorize(String description) {
+        return KeywordCategorizer.defaults().categorize(description);
+    }
+
+    public String categorize(Long userId, String institution, String description) {
+        if (userId == null && (institution == null || institution.isBlank())) {
+            return categorize(description);
+        }
+        return categorizerFor(userId, institution).categorize(description);
+    }
+
+    /** Text a category is inferred from when a transaction has no description of its own. */
+    public static String describe(String merchant, String note) {
+        if (merchant == null || merchant.isBlank()) {
+            return note;
+        }
+        if (note == null || note.isBlank()) {
+            return merchant;
+        }
+        return merchant + " " + note;
+    }
+
+    @Transactional
+    public CategoryRule addRule(Long userId, String institution, String keyword, String excludeKeyword, String category, Integer priority) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            throw new IllegalArgumentException("Keyword is required");
+        }
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category is required");
+        }
+        if (userId == null && (institution == null || institution.isBlank())) {
+            throw new IllegalArgumentException("Rule must belong to a user or an institution");
+        }
+
+        CategoryRule rule = new CategoryRule();
+        rule.setUserId(userId);
+        rule.setInstitution(institution == null || institution.isBlank() ? null : institution.trim());
+        rule.setKeyword(keyword.trim().toLowerCase());
+        rule.setExcludeKeyword(excludeKeyword == null || excludeKeyword.isBlank() ? null : excludeKeyword.trim().toLowerCase());
+        rule.setCategory(category.trim());
+        if (priority != null) {
+            rule.setPriority(priority);
+        }
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+        return saved;
+    }
+
+    public List<CategoryRule> getUserRules(Long userId) {
+        return categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(userId);
+    }
+
+    @Transactional
+    public void deleteRule(Long ruleId, Long userId) {
+        CategoryRule rule = categoryRuleRepository.findByIdAndUserId(ruleId, userId)
+            .orElseThrow(() -> new IllegalArgumentException("Category rule not found"));
+        categoryRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(CategoryRulesChangedEvent event) {
+        if (event.userId() != null) {
+            invalidateUser(event.userId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateUser(Long userId) {
+        generation.incrementAndGet();
+        String prefix = userId + ":";
+        categorizers.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        categorizers.clear();
+    }
+
+    private KeywordCategorizer categorizerFor(Long userId, String institution) {
+        String normalizedInstitution = institution == null ? "" : institution.trim().toLowerCase();
+        String key = userId + ":" + normalizedInstitution;
+
+        KeywordCategorizer cached = categorizers.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = generation.get();
+        KeywordCategorizer categorizer = build(userId, normalizedInstitution);
+        if (categorizers.size() >= MAX_CACHED_CATEGORIZERS) {
+            categorizers.clear();
+        }
+        categorizers.put(key, categorizer);
+        // Built from rules an invalidation has since replaced: use it this once, but don't keep it.
+        // Rule changes are rare, so a shared generation costs at most an extra rebuild.
+        if (generation.get() != stamp) {
+            categorizers.remove(key, categorizer);
+        }
+        return categorizer;
+    }
+
+    private KeywordCategorizer build(Long userId, String institution) {
+        List<KeywordCategorizer.Rule> rules = new ArrayList<>();
+
+        if (userId != null) {
+            for (CategoryRule rule : categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(userId)) {
+                if (rule.getInstitution() == null || rule.getInstitution().equalsIgnoreCase(institution)) {
+                    rules.add(toRule(rule));
+                }
+            }
+        }
+        if (!institution.isEmpty()) {
+            for (CategoryRule rule : categoryRuleRepository.findByUserIdIsNullAndInstitutionIgnoreCaseOrderByPriorityAscIdAsc(institution)) {
+                rules.add(toRule(rule));
+            }
+        }
+
+        if (rules.isEmpty()) {
+            return KeywordCategorizer.defaults();
+        }
+        rules.addAll(KeywordCategorizer.DEFAULT_RULES);
+        return new KeywordCategorizer(rules);
+    }
+
+    private KeywordCategorizer.Rule toRule(CategoryRule rule) {
+        return new KeywordCategorizer.Rule(rule.getKeyword(), rule.getCategory(), rule.getExcludeKeyword());
+    }
+}
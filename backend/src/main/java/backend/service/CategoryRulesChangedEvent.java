@@ -0,0 +1,4 @@
+package backend.service;
+
+/** Published after a user's category rules change; userId is null for institution-wide rules. */
+public record CategoryRulesChangedEvent(Long userId) {}
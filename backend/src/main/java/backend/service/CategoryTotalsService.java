@@ -0,0 +1,165 @@
+package backend.service;
+
+import backend.entity.CategoryMonthTotal;
+import backend.entity.Transaction;
+import backend.repository.CategoryMonthTotalRepository;
+import backend.repository.CategoryMonthTotalRepository.CategorySpending;
+import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.DailyCategoryTotal;
+import backend.repository.TransactionRepository.MonthlyCategoryTotal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains category_month_totals, the per-user running totals by month, category and type that
+ * budget spending is read from. Transaction writes pass their changes here in the same database
+ * transaction, so the totals move with the rows; each change is an atomic in-database upsert.
+ * Every change publishes a TransactionsChangedEvent for the users whose totals moved.
+ */
+@Service
+public class CategoryTotalsService {
+
+    private final CategoryMonthTotalRepository categoryMonthTotalRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public CategoryTotalsService(CategoryMonthTotalRepository categoryMonthTotalRepository,
+                                 TransactionRepository transactionRepository,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.categoryMonthTotalRepository = categoryMonthTotalRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Net change to the totals from a set of transaction writes. For an update, remove the row
+     * before changing it and add it afterwards; changes that cancel out write nothing.
+     */
+    public static class Delta {
+        private final Map<Key, Change> changes = new LinkedHashMap<>();
+
+        public Delta add(Transaction transaction) {
+            return merge(transaction, 1);
+        }
+
+        public Delta addAll(Collection<Transaction> transactions) {
+            transactions.forEach(this::add);
+            return this;
+        }
+
+        public Delta remove(Transaction transaction) {
+            return merge(transaction, -1);
+        }
+
+        public Delta removeAll(Collection<Transaction> transactions) {
+            transactions.forEach(this::remove);
+            return this;
+        }
+
+        private Delta merge(Transaction transaction, int sign) {
+            if (transaction == null || transaction.getUserId() == null || transaction.getTransactionDate() == null
+                    || transaction.getCategory() == null || transaction.getType() == null || transaction.getAmount() == null) {
+                return this;
+            }
+            Key key = new Key(transaction.getUserId(), YearMonth.from(transaction.getTransactionDate()).toString(),
+                transaction.getCategory(), transaction.getType().toLowerCase());
+            Change change = changes.computeIfAbsent(key, k -> new Change());
+            change.amount = sign > 0 ? change.amount.add(transaction.getAmount()) : change.amount.subtract(transaction.getAmount());
+            change.count += sign;
+            return this;
+        }
+    }
+
+    private record Key(Long userId, String yearMonth, String category, String type) {}
+
+    private static class Change {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    /** Adds new rows to the totals. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<Transaction> transactions) {
+        apply(new Delta().addAll(transactions));
+    }
+
+    /** Takes deleted rows out of the totals. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Collection<Transaction> transactions) {
+        apply(new Delta().removeAll(transactions));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Delta delta) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> changedUsers = new LinkedHashSet<>();
+        for (Map.Entry<Key, Change> entry : delta.changes.entrySet()) {
+            Key key = entry.getKey();
+            Change change = entry.getValue();
+            if (change.isZero()) {
+                continue;
+            }
+            changedUsers.add(key.userId());
+            categoryMonthTotalRepository.addToTotal(
+                key.userId(), key.yearMonth(), key.category(), key.type(), change.amount, change.count, now);
+        }
+        changedUsers.forEach(userId -> eventPublisher.publishEvent(new TransactionsChangedEvent(userId)));
+    }
+
+    /**
+     * Outgoing month-to-date and year-to-date totals for month, one row per lower-cased category,
+     * summed by the database.
+     */
+    public List<CategorySpending> getSpending(Long userId, YearMonth month) {
+        return categoryMonthTotalRepository.findCategorySpending(userId, month.withMonth(1).toString(), month.toString());
+    }
+
+    /**
+     * Outgoing totals per lower-cased category and day for start inclusive to end exclusive, for
+     * periods that do not line up with months. Read from the transactions in one range scan.
+     */
+    public List<DailyCategoryTotal> getDailySpending(Long userId, LocalDate start, LocalDate end) {
+        return transactionRepository.findDailyCategorySpending(userId, start, end);
+    }
+
+    /** Recomputes a user's totals from their transactions, e.g. after a bulk change made outside the services. */
+    @Transactional
+    public void rebuild(Long userId) {
+        categoryMonthTotalRepository.deleteByUserId(userId);
+        Map<Key, CategoryMonthTotal> totals = new LinkedHashMap<>();
+        for (MonthlyCategoryTotal row : transactionRepository.findMonthlyCategoryTotals(userId)) {
+            if (row.getCategory() == null || row.getType() == null) {
+                continue;
+            }
+            Key key = new Key(userId, YearMonth.of(row.getTransactionYear(), row.getTransactionMonth()).toString(),
+                row.getCategory(), row.getType().toLowerCase());
+            BigDecimal amount = Objects.requireNonNullElse(row.getTotal(), BigDecimal.ZERO);
+            CategoryMonthTotal total = totals.computeIfAbsent(key, k -> new CategoryMonthTotal(
+                userId, k.yearMonth(), k.category(), k.type(), BigDecimal.ZERO, 0L));
+            total.setTotal(total.getTotal().add(amount));
+            total.setTransactionCount(total.getTransactionCount() + row.getCount());
+        }
+        categoryMonthTotalRepository.saveAll(totals.values());
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId));
+    }
+}
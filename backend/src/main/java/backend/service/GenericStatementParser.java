@@ -0,0 +1,181 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Layout-independent fallback: any line with a date and an amount that is not a header or footer
+ * becomes a transaction. Used for statements no registered StatementParser recognises.
+ * Each line is parsed on its own, which lets PDFParserService feed it lines during extraction.
+ */
+@Component
+public class GenericStatementParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenericStatementParser.class);
+
+    private static final Pattern[] LINE_DATE_PATTERNS = {
+        Pattern.compile("(\\d{1,2}[/\\-]\\d{1,2}[/\\-]\\d{2,4})"),
+        Pattern.compile("(\\d{1,2}[/\\-]\\d{1,2})"),
+        Pattern.compile("(\\d{1,2})\\s+(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\w*\\s+(\\d{2,4})?"),
+        Pattern.compile("(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\w*\\s+(\\d{1,2}),?\\s+(\\d{4})?")
+    };
+    private static final Pattern LINE_AMOUNT = Pattern.compile("\\$?([\\d,]+\\.\\d{2})");
+    private static final Pattern DESC_NUMERIC_DATE = Pattern.compile("\\d{1,2}[/\\-]\\d{1,2}([/\\-]\\d{2,4})?");
+    private static final Pattern DESC_TEXT_DATE = Pattern.compile("\\d{1,2}\\s+(Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)\\w*(\\s+\\d{2,4})?");
+    private static final Pattern DESC_AMOUNT = Pattern.compile("\\$?[\\d,]+\\.\\d{2}");
+    private static final Pattern DESC_TYPE_SUFFIX = Pattern.compile("\\s+(Debit|Credit|Withdrawal|Deposit)\\s*$");
+    private static final Pattern NEGATIVE_AMOUNT = Pattern.compile("-\\s*\\d+\\.\\d{2}");
+
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        logger.debug("Using generic smart parser");
+        
+        for (String line : StatementParsing.LINE_BREAK.split(text)) {
+            ParsedTransaction txn = parseLine(line, year);
+            if (txn != null) {
+                transactions.add(txn);
+            }
+        }
+        
+        logger.debug("Generic parser extracted {} transactions", transactions.size());
+        return transactions;
+    }
+    
+    /** The transaction on a single statement line, or null if the line is not one. */
+    public ParsedTransaction parseLine(String line, int year) {
+        line = line.trim();
+        if (line.isEmpty()) return null;
+        
+        // One scan classifies date, amount and header/footer keywords together
+        StatementLineScanner.LineFeatures features = StatementLineScanner.scan(line);
+        
+        // Skip obvious header/footer lines
+        if (features.isHeaderOrFooter()) return null;
+        
+        // Must contain: date + amount
+        if (!features.hasDate() || !features.hasAmount()) return null;
+        
+        return parseTransactionLine(line, year);
+    }
+    
+    private ParsedTransaction parseTransactionLine(String line, int year) {
+        // Extract date
+        LocalDate date = extractDateFromLine(line, year);
+        if (date == null) return null;
+        
+        // Extract amounts
+        List<BigDecimal> amounts = extractAmountsFromLine(line);
+        if (amounts.isEmpty()) return null;
+        
+        // Determine transaction amount (first amount that's not a balance)
+        BigDecimal amount = amounts.get(0);
+        
+        // Extract description (everything between date and amounts)
+        String description = extractDescriptionFromLine(line);
+        
+        // Determine type (in/out)
+        String type = determineTransactionType(line, description);
+        
+        if (amount.compareTo(BigDecimal.ZERO) > 0) {
+            return new ParsedTransaction(date, description, amount, type);
+        }
+        
+        return null;
+    }
+    
+    private LocalDate extractDateFromLine(String line, int year) {
+        // Try various date patterns
+        for (Pattern pattern : LINE_DATE_PATTERNS) {
+            Matcher matcher = pattern.matcher(line);
+            if (matcher.find()) {
+                String dateStr = matcher.group(0);
+                LocalDate parsed = StatementParsing.parseDate(dateStr, year);
+                if (parsed != null) {
+                    return parsed;
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    private List<BigDecimal> extractAmountsFromLine(String line) {
+        List<BigDecimal> amounts = new ArrayList<>();
+        
+        // Pattern for currency amounts
+        Matcher matcher = LINE_AMOUNT.matcher(line);
+        
+        while (matcher.find()) {
+            String amountStr = matcher.group(1).replace(",", "");
+            try {
+                BigDecimal amount = new BigDecimal(amountStr);
+                amounts.add(amount);
+            } catch (NumberFormatException e) {
+                // Skip invalid amounts
+            }
+        }
+        
+        return amounts;
+    }
+    
+    private String extractDescriptionFromLine(String line) {
+        // Remove date
+        line = DESC_NUMERIC_DATE.matcher(line).replaceAll("");
+        line = DESC_TEXT_DATE.matcher(line).replaceAll("");
+        
+        // Remove amounts
+        line = DESC_AMOUNT.matcher(line).replaceAll("");
+        
+        // Remove common suffixes
+        line = DESC_TYPE_SUFFIX.matcher(line).replaceAll("");
+        
+        // Clean up
+        line = line.trim();
+        line = StatementParsing.MULTI_SPACE.matcher(line).replaceAll(" ");
+        
+        return line.isEmpty() ? "Transaction" : line;
+    }
+    
+    private String determineTransactionType(String line, String description) {
+        String lower = (line + " " + description).toLowerCase();
+        
+        // Check for income indicators
+        if (lower.contains("deposit") ||
+            lower.contains("credit") ||
+            lower.contains("payment received") ||
+            lower.contains("refund") ||
+            lower.contains("interest") ||
+            lower.contains("dividend") ||
+            lower.contains("salary") ||
+            lower.contains("paycheck")) {
+            return "in";
+        }
+        
+        // Check for expense indicators (more common)
+        if (lower.contains("withdrawal") ||
+            lower.contains("debit") ||
+            lower.contains("purchase") ||
+            lower.contains("payment") ||
+            lower.contains("fee") ||
+            lower.contains("check")) {
+            return "out";
+        }
+        
+        // Check for negative sign
+        if (line.contains("-$") || NEGATIVE_AMOUNT.matcher(line).find()) {
+            return "out";
+        }
+        
+        // Default to expense
+        return "out";
+    }
+}
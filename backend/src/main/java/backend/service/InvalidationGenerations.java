@@ -0,0 +1,44 @@
+package backend.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-key invalidation record for caches that must not store a value computed from data an
+ * invalidation has since replaced. Writers take stamp() before reading the data; isStale then
+ * reports whether that key, and only that key, was invalidated since, so one user's writes never
+ * cost another user their cache fill. The newest maxRecords invalidations are kept; a stamp older
+ * than a forgotten one counts as stale, which at worst skips a fill.
+ * Not thread-safe: the owning cache guards it with its own lock.
+ */
+final class InvalidationGenerations<K> {
+
+    private final int maxRecords;
+    private final LinkedHashMap<K, Long> invalidatedAt = new LinkedHashMap<>(); // oldest generation first
+    private long generation;
+    private long forgottenUpTo;
+
+    InvalidationGenerations(int maxRecords) {
+        this.maxRecords = Math.max(1, maxRecords);
+    }
+
+    long stamp() {
+        return generation;
+    }
+
+    void invalidate(K key) {
+        generation++;
+        invalidatedAt.remove(key);
+        invalidatedAt.put(key, generation);
+        Iterator<Map.Entry<K, Long>> eldest = invalidatedAt.entrySet().iterator();
+        while (invalidatedAt.size() > maxRecords && eldest.hasNext()) {
+            forgottenUpTo = eldest.next().getValue();
+            eldest.remove();
+        }
+    }
+
+    boolean isStale(K key, long stamp) {
+        return stamp < forgottenUpTo || invalidatedAt.getOrDefault(key, 0L) > stamp;
+    }
+}
@@ -0,0 +1,317 @@
+package backend.service;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick keyword automaton mapping transaction descriptions to categories.
+ * Rules are matched case-insensitively as substrings; when several match, the rule that appears
+ * first in the rule list wins, so list order is the precedence order. Instances are immutable and
+ * thread-safe, and classify a description in a single pass over its characters.
+ */
+public final class KeywordCategorizer {
+
+    public static final String DEFAULT_CATEGORY = "Other";
+
+    public static final class Rule {
+        public final String keyword;
+        public final String category;
+        public final String excludeKeyword;
+
+        public Rule(String keyword, String category) {
+            this(keyword, category, null);
+        }
+
+        /** Matches when keyword occurs and excludeKeyword (if set) does not occur anywhere in the description. */
+        public Rule(String keyword, String category, String excludeKeyword) {
+            if (keyword == null || keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keyword is required");
+            }
+            if (category == null || category.isBlank()) {
+                throw new IllegalArgumentException("Category is required");
+            }
+            this.keyword = keyword.toLowerCase();
+            this.category = category;
+            this.excludeKeyword = excludeKeyword == null || excludeKeyword.isEmpty() ? null : excludeKeyword.toLowerCase();
+        }
+    }
+
+    /** Built-in rule table, in precedence order. */
+    public static final List<Rule> DEFAULT_RULES = List.of(
+        new Rule("salary", "Income"),
+        new Rule("paycheck", "Income"),
+        new Rule("direct deposit", "Income"),
+        new Rule("payroll", "Income"),
+        new Rule("ach deposit", "Income"),
+        new Rule("pay from", "Income"),
+
+        new Rule("transfer in", "Transfer"),
+        new Rule("deposit", "Transfer", "direct"),
+
+        new Rule("interest", "Interest"),
+        new Rule("dividend", "Interest"),
+
+        new Rule("grocery", "Groceries"),
+        new Rule("supermarket", "Groceries"),
+        new Rule("food store", "Groceries"),
+        new Rule("kroger", "Groceries"),
+        new Rule("safeway", "Groceries"),
+        new Rule("whole foods", "Groceries"),
+
+        new Rule("restaurant", "Dining"),
+        new Rule("dining", "Dining"),
+        new Rule("coffee", "Dining"),
+        new Rule("cafe", "Dining"),
+        new Rule("pizza", "Dining"),
+        new Rule("mcdonald", "Dining"),
+        new Rule("subway", "Dining"),
+        new Rule("starbucks", "Dining"),
+
+        new Rule("gas", "Gas"),
+        new Rule("fuel", "Gas"),
+        new Rule("exxon", "Gas"),
+        new Rule("shell", "Gas"),
+        new Rule("chevron", "Gas"),
+        new Rule("petrol", "Gas"),
+        new Rule("bp ", "Gas"),
+        new Rule("mobil", "Gas"),
+
+        new Rule("amazon", "Shopping"),
+        new Rule("walmart", "Shopping"),
+        new Rule("target", "Shopping"),
+        new Rule("purchase", "Shopping"),
+        new Rule("ebay", "Shopping"),
+        new Rule("best buy", "Shopping"),
+
+        new Rule("utility", "Utilities"),
+        new Rule("electric", "Utilities"),
+        new Rule("water", "Utilities"),
+        new Rule("internet", "Utilities"),
+        new Rule("phone", "Utilities"),
+        new Rule("mobile", "Utilities"),
+        new Rule("verizon", "Utilities"),
+        new Rule("att", "Utilities"),
+        new Rule("comcast", "Utilities"),
+
+        new Rule("rent", "Housing"),
+        new Rule("mortgage", "Housing"),
+        new Rule("housing", "Housing"),
+        new Rule("property", "Housing"),
+
+        new Rule("insurance", "Insurance"),
+        new Rule("geico", "Insurance"),
+        new Rule("state farm", "Insurance"),
+
+        new Rule("atm", "Cash Withdrawal"),
+        new Rule("withdrawal", "Cash Withdrawal"),
+        new Rule("cash", "Cash Withdrawal"),
+
+        new Rule("check", "Check"),
+        new Rule("cheque", "Check"),
+
+        new Rule("fee", "Fees"),
+        new Rule("charge", "Fees"),
+        new Rule("service", "Fees"),
+
+        new Rule("transfer out", "Transfer"),
+
+        new Rule("healthcare", "Healthcare"),
+        new Rule("medical", "Healthcare"),
+        new Rule("doctor", "Healthcare"),
+        new Rule("pharmacy", "Healthcare"),
+        new Rule("cvs", "Healthcare"),
+        new Rule("walgreens", "Healthcare"),
+
+        new Rule("entertainment", "Entertainment"),
+        new Rule("netflix", "Entertainment"),
+        new Rule("spotify", "Entertainment"),
+        new Rule("hulu", "Entertainment"),
+        new Rule("movie", "Entertainment"),
+        new Rule("theater", "Entertainment")
+    );
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    // Declared after the constants the constructor relies on
+    private static final KeywordCategorizer DEFAULTS = new KeywordCategorizer(DEFAULT_RULES);
+
+    private final Rule[] rules;
+    private final int[] ruleExcludeIds;   // keyword id of each rule's exclusion, or -1
+    private final int[][] rulesByKeyword; // rule indices (ascending) triggered by each keyword id
+    private final int keywordCount;
+
+    private final int[] asciiSymbols;
+    private final Map<Character, Integer> otherSymbols;
+    private final int[][] transitions;    // [state][symbol] -> state
+    private final int[][] outputs;        // [state] -> keyword ids ending here, including via failure links
+
+    public KeywordCategorizer(List<Rule> ruleList) {
+        this.rules = ruleList.toArray(new Rule[0]);
+
+        // Distinct keywords (rule keywords and exclusions share one automaton)
+        Map<String, Integer> keywordIds = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            keywordIds.putIfAbsent(rule.keyword, keywordIds.size());
+            if (rule.excludeKeyword != null) {
+                keywordIds.putIfAbsent(rule.excludeKeyword, keywordIds.size());
+            }
+        }
+        this.keywordCount = keywordIds.size();
+
+        this.ruleExcludeIds = new int[rules.length];
+        List<List<Integer>> byKeyword = new ArrayList<>();
+        for (int i = 0; i < keywordCount; i++) {
+            byKeyword.add(new ArrayList<>());
+        }
+        for (int i = 0; i < rules.length; i++) {
+            byKeyword.get(keywordIds.get(rules[i].keyword)).add(i);
+            ruleExcludeIds[i] = rules[i].excludeKeyword != null ? keywordIds.get(rules[i].excludeKeyword) : -1;
+        }
+        this.rulesByKeyword = new int[keywordCount][];
+        for (int i = 0; i < keywordCount; i++) {
+            rulesByKeyword[i] = byKeyword.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Alphabet: only characters that occur in some keyword get a symbol
+        this.asciiSymbols = new int[128];
+        Arrays.fill(asciiSymbols, -1);
+        this.otherSymbols = new HashMap<>();
+        int symbolCount = 0;
+        for (String keyword : keywordIds.keySet()) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (symbolOf(c) < 0) {
+                    if (c < 128) {
+                        asciiSymbols[c] = symbolCount++;
+                    } else {
+                        otherSymbols.put(c, symbolCount++);
+                    }
+                }
+            }
+        }
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newState(symbolCount));
+        trieOutputs.add(new ArrayList<>());
+        for (Map.Entry<String, Integer> entry : keywordIds.entrySet()) {
+            int state = 0;
+            String keyword = entry.getKey();
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = symbolOf(keyword.charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState(symbolCount));
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            trieOutputs.get(state).add(entry.getValue());
+        }
+
+        // Failure links, folded into a full transition table (breadth-first)
+        int stateCount = trie.size();
+        int[] failure = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (root[symbol] < 0) {
+                root[symbol] = 0;
+            } else {
+                failure[root[symbol]] = 0;
+                queue.add(root[symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            trieOutputs.get(state).addAll(trieOutputs.get(failure[state]));
+            int[] row = trie.get(state);
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = row[symbol];
+                if (next < 0) {
+                    row[symbol] = trie.get(failure[state])[symbol];
+                } else {
+                    failure[next] = trie.get(failure[state])[symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = new int[stateCount][];
+        for (int i = 0; i < stateCount; i++) {
+            List<Integer> out = trieOutputs.get(i);
+            outputs[i] = out.isEmpty() ? NO_MATCHES : out.stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+    }
+
+    public static KeywordCategorizer defaults() {
+        return DEFAULTS;
+    }
+
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    /** Category of the highest-precedence matching rule, or {@link #DEFAULT_CATEGORY}. */
+    public String categorize(String description) {
+        if (description == null || description.isEmpty() || rules.length == 0) {
+            return DEFAULT_CATEGORY;
+        }
+
+        long[] matched = new long[(keywordCount + 63) >>> 6];
+        int best = Integer.MAX_VALUE;
+        boolean hasExclusionCandidates = false;
+
+        int state = 0;
+        for (int i = 0; i < description.length(); i++) {
+            int symbol = symbolOf(Character.toLowerCase(description.charAt(i)));
+            state = symbol < 0 ? 0 : transitions[state][symbol];
+
+            for (int keywordId : outputs[state]) {
+                matched[keywordId >>> 6] |= 1L << keywordId;
+                for (int ruleIndex : rulesByKeyword[keywordId]) {
+                    if (ruleExcludeIds[ruleIndex] >= 0) {
+                        hasExclusionCandidates = true;
+                    } else if (ruleIndex < best) {
+                        best = ruleIndex;
+                    }
+                }
+            }
+        }
+
+        // Rules with an exclusion can only be decided once the whole description is seen
+        if (hasExclusionCandidates) {
+            for (int keywordId = 0; keywordId < keywordCount; keywordId++) {
+                if (!isSet(matched, keywordId)) continue;
+                for (int ruleIndex : rulesByKeyword[keywordId]) {
+                    if (ruleIndex >= best) break;
+                    int excludeId = ruleExcludeIds[ruleIndex];
+                    if (excludeId >= 0 && !isSet(matched, excludeId)) {
+                        best = ruleIndex;
+                    }
+                }
+            }
+        }
+
+        return best == Integer.MAX_VALUE ? DEFAULT_CATEGORY : rules[best].category;
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol != null ? symbol : -1;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static int[] newState(int symbolCount) {
+        int[] row = new int[symbolCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,100 @@
+package backend.service;
+
+import backend.service.MerchantNormalizer.Merchant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Derives merchant_key for transactions saved before the column existed, so merchant grouping covers
+ * a user's whole history. Keys come from MerchantNormalizer, which SQL cannot reproduce, so this runs
+ * in the application once it is up: rows are walked in id order in batches, and only rows still
+ * without a key are updated. After the first run it finds nothing and costs a single query.
+ */
+@Component
+public class MerchantKeyBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerchantKeyBackfill.class);
+
+    private static final String SELECT_SQL =
+        "SELECT id, merchant FROM transactions " +
+        "WHERE merchant_key IS NULL AND merchant IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL =
+        "UPDATE transactions SET merchant_key = ? WHERE id = ? AND merchant_key IS NULL";
+
+    private record Row(long id, String merchant) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MerchantNormalizationService merchantNormalizationService;
+    private final boolean enabled;
+    private final int batchSize;
+
+    @Autowired
+    public MerchantKeyBackfill(
+        JdbcTemplate jdbcTemplate,
+        MerchantNormalizationService merchantNormalizationService,
+        @Value("${merchant.backfill.enabled:true}") boolean enabled,
+        @Value("${merchant.backfill.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.merchantNormalizationService = merchantNormalizationService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int updated = backfill();
+            if (updated > 0) {
+                logger.info("Backfilled merchant keys for {} transactions", updated);
+            }
+        } catch (RuntimeException e) {
+            // Grouping stays incomplete until the next start; it must not keep the app from serving
+            logger.warn("Merchant key backfill failed: {}", e.getMessage());
+        }
+    }
+
+    /** Fills in merchant_key wherever a merchant is set without one; returns the rows updated. */
+    public int backfill() {
+        int updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Row> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("merchant")), lastId, batchSize);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+
+            List<Object[]> keys = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                Merchant merchant = merchantNormalizationService.normalize(row.merchant());
+                if (merchant != null) {
+                    keys.add(new Object[] { merchant.key, row.id() });
+                }
+            }
+            if (!keys.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, keys)) {
+                    updated += Math.max(count, 0);
+                }
+            }
+
+            // Rows whose merchant has no key stay null; the id cursor keeps them from being read again
+            lastId = rows.get(rows.size() - 1).id();
+            if (rows.size() < batchSize) {
+                return updated;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package backend.service;
+
+import backend.entity.Transaction;
+import backend.service.MerchantNormalizer.Merchant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Merchant normalization for imports and manual entry, with an LRU cache of recent raw-to-merchant
+ * lookups: statement rows repeat the same few merchants, so most rows skip the tries entirely.
+ * Every saved transaction gets a merchant key, which is what merchant grouping queries use.
+ */
+@Service
+public class MerchantNormalizationService {
+
+    private final MerchantNormalizer normalizer;
+    private final int maxEntries;
+    private final Map<String, Merchant> cache; // guarded by itself
+
+    public MerchantNormalizationService() {
+        this(10_000);
+    }
+
+    @Autowired
+    public MerchantNormalizationService(@Value("${merchant.cache.max-entries:10000}") int maxEntries) {
+        this.normalizer = MerchantNormalizer.defaults();
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Merchant> eldest) {
+                return size() > MerchantNormalizationService.this.maxEntries;
+            }
+        };
+    }
+
+    /** Display name and grouping key for raw merchant text, or null if it has no text. */
+    public Merchant normalize(String raw) {
+        if (raw == null || raw.isBlank() || maxEntries <= 0) {
+            return normalizer.normalize(raw);
+        }
+        synchronized (cache) {
+            Merchant cached = cache.get(raw);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Merchant merchant = normalizer.normalize(raw);
+        synchronized (cache) {
+            cache.put(raw, merchant);
+        }
+        return merchant;
+    }
+
+    /** Imported rows carry bank text, so their merchant is replaced by the normalized name. */
+    public void applyImported(Transaction transaction) {
+        Merchant merchant = normalize(transaction.getMerchant());
+        transaction.setMerchant(merchant == null ? transaction.getMerchant() : merchant.name);
+        transaction.setMerchantKey(merchant == null ? null : merchant.key);
+    }
+
+    /** Manually entered merchants are kept as typed; only the grouping key is derived. */
+    public void applyEntered(Transaction transaction) {
+        Merchant merchant = normalize(transaction.getMerchant());
+        transaction.setMerchantKey(merchant == null ? null : merchant.key);
+    }
+
+    int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
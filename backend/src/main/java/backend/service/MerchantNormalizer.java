@@ -0,0 +1,262 @@
+package backend.service;
+
+import java.util.*;
+
+/**
+ * Turns raw statement text such as "DEBIT CARD PURCHASE - STARBUCKS STORE 1234 VISA" into a
+ * merchant name for display and a key for grouping ("Starbucks" / "starbucks").
+ * Processor prefixes are stripped with a character trie, then the leading words are looked up in
+ * a trie of known merchant aliases; unknown merchants are cut at the first card word, store number
+ * or separator, and their key drops trailing words like "store" or "inc". Instances are immutable
+ * and thread-safe; MerchantNormalizationService adds a cache of recent lookups in front.
+ */
+public final class MerchantNormalizer {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    /** Leading text that names the payment channel rather than the merchant. */
+    public static final List<String> DEFAULT_PREFIXES = List.of(
+        "debit card purchase", "debit purchase", "credit card", "purchase", "payment to", "transfer to",
+        "from", "pos purchase", "card payment", "online payment", "mobile payment",
+        "pos", "sq *", "tst*", "pp*", "paypal *"
+    );
+
+    /** Known merchants by alias; aliases are matched as whole leading words, longest first. */
+    public static final Map<String, String> DEFAULT_MERCHANTS = defaultMerchants();
+
+    private static final Set<String> CARD_WORDS = Set.of("visa", "mastercard", "debit", "credit", "card");
+    private static final Set<String> TRAILING_NOISE = Set.of("store", "inc", "llc", "ltd", "co", "corp");
+
+    private static final MerchantNormalizer DEFAULTS = new MerchantNormalizer(DEFAULT_PREFIXES, DEFAULT_MERCHANTS);
+
+    public static final class Merchant {
+        public final String name;
+        public final String key;
+
+        Merchant(String name, String key) {
+            this.name = name;
+            this.key = key;
+        }
+    }
+
+    private static final class PrefixNode {
+        final Map<Character, PrefixNode> children = new HashMap<>();
+        boolean terminal;
+    }
+
+    private static final class AliasNode {
+        final Map<String, AliasNode> children = new HashMap<>();
+        Merchant merchant;
+    }
+
+    private final PrefixNode prefixes = new PrefixNode();
+    private final AliasNode aliases = new AliasNode();
+
+    public MerchantNormalizer(List<String> prefixes, Map<String, String> merchants) {
+        for (String prefix : prefixes) {
+            if (prefix == null || prefix.isBlank()) {
+                throw new IllegalArgumentException("Prefix is required");
+            }
+            PrefixNode node = this.prefixes;
+            for (char c : prefix.toLowerCase().toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new PrefixNode());
+            }
+            node.terminal = true;
+        }
+        for (Map.Entry<String, String> entry : merchants.entrySet()) {
+            List<String> aliasTokens = tokens(entry.getKey());
+            if (aliasTokens.isEmpty() || entry.getValue() == null || entry.getValue().isBlank()) {
+                throw new IllegalArgumentException("Merchant alias and name are required");
+            }
+            AliasNode node = aliases;
+            for (String token : aliasTokens) {
+                node = node.children.computeIfAbsent(token, k -> new AliasNode());
+            }
+            node.merchant = new Merchant(entry.getValue(), key(tokens(entry.getValue())));
+        }
+    }
+
+    public static MerchantNormalizer defaults() {
+        return DEFAULTS;
+    }
+
+    /** Display name and grouping key for a raw description or merchant, or null if it has no text. */
+    public Merchant normalize(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        String text = raw.strip();
+        text = text.substring(prefixEnd(text));
+
+        Merchant known = lookup(tokens(text));
+        if (known != null) {
+            return known;
+        }
+
+        String name = collapseSpaces(text.substring(0, cutPoint(text)));
+        if (name.isEmpty()) {
+            name = collapseSpaces(text.isEmpty() ? raw.strip() : text);
+        }
+        List<String> keyTokens = tokens(name);
+        while (keyTokens.size() > 1 && TRAILING_NOISE.contains(keyTokens.get(keyTokens.size() - 1))) {
+            keyTokens.remove(keyTokens.size() - 1);
+        }
+        return new Merchant(name, keyTokens.isEmpty() ? null : key(keyTokens));
+    }
+
+    /** End of the longest channel prefix that ends on a word boundary, plus any " - " after it. */
+    private int prefixEnd(String text) {
+        int end = 0;
+        PrefixNode node = prefixes;
+        for (int i = 0; i < text.length(); i++) {
+            node = node.children.get(Character.toLowerCase(text.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal && (!Character.isLetterOrDigit(text.charAt(i)) || i + 1 == text.length()
+                    || !Character.isLetterOrDigit(text.charAt(i + 1)))) {
+                end = i + 1;
+            }
+        }
+        if (end == 0) {
+            return 0;
+        }
+        end = skipSpaces(text, end);
+        if (end < text.length() && text.charAt(end) == '-') {
+            end = skipSpaces(text, end + 1);
+        }
+        return end;
+    }
+
+    private Merchant lookup(List<String> tokens) {
+        Merchant found = null;
+        AliasNode node = aliases;
+        for (String token : tokens) {
+            node = node.children.get(token);
+            if (node == null) {
+                break;
+            }
+            if (node.merchant != null) {
+                found = node.merchant;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Where the merchant name ends: before a card word, a number of four or more digits, "#123" or
+     * "*1234" that follows a space, and in any case at the first '-', '#' or '*'.
+     */
+    private static int cutPoint(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '-' || c == '#' || c == '*') {
+                return i;
+            }
+            if (Character.isWhitespace(c) && i > 0) {
+                int word = skipSpaces(text, i);
+                if (word < length && startsSuffix(text, word)) {
+                    return i;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static boolean startsSuffix(String text, int at) {
+        int digits = 0;
+        while (at + digits < text.length() && Character.isDigit(text.charAt(at + digits))) {
+            digits++;
+        }
+        if (digits >= 4) {
+            return true;
+        }
+        int end = at;
+        while (end < text.length() && Character.isLetter(text.charAt(end))) {
+            end++;
+        }
+        return end > at && CARD_WORDS.contains(text.substring(at, end).toLowerCase());
+    }
+
+    private static int skipSpaces(String text, int at) {
+        while (at < text.length() && Character.isWhitespace(text.charAt(at))) {
+            at++;
+        }
+        return at;
+    }
+
+    /** Lower-case letter and digit runs; apostrophes inside a word are dropped ("McDonald's" is one token). */
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (c != '\'' || token.length() == 0) {
+                if (token.length() > 0) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static String key(List<String> tokens) {
+        String key = String.join(" ", tokens);
+        return key.length() <= MAX_KEY_LENGTH ? key : key.substring(0, MAX_KEY_LENGTH).strip();
+    }
+
+    private static String collapseSpaces(String text) {
+        return StatementParsing.MULTI_SPACE.matcher(text.strip()).replaceAll(" ");
+    }
+
+    private static Map<String, String> defaultMerchants() {
+        Map<String, String> merchants = new LinkedHashMap<>();
+        merchants.put("starbucks", "Starbucks");
+        merchants.put("amazon", "Amazon");
+        merchants.put("amzn", "Amazon");
+        merchants.put("amazon prime", "Amazon Prime");
+        merchants.put("amzn prime", "Amazon Prime");
+        merchants.put("walmart", "Walmart");
+        merchants.put("wal mart", "Walmart");
+        merchants.put("wm supercenter", "Walmart");
+        merchants.put("target", "Target");
+        merchants.put("costco", "Costco");
+        merchants.put("whole foods", "Whole Foods");
+        merchants.put("wholefds", "Whole Foods");
+        merchants.put("trader joe's", "Trader Joe's");
+        merchants.put("kroger", "Kroger");
+        merchants.put("safeway", "Safeway");
+        merchants.put("mcdonalds", "McDonald's");
+        merchants.put("chipotle", "Chipotle");
+        merchants.put("subway", "Subway");
+        merchants.put("doordash", "DoorDash");
+        merchants.put("dd doordash", "DoorDash");
+        merchants.put("uber", "Uber");
+        merchants.put("uber trip", "Uber");
+        merchants.put("uber eats", "Uber Eats");
+        merchants.put("ubereats", "Uber Eats");
+        merchants.put("lyft", "Lyft");
+        merchants.put("shell", "Shell");
+        merchants.put("shell oil", "Shell");
+        merchants.put("chevron", "Chevron");
+        merchants.put("exxon", "Exxon");
+        merchants.put("exxonmobil", "Exxon");
+        merchants.put("7 eleven", "7-Eleven");
+        merchants.put("netflix", "Netflix");
+        merchants.put("spotify", "Spotify");
+        merchants.put("apple com bill", "Apple");
+        merchants.put("google", "Google");
+        merchants.put("walgreens", "Walgreens");
+        merchants.put("cvs", "CVS");
+        merchants.put("home depot", "Home Depot");
+        merchants.put("the home depot", "Home Depot");
+        return Collections.unmodifiableMap(merchants);
+    }
+}
@@ -0,0 +1,207 @@
+package backend.service;
+
+import java.util.*;
+
+/**
+ * Fixes common OCR misreads in extracted statement text in a single pass.
+ * Word corrections ("Baiance" to "Balance") apply only to whole words, with the same word-boundary
+ * rules as regex \b, and are found by first character so each position costs one table lookup.
+ * Digit fixes turn "1l5" into "1/5" and "1O5" into "105" with the same non-overlapping,
+ * leftmost matching as the regex replacements they replace. Instances are immutable.
+ */
+public final class OcrCorrector {
+
+    /** Built-in word corrections, in precedence order. */
+    public static final Map<String, String> DEFAULT_CORRECTIONS = defaultCorrections();
+
+    private static final OcrCorrector DEFAULTS = new OcrCorrector(DEFAULT_CORRECTIONS);
+
+    private static final class Rule {
+        final String from;
+        final String to;
+
+        Rule(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final Map<String, String> corrections;
+    private final Rule[][] asciiRules = new Rule[128][];
+    private final Map<Character, Rule[]> otherRules = new HashMap<>();
+
+    public OcrCorrector(Map<String, String> corrections) {
+        this.corrections = Collections.unmodifiableMap(new LinkedHashMap<>(corrections));
+
+        Map<Character, List<Rule>> byFirstChar = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : this.corrections.entrySet()) {
+            String from = entry.getKey();
+            if (from == null || from.isEmpty()) {
+                throw new IllegalArgumentException("Correction source text is required");
+            }
+            byFirstChar.computeIfAbsent(from.charAt(0), c -> new ArrayList<>()).add(new Rule(from, entry.getValue()));
+        }
+        for (Map.Entry<Character, List<Rule>> entry : byFirstChar.entrySet()) {
+            Rule[] rules = entry.getValue().toArray(new Rule[0]);
+            char first = entry.getKey();
+            if (first < 128) {
+                asciiRules[first] = rules;
+            } else {
+                otherRules.put(first, rules);
+            }
+        }
+    }
+
+    public static OcrCorrector defaults() {
+        return DEFAULTS;
+    }
+
+    public Map<String, String> getCorrections() {
+        return corrections;
+    }
+
+    /** A corrector with the learned corrections added after the existing ones; a learned entry replaces an existing one. */
+    public OcrCorrector withCorrections(Map<String, String> learned) {
+        Map<String, String> merged = new LinkedHashMap<>(corrections);
+        merged.putAll(learned);
+        return new OcrCorrector(merged);
+    }
+
+    public String correct(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        correct(text, out);
+        return out.toString();
+    }
+
+    /** Appends the corrected text to out. */
+    public void correct(CharSequence text, StringBuilder out) {
+        int length = text.length();
+        int slashResume = 0;  // where "dld" matching resumes after the previous match
+        int zeroResume = 0;   // likewise for "dOd"
+
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            Rule rule = matchWord(text, i, c);
+            if (rule != null) {
+                out.append(rule.to);
+                i += rule.from.length();
+                continue;
+            }
+
+            if (c == 'l' && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                // Leading digits: up to two, not reused from the previous match
+                int start = -1;
+                if (i - 2 >= slashResume && isDigit(text.charAt(i - 2)) && isDigit(text.charAt(i - 1))) {
+                    start = i - 2;
+                } else if (i - 1 >= slashResume && isDigit(text.charAt(i - 1))) {
+                    start = i - 1;
+                }
+                if (start >= 0) {
+                    out.append('/');
+                    slashResume = i + 2 < length && isDigit(text.charAt(i + 2)) ? i + 3 : i + 2;
+                    i++;
+                    continue;
+                }
+            } else if (c == 'O' && i - 1 >= zeroResume && isDigit(text.charAt(i - 1))
+                    && i + 1 < length && isDigit(text.charAt(i + 1))) {
+                out.append('0');
+                zeroResume = i + 2;
+                i++;
+                continue;
+            }
+
+            out.append(c);
+            i++;
+        }
+    }
+
+    private Rule matchWord(CharSequence text, int at, char first) {
+        Rule[] candidates = first < 128 ? asciiRules[first] : otherRules.get(first);
+        if (candidates == null) {
+            return null;
+        }
+        for (Rule rule : candidates) {
+            String from = rule.from;
+            int end = at + from.length();
+            if (end <= text.length()
+                    && regionMatches(text, at, from)
+                    && isBoundary(text, at)
+                    && isBoundary(text, end)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence text, int at, String expected) {
+        for (int j = 1; j < expected.length(); j++) {
+            if (text.charAt(at + j) != expected.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Same test as regex \b: a word character on exactly one side of the position. */
+    private static boolean isBoundary(CharSequence text, int index) {
+        boolean left = index > 0 && isWordBefore(text, index);
+        boolean right = index < text.length() && isWordAt(text, index);
+        return left != right;
+    }
+
+    private static boolean isWordAt(CharSequence text, int index) {
+        int codePoint = Character.codePointAt(text, index);
+        return isWordChar(codePoint) || isMark(codePoint) && hasLetterOrDigitBase(text, index);
+    }
+
+    private static boolean isWordBefore(CharSequence text, int index) {
+        int codePoint = Character.codePointBefore(text, index);
+        return isWordChar(codePoint) || isMark(codePoint) && hasLetterOrDigitBase(text, index - 1);
+    }
+
+    /** Combining marks count as word characters when attached to a letter or digit, as in java.util.regex. */
+    private static boolean hasLetterOrDigitBase(CharSequence text, int markIndex) {
+        for (int i = markIndex; i >= 0; i--) {
+            int codePoint = Character.codePointAt(text, i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                return true;
+            }
+            if (!isMark(codePoint)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMark(int codePoint) {
+        return Character.getType(codePoint) == Character.NON_SPACING_MARK;
+    }
+
+    private static boolean isWordChar(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static Map<String, String> defaultCorrections() {
+        Map<String, String> words = new LinkedHashMap<>();
+        words.put("Acccunt", "Account");
+        words.put("Amcunt", "Amount");
+        words.put("Depcsit", "Deposit");
+        words.put("Descripticn", "Description");
+        words.put("Tctal", "Total");
+        words.put("ca!!!", "call");
+        words.put("N br", "Nbr");
+        words.put("TransactiOn", "Transaction");
+        words.put("Baiance", "Balance");
+        words.put("cn", "on");
+        return Collections.unmodifiableMap(words);
+    }
+}
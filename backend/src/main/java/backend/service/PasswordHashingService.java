@@ -0,0 +1,157 @@
+package backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt hashing and verification on a fixed pool of hashing threads, one per core by default.
+ * BCrypt is pure CPU work, so running more at once only makes each slower; the pool bounds it and a
+ * login storm queues here, in arrival order, instead of taking the CPU from every other endpoint.
+ * A request is refused with HashingBusyException when the queue is full or its hash has not started
+ * within max-wait; hashes abandoned that way are dropped from the queue rather than computed.
+ * Callers wait on request threads, so the queue is sized against the servlet pool: by default a
+ * quarter of it, and never more than half, so a login storm is refused while most request threads
+ * are still free for the other endpoints.
+ */
+@Service
+public class PasswordHashingService {
+
+    public static class HashingBusyException extends RuntimeException {
+        public HashingBusyException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String BUSY_MESSAGE = "Too many sign-in requests right now, please retry shortly";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+
+    private final Counter rejectedCounter;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+
+    @Autowired
+    public PasswordHashingService(
+        BCryptPasswordEncoder passwordEncoder,
+        MeterRegistry meterRegistry,
+        @Value("${security.hashing.concurrency:0}") int concurrency,
+        @Value("${security.hashing.queue-capacity:0}") int queueCapacity,
+        @Value("${security.hashing.max-wait-ms:1000}") long maxWaitMs,
+        @Value("${server.tomcat.threads.max:200}") int servletThreads
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+
+        int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        // Every queued or running hash holds a request thread; keep them to half the servlet pool at most
+        int maxCallers = Math.max(threads + 1, servletThreads / 2);
+        int capacity = queueCapacity > 0 ? queueCapacity : servletThreads / 4;
+        capacity = Math.max(1, Math.min(capacity, maxCallers - threads));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity, true),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("security.hashing.queue.depth", executor, e -> e.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("security.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashes being computed")
+            .register(meterRegistry);
+        int maxWaiting = threads + capacity;
+        Gauge.builder("security.hashing.max-callers", () -> maxWaiting)
+            .description("Request threads that can be waiting on hashing before logins are refused")
+            .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("security.hashing.rejected");
+        this.waitTimer = meterRegistry.timer("security.hashing.wait");
+        this.hashTimer = meterRegistry.timer("security.hashing.duration");
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<Void> started = new CompletableFuture<>();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                started.complete(null);
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new HashingBusyException(BUSY_MESSAGE);
+        }
+
+        try {
+            // Only the wait for a hashing thread is bounded; a started hash is always waited for
+            started.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            return future.get();
+        } catch (TimeoutException e) {
+            if (future.cancel(false)) {
+                rejectedCounter.increment();
+                throw new HashingBusyException(BUSY_MESSAGE);
+            }
+            return await(future);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /** For a hash that started just as the wait ran out. */
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashingBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        // e.g. the encoder's IllegalArgumentException for a null password
+        if (e.getCause() instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Password hashing failed", e.getCause());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
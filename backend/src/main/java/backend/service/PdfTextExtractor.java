@@ -0,0 +1,212 @@
+package backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * PDF text extraction split into page ranges that are stripped in parallel on a fork-join pool.
+ * PDDocument is not thread-safe, so every task opens its own document instance and stripper.
+ * Chunks are handed to the caller strictly in page order, each as soon as it and all earlier
+ * ranges are done; small documents (or a single-thread pool) are stripped on the calling thread.
+ * Documents are read from a spooled file rather than a heap copy, and each open document buffers
+ * at most maxMainMemoryBytes in memory before spilling to a scratch file capped at maxScratchBytes,
+ * so one request holds roughly (ranges in flight) x maxMainMemoryBytes regardless of upload size.
+ * Interrupting the calling thread stops the extraction at the next page, on every range.
+ */
+@Component
+public class PdfTextExtractor {
+
+    /** Pool for extractors built outside Spring, which nothing shuts down; its workers are daemons. */
+    private static final class SharedPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int pagesPerTask;
+    private final int parallelThresholdPages;
+    private final MemoryUsageSetting memoryUsage;
+
+    public PdfTextExtractor() {
+        this(SharedPool.INSTANCE, false, 8, 16, 8L * 1024 * 1024, 256L * 1024 * 1024, "");
+    }
+
+    @Autowired
+    public PdfTextExtractor(
+        @Value("${statement.extraction.parallelism:0}") int parallelism,
+        @Value("${statement.extraction.pages-per-task:8}") int pagesPerTask,
+        @Value("${statement.extraction.parallel-threshold-pages:16}") int parallelThresholdPages,
+        @Value("${statement.extraction.max-main-memory-bytes:8388608}") long maxMainMemoryBytes,
+        @Value("${statement.extraction.max-scratch-bytes:268435456}") long maxScratchBytes,
+        @Value("${statement.extraction.scratch-dir:}") String scratchDir
+    ) {
+        this(new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()), true,
+            pagesPerTask, parallelThresholdPages, maxMainMemoryBytes, maxScratchBytes, scratchDir);
+    }
+
+    private PdfTextExtractor(ForkJoinPool pool, boolean ownsPool, int pagesPerTask, int parallelThresholdPages,
+                             long maxMainMemoryBytes, long maxScratchBytes, String scratchDir) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.parallelThresholdPages = parallelThresholdPages;
+        // Scratch limit covers memory and disk together, so it can never be below the memory share
+        this.memoryUsage = MemoryUsageSetting.setupMixed(maxMainMemoryBytes, Math.max(maxMainMemoryBytes, maxScratchBytes))
+            .setTempDir(scratchDir.isBlank() ? new File(System.getProperty("java.io.tmpdir")) : new File(scratchDir));
+    }
+
+    public String extractText(Path pdf) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extract(pdf, text::append);
+        return text.toString();
+    }
+
+    /**
+     * Streams the document text to chunkSink in page order, one call per page range.
+     * Concatenating the chunks gives the same text as a single PDFTextStripper pass.
+     */
+    public void extract(Path pdf, Consumer<String> chunkSink) throws IOException {
+        int pageCount;
+        try (RandomAccessRead source = new RandomAccessReadBufferedFile(pdf.toFile());
+             PDDocument document = Loader.loadPDF(source, memoryUsage.streamCache)) {
+            pageCount = document.getNumberOfPages();
+            if (isSequential(pageCount)) {
+                chunkSink.accept(sequentialStripper().getText(document));
+                return;
+            }
+        }
+        extractRanges(pdf, pageCount, chunkSink);
+    }
+
+    /**
+     * Writes the document text to out in page order. Documents stripped on the calling thread are
+     * written as PDFBox produces the text, so a streaming reader sees the first page early.
+     */
+    public void extract(Path pdf, Writer out) throws IOException {
+        int pageCount;
+        try (RandomAccessRead source = new RandomAccessReadBufferedFile(pdf.toFile());
+             PDDocument document = Loader.loadPDF(source, memoryUsage.streamCache)) {
+            pageCount = document.getNumberOfPages();
+            if (isSequential(pageCount)) {
+                sequentialStripper().writeText(document, out);
+                return;
+            }
+        }
+        extractRanges(pdf, pageCount, chunk -> {
+            try {
+                out.write(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private boolean isSequential(int pageCount) {
+        return pageCount <= parallelThresholdPages || pool.getParallelism() == 1;
+    }
+
+    private void extractRanges(Path pdf, int pageCount, Consumer<String> chunkSink) throws IOException {
+        // Each task reloads the document, so keep to about two ranges per worker
+        int rangeSize = Math.max(pagesPerTask, (pageCount + pool.getParallelism() * 2 - 1) / (pool.getParallelism() * 2));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<ForkJoinTask<String>> tasks = new ArrayList<>();
+        for (int start = 1; start <= pageCount; start += rangeSize) {
+            int firstPage = start;
+            int lastPage = Math.min(pageCount, start + rangeSize - 1);
+            tasks.add(pool.submit(() -> stripRange(pdf, firstPage, lastPage, cancelled)));
+        }
+
+        try {
+            for (ForkJoinTask<String> task : tasks) {
+                // get(), unlike join(), gives up when the caller is interrupted (e.g. a parse timeout)
+                chunkSink.accept(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Text extraction interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Text extraction failed", e.getCause());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // Fork-join tasks ignore interrupts, so running ranges stop at their next page instead
+            cancelled.set(true);
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private String stripRange(Path pdf, int firstPage, int lastPage, AtomicBoolean cancelled) {
+        try (RandomAccessRead source = new RandomAccessReadBufferedFile(pdf.toFile());
+             PDDocument document = Loader.loadPDF(source, memoryUsage.streamCache)) {
+            PDFTextStripper stripper = new CancellableStripper(cancelled::get);
+            stripper.setStartPage(firstPage);
+            stripper.setEndPage(lastPage);
+            return stripper.getText(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Whether no page range is being stripped or waiting to be. */
+    boolean isIdle() {
+        return pool.isQuiescent();
+    }
+
+    private static PDFTextStripper sequentialStripper() throws IOException {
+        return new CancellableStripper(() -> Thread.currentThread().isInterrupted());
+    }
+
+    /** Stops with InterruptedIOException at the next page once cancelled reports true. */
+    private static final class CancellableStripper extends PDFTextStripper {
+        private final BooleanSupplier cancelled;
+
+        CancellableStripper(BooleanSupplier cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            if (cancelled.getAsBoolean()) {
+                throw new InterruptedIOException("Text extraction cancelled");
+            }
+            super.startPage(page);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownsPool) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalised view of the start of a statement used to detect its layout.
+ * Text is lower-cased with runs of spaces collapsed, and is available both as one flat string
+ * (line breaks become spaces, for headers that wrap) and line by line (for column headers).
+ */
+public final class StatementFingerprint {
+
+    /** Roughly one page of extracted statement text. */
+    public static final int FIRST_PAGE_CHARS = 5000;
+
+    private final String flat;
+    private final List<String> lines;
+
+    private StatementFingerprint(String flat, List<String> lines) {
+        this.flat = flat;
+        this.lines = lines;
+    }
+
+    public static StatementFingerprint firstPage(String text) {
+        return of(text, FIRST_PAGE_CHARS);
+    }
+
+    public static StatementFingerprint of(String text, int maxChars) {
+        int end = Math.min(text.length(), maxChars);
+        StringBuilder flat = new StringBuilder(end);
+        StringBuilder line = new StringBuilder();
+        List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (line.length() > 0) {
+                    lines.add(line.toString().trim());
+                    line.setLength(0);
+                }
+                appendSpace(flat);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(line);
+                appendSpace(flat);
+            } else {
+                char lower = Character.toLowerCase(c);
+                line.append(lower);
+                flat.append(lower);
+            }
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString().trim());
+        }
+        return new StatementFingerprint(flat.toString(), lines);
+    }
+
+    /** Whether the phrase (lower case, single-spaced) occurs anywhere, line breaks counting as spaces. */
+    public boolean contains(String phrase) {
+        return flat.contains(phrase);
+    }
+
+    /**
+     * Whether some line contains one token from each group, with the groups in order,
+     * e.g. hasLine({"date "}, {"description", "transaction"}) for a "Date ... Description" header.
+     */
+    public boolean hasLine(String[]... tokenGroups) {
+        for (String line : lines) {
+            if (containsInOrder(line, tokenGroups)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsInOrder(String line, String[][] tokenGroups) {
+        int from = 0;
+        for (String[] group : tokenGroups) {
+            int next = -1;
+            for (String token : group) {
+                int at = line.indexOf(token, from);
+                if (at >= 0 && (next < 0 || at + token.length() < next)) {
+                    next = at + token.length();
+                }
+            }
+            if (next < 0) {
+                return false;
+            }
+            from = next;
+        }
+        return true;
+    }
+
+    private static void appendSpace(StringBuilder text) {
+        if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+            text.append(' ');
+        }
+    }
+}
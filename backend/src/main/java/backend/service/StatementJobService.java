@@ -0,0 +1,322 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedStatement;
+import backend.service.PDFParserService.ParsedTransaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded background queue for statement parsing.
+ * Uploads are accepted as jobs and parsed on a fixed pool of worker threads, so slow PDFs never
+ * hold servlet threads; when the queue is full new uploads are rejected instead of piling up.
+ * Each upload is spooled to a temp file until its job finishes, and a parse that runs past the
+ * configured timeout is failed and its worker interrupted, which stops text extraction on every
+ * page range at its next page.
+ * A statement whose content was parsed before is answered from StatementParseCache without queueing.
+ * Transactions are passed on to job listeners while the statement is still being parsed.
+ */
+@Service
+public class StatementJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementJobService.class);
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public static class StatementJob {
+        private final String id;
+        private final Long userId;
+        private final Long accountId;
+        private final String filename;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final CompletableFuture<ParsedStatement> future = new CompletableFuture<>();
+        private volatile Status status = Status.QUEUED;
+        private volatile ParsedStatement result;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+        private Thread worker; // guarded by this; set only while a parser thread is working on the job
+        private final AtomicInteger transactionsParsed = new AtomicInteger();
+        private final List<StatementParseListener> parseListeners = new CopyOnWriteArrayList<>();
+        private final StatementParseListener progress = new StatementParseListener() {
+            @Override
+            public void onTransaction(ParsedTransaction transaction) {
+                transactionsParsed.incrementAndGet();
+                parseListeners.forEach(listener -> listener.onTransaction(transaction));
+            }
+
+            @Override
+            public void onRestart() {
+                transactionsParsed.set(0);
+                parseListeners.forEach(StatementParseListener::onRestart);
+            }
+        };
+
+        StatementJob(String id, Long userId, Long accountId, String filename) {
+            this.id = id;
+            this.userId = userId;
+            this.accountId = accountId;
+            this.filename = filename;
+        }
+
+        public String getId() { return id; }
+        public Long getUserId() { return userId; }
+        public Long getAccountId() { return accountId; }
+        public String getFilename() { return filename; }
+        public Status getStatus() { return status; }
+        public String getError() { return error; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+
+        /** Transactions found so far while RUNNING; the final count is in the result. */
+        public int getTransactionsParsed() { return transactionsParsed.get(); }
+
+        /** Subscribes to transactions as the parser finds them, from now until the job finishes. */
+        public void addParseListener(StatementParseListener listener) { parseListeners.add(listener); }
+
+        public void removeParseListener(StatementParseListener listener) { parseListeners.remove(listener); }
+
+        /** Parsed statement once COMPLETED, otherwise null. */
+        public ParsedStatement getResult() { return result; }
+
+        /** Completes with the parsed statement, or exceptionally with the parse failure. */
+        public CompletableFuture<ParsedStatement> getFuture() { return future; }
+    }
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(String message) {
+            super(message);
+        }
+    }
+
+    private final PDFParserService pdfParserService;
+    private final StatementUploadSpool uploadSpool;
+    private final StatementParseCache parseCache;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService watchdog;
+    private final Duration retention;
+    private final Duration parseTimeout;
+    private final Map<String, StatementJob> jobs = new ConcurrentHashMap<>();
+
+    private final Counter submittedCounter;
+    private final Counter rejectedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter timedOutCounter;
+    private final Timer parseTimer;
+
+    @Autowired
+    public StatementJobService(
+        PDFParserService pdfParserService,
+        StatementUploadSpool uploadSpool,
+        StatementParseCache parseCache,
+        MeterRegistry meterRegistry,
+        @Value("${statement.jobs.concurrency:4}") int concurrency,
+        @Value("${statement.jobs.queue-capacity:50}") int queueCapacity,
+        @Value("${statement.jobs.retention-minutes:30}") long retentionMinutes,
+        @Value("${statement.jobs.parse-timeout-ms:120000}") long parseTimeoutMs
+    ) {
+        this.pdfParserService = pdfParserService;
+        this.uploadSpool = uploadSpool;
+        this.parseCache = parseCache;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.parseTimeout = Duration.ofMillis(parseTimeoutMs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            concurrency, concurrency,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "statement-parser-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statement-parse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("statement.jobs.queue.depth", executor, e -> e.getQueue().size())
+            .description("Statement uploads waiting for a parser thread")
+            .register(meterRegistry);
+        Gauge.builder("statement.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Statements currently being parsed")
+            .register(meterRegistry);
+        Gauge.builder("statement.jobs.queue.capacity", () -> queueCapacity)
+            .register(meterRegistry);
+        this.submittedCounter = meterRegistry.counter("statement.jobs.submitted");
+        this.rejectedCounter = meterRegistry.counter("statement.jobs.rejected");
+        this.completedCounter = meterRegistry.counter("statement.jobs.completed");
+        this.failedCounter = meterRegistry.counter("statement.jobs.failed");
+        this.timedOutCounter = meterRegistry.counter("statement.jobs.timed-out");
+        this.parseTimer = meterRegistry.timer("statement.jobs.parse.duration");
+    }
+
+    /**
+     * Validates the upload and queues it for parsing.
+     * Throws IllegalArgumentException for invalid files and QueueFullException when at capacity.
+     */
+    public StatementJob submit(Long userId, Long accountId, MultipartFile file) throws IOException {
+        pdfParserService.validateStatementFile(file);
+        purgeExpiredJobs();
+
+        Path spooled = uploadSpool.spool(file);
+        String contentKey;
+        try {
+            contentKey = StatementParseCache.contentKey(spooled);
+        } catch (IOException e) {
+            uploadSpool.release(spooled);
+            throw e;
+        }
+        StatementJob job = new StatementJob(UUID.randomUUID().toString(), userId, accountId, file.getOriginalFilename());
+        jobs.put(job.id, job);
+
+        Optional<ParsedStatement> cached = parseCache.get(contentKey);
+        if (cached.isPresent()) {
+            uploadSpool.release(spooled);
+            finish(job, cached.get(), null);
+            submittedCounter.increment();
+            return job;
+        }
+
+        try {
+            executor.execute(new ParseTask(job, spooled, contentKey));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            uploadSpool.release(spooled);
+            rejectedCounter.increment();
+            throw new QueueFullException("Statement processing queue is full, please retry shortly");
+        }
+
+        submittedCounter.increment();
+        return job;
+    }
+
+    public StatementJob getJob(String jobId, Long userId) {
+        StatementJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new IllegalArgumentException("Job not found");
+        }
+        return job;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private final class ParseTask implements Runnable {
+        private final StatementJob job;
+        private final Path spooled;
+        private final String contentKey;
+
+        ParseTask(StatementJob job, Path spooled, String contentKey) {
+            this.job = job;
+            this.spooled = spooled;
+            this.contentKey = contentKey;
+        }
+
+        @Override
+        public void run() {
+            job.status = Status.RUNNING;
+            synchronized (job) {
+                job.worker = Thread.currentThread();
+            }
+            ScheduledFuture<?> deadline = null;
+            long start = System.nanoTime();
+            try {
+                if (parseTimeout.toMillis() > 0) {
+                    deadline = watchdog.schedule(() -> timeOut(job), parseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                ParsedStatement statement = pdfParserService.parseStatementFile(spooled, job.progress);
+                parseCache.put(contentKey, statement);
+                finish(job, statement, null);
+            } catch (Exception e) {
+                finish(job, null, e);
+            } finally {
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+                synchronized (job) {
+                    job.worker = null;
+                }
+                // Drop an interrupt from a timeout that raced with completion
+                Thread.interrupted();
+                uploadSpool.release(spooled);
+                parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void timeOut(StatementJob job) {
+        synchronized (job) {
+            boolean failed = finish(job, null,
+                new TimeoutException("Statement parsing timed out after " + parseTimeout.toMillis() + " ms"));
+            if (failed) {
+                timedOutCounter.increment();
+                if (job.worker != null) {
+                    job.worker.interrupt();
+                }
+            }
+        }
+    }
+
+    /** Records the outcome unless the job already finished (e.g. timed out); returns whether it did. */
+    private boolean finish(StatementJob job, ParsedStatement statement, Exception error) {
+        synchronized (job) {
+            if (job.future.isDone()) {
+                return false;
+            }
+            job.completedAt = LocalDateTime.now();
+            if (error == null) {
+                job.result = statement;
+                job.status = Status.COMPLETED;
+                completedCounter.increment();
+                job.future.complete(statement);
+            } else {
+                logger.warn("Statement job {} failed: {}", job.id, error.getMessage());
+                job.error = error.getMessage();
+                job.status = Status.FAILED;
+                failedCounter.increment();
+                job.future.completeExceptionally(error);
+            }
+            return true;
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        for (Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof ParseTask task) {
+                uploadSpool.release(task.spooled);
+            }
+        }
+    }
+}
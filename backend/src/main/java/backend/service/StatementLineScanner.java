@@ -0,0 +1,151 @@
+package backend.service;
+
+/**
+ * Single-pass classifier for statement text lines.
+ * Detects dates, currency amounts and header/footer keywords in one walk over the line,
+ * replacing the separate String.matches / contains calls the generic parser used to make per line.
+ */
+public final class StatementLineScanner {
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final int KW_PAGE = 1;
+    private static final int KW_CONTINUED = 1 << 1;
+    private static final int KW_TOTAL = 1 << 2;
+    private static final int KW_STATEMENT = 1 << 3;
+    private static final int KW_ACCOUNT_SUMMARY = 1 << 4;
+    private static final int KW_TRANSACTION_HISTORY = 1 << 5;
+    private static final int KW_DATE = 1 << 6;
+    private static final int KW_DESCRIPTION = 1 << 7;
+    private static final int KW_PRIVACY = 1 << 8;
+    private static final int KW_MEMBER_FDIC = 1 << 9;
+
+    private StatementLineScanner() {
+    }
+
+    public static final class LineFeatures {
+        private final boolean hasDate;
+        private final boolean hasAmount;
+        private final boolean headerOrFooter;
+
+        LineFeatures(boolean hasDate, boolean hasAmount, boolean headerOrFooter) {
+            this.hasDate = hasDate;
+            this.hasAmount = hasAmount;
+            this.headerOrFooter = headerOrFooter;
+        }
+
+        /** Numeric date (12/05, 1-3-2024) or day followed by a month name (05 Dec). */
+        public boolean hasDate() {
+            return hasDate;
+        }
+
+        /** Currency amount with two decimal places (12.50, $1,234.00). */
+        public boolean hasAmount() {
+            return hasAmount;
+        }
+
+        /** Page furniture, section titles and column headers that never carry a transaction. */
+        public boolean isHeaderOrFooter() {
+            return headerOrFooter;
+        }
+    }
+
+    public static LineFeatures scan(String line) {
+        int length = line.length();
+        boolean hasDate = false;
+        boolean hasAmount = false;
+        int keywords = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = line.charAt(i);
+
+            if (isDigit(c)) {
+                // d[/-]d  or  d<whitespace>Mon
+                if (!hasDate && i + 2 < length && (line.charAt(i + 1) == '/' || line.charAt(i + 1) == '-')
+                        && isDigit(line.charAt(i + 2))) {
+                    hasDate = true;
+                }
+                if (!hasDate && startsWithMonthAfterWhitespace(line, i + 1)) {
+                    hasDate = true;
+                }
+                // d.dd
+                if (!hasAmount && i + 3 < length && line.charAt(i + 1) == '.'
+                        && isDigit(line.charAt(i + 2)) && isDigit(line.charAt(i + 3))) {
+                    hasAmount = true;
+                }
+                continue;
+            }
+
+            switch (Character.toLowerCase(c)) {
+                case 'p':
+                    if (matchesIgnoreCase(line, i, "page")) keywords |= KW_PAGE;
+                    if (matchesIgnoreCase(line, i, "privacy")) keywords |= KW_PRIVACY;
+                    break;
+                case 'c':
+                    if (matchesIgnoreCase(line, i, "continued")) keywords |= KW_CONTINUED;
+                    break;
+                case 't':
+                    if (matchesIgnoreCase(line, i, "total")) keywords |= KW_TOTAL;
+                    if (matchesIgnoreCase(line, i, "transaction history")) keywords |= KW_TRANSACTION_HISTORY;
+                    break;
+                case 's':
+                    if (matchesIgnoreCase(line, i, "statement")) keywords |= KW_STATEMENT;
+                    break;
+                case 'a':
+                    if (matchesIgnoreCase(line, i, "account summary")) keywords |= KW_ACCOUNT_SUMMARY;
+                    break;
+                case 'd':
+                    if (matchesIgnoreCase(line, i, "date")) keywords |= KW_DATE;
+                    if (matchesIgnoreCase(line, i, "description")) keywords |= KW_DESCRIPTION;
+                    break;
+                case 'm':
+                    if (matchesIgnoreCase(line, i, "member fdic")) keywords |= KW_MEMBER_FDIC;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return new LineFeatures(hasDate, hasAmount, isHeaderOrFooter(keywords, hasAmount, length));
+    }
+
+    private static boolean isHeaderOrFooter(int keywords, boolean hasAmount, int length) {
+        return (keywords & (KW_PAGE | KW_CONTINUED | KW_ACCOUNT_SUMMARY | KW_TRANSACTION_HISTORY
+                    | KW_PRIVACY | KW_MEMBER_FDIC)) != 0 ||
+               (keywords & KW_TOTAL) != 0 && !hasAmount ||
+               (keywords & KW_STATEMENT) != 0 && !hasAmount ||
+               (keywords & KW_DATE) != 0 && (keywords & KW_DESCRIPTION) != 0 ||
+               length < 5;
+    }
+
+    private static boolean startsWithMonthAfterWhitespace(String line, int from) {
+        int i = from;
+        while (i < line.length() && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        if (i == from) {
+            return false;
+        }
+        for (String month : MONTHS) {
+            if (line.startsWith(month, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesIgnoreCase(String line, int offset, String keyword) {
+        return line.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Same set as the regex \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,11 @@
+package backend.service;
+
+/**
+ * Receives statement text one line at a time as it is extracted. Each line keeps its terminator
+ * ("\n" or "\r\n"; the last line may have none), so the lines concatenate back to the exact text.
+ */
+@FunctionalInterface
+public interface StatementLineSink {
+
+    void line(String line);
+}
@@ -0,0 +1,56 @@
+package backend.service;
+
+import java.io.Writer;
+
+/**
+ * Writer that cuts the text written to it into lines for a StatementLineSink, so PDFBox can write
+ * straight into the parser. Only the line being assembled is buffered. Lines end at "\n", as with
+ * StatementParsing.LINE_BREAK, and close() hands over a final unterminated line.
+ */
+public class StatementLineWriter extends Writer {
+
+    private final StatementLineSink sink;
+    private final StringBuilder current = new StringBuilder();
+
+    public StatementLineWriter(StatementLineSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            accept(buffer[i]);
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        if (current.length() > 0) {
+            emit();
+        }
+    }
+
+    private void accept(char c) {
+        current.append(c);
+        if (c == '\n') {
+            emit();
+        }
+    }
+
+    private void emit() {
+        String line = current.toString();
+        current.setLength(0);
+        sink.line(line);
+    }
+}
@@ -0,0 +1,265 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedStatement;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parse results keyed by the SHA-256 of the statement file, so re-uploading the same PDF skips PDFBox.
+ * Entries live in an LRU map bounded by maxEntries and expire after ttl; when a store directory is
+ * configured they are also written there as JSON and survive restarts under the same limits.
+ * The store is pruned at startup and then only once writes take it a tenth past maxEntries, so a
+ * put never lists the directory; between prunes it holds at most that many files.
+ * Results are kept serialized, so every hit hands out a fresh ParsedStatement the caller may modify.
+ * Stored files are named for PDFParserService.OUTPUT_VERSION, and files written by any other parser
+ * version are deleted rather than served, so a deploy that changes parse output starts cold.
+ */
+@Component
+public class StatementParseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementParseCache.class);
+
+    private static final ObjectMapper JSON = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private static final String FILE_PREFIX = "v" + PDFParserService.OUTPUT_VERSION + "-";
+    private static final String FILE_SUFFIX = ".json";
+
+    private static final class Entry {
+        final byte[] json;
+        final Instant expiresAt;
+
+        Entry(byte[] json, Instant expiresAt) {
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Path storeDir;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int pruneThreshold;
+    private final AtomicInteger storedFiles = new AtomicInteger(); // files written since the last prune counted
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public StatementParseCache(
+        MeterRegistry meterRegistry,
+        @Value("${statement.cache.max-entries:500}") int maxEntries,
+        @Value("${statement.cache.ttl-minutes:1440}") long ttlMinutes,
+        @Value("${statement.cache.store-dir:}") String storeDir
+    ) {
+        this(meterRegistry, maxEntries, Duration.ofMinutes(ttlMinutes), storeDir.isBlank() ? null : Path.of(storeDir), Clock.systemUTC());
+    }
+
+    StatementParseCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Path storeDir, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.storeDir = storeDir;
+        this.clock = clock;
+        this.pruneThreshold = maxEntries + Math.max(1, maxEntries / 10);
+
+        this.hitCounter = meterRegistry.counter("statement.cache.hits");
+        this.missCounter = meterRegistry.counter("statement.cache.misses");
+        Gauge.builder("statement.cache.size", this, StatementParseCache::size)
+            .description("Parsed statements held in memory")
+            .register(meterRegistry);
+
+        if (storeDir != null) {
+            try {
+                Files.createDirectories(storeDir);
+                pruneStore();
+            } catch (IOException e) {
+                logger.warn("Statement cache store {} is unavailable: {}", storeDir, e.getMessage());
+            }
+        }
+    }
+
+    /** Hex SHA-256 of the file content, streamed so large statements are never fully in memory. */
+    public static String contentKey(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public Optional<ParsedStatement> get(String key) {
+        Entry entry = lookup(key);
+        if (entry == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        try {
+            ParsedStatement statement = JSON.readValue(entry.json, ParsedStatement.class);
+            hitCounter.increment();
+            return Optional.of(statement);
+        } catch (IOException e) {
+            logger.warn("Dropping unreadable cached statement {}: {}", key, e.getMessage());
+            invalidate(key);
+            missCounter.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, ParsedStatement statement) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        byte[] json;
+        try {
+            json = JSON.writeValueAsBytes(statement);
+        } catch (IOException e) {
+            logger.warn("Could not cache parsed statement {}: {}", key, e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            entries.put(key, new Entry(json, clock.instant().plus(ttl)));
+            evictOverflow();
+        }
+        if (storeDir != null) {
+            writeToStore(key, json);
+        }
+    }
+
+    public void invalidate(String key) {
+        synchronized (this) {
+            entries.remove(key);
+        }
+        if (storeDir != null) {
+            try {
+                Files.deleteIfExists(storeFile(key));
+            } catch (IOException e) {
+                logger.warn("Could not delete cached statement {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry lookup(String key) {
+        Instant now = clock.instant();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt.isAfter(now)) {
+                    return entry;
+                }
+                entries.remove(key);
+            }
+        }
+        return storeDir != null ? loadFromStore(key, now) : null;
+    }
+
+    private Entry loadFromStore(String key, Instant now) {
+        Path file = storeFile(key);
+        try {
+            Instant expiresAt = Files.getLastModifiedTime(file).toInstant().plus(ttl);
+            if (!expiresAt.isAfter(now)) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            Entry entry = new Entry(Files.readAllBytes(file), expiresAt);
+            synchronized (this) {
+                entries.put(key, entry);
+                evictOverflow();
+            }
+            return entry;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read cached statement {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToStore(String key, byte[] json) {
+        try {
+            // Write then rename so a concurrent reader never sees a partial file
+            Path temp = Files.createTempFile(storeDir, key, ".tmp");
+            Files.write(temp, json);
+            Files.setLastModifiedTime(temp, FileTime.from(clock.instant()));
+            Files.move(temp, storeFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Overwrites count too, so this can only prune early, never let the store grow unchecked
+            if (storedFiles.incrementAndGet() > pruneThreshold) {
+                pruneStore();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not persist cached statement {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Removes expired files, files from other parser versions and, past maxEntries, the oldest ones. */
+    private void pruneStore() throws IOException {
+        Instant cutoff = clock.instant().minus(ttl);
+        List<Path> live = new ArrayList<>();
+        try (Stream<Path> files = Files.list(storeDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(FILE_SUFFIX)) continue;
+                if (name.startsWith(FILE_PREFIX) && Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    live.add(file);
+                } else {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        if (live.size() > maxEntries) {
+            live.sort(Comparator.comparing(file -> file.toFile().lastModified()));
+            for (Path file : live.subList(0, live.size() - maxEntries)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        storedFiles.set(Math.min(live.size(), maxEntries));
+    }
+
+    private void evictOverflow() {
+        Iterator<String> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private Path storeFile(String key) {
+        return storeDir.resolve(FILE_PREFIX + key + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,19 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+
+/**
+ * Receives transactions while a statement is still being parsed.
+ * The parsed statement that is finally returned is authoritative: if the parser learns late in the
+ * document that the transactions it streamed were read with the wrong layout or year, it calls
+ * onRestart and then reports the final transactions again.
+ */
+@FunctionalInterface
+public interface StatementParseListener {
+
+    void onTransaction(ParsedTransaction transaction);
+
+    /** Transactions reported so far are superseded by the ones that follow. */
+    default void onRestart() {
+    }
+}
@@ -0,0 +1,25 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+
+import java.util.List;
+
+/**
+ * One bank statement layout. Implementations registered as beans are picked up by
+ * StatementParserRegistry, which scores every format against a fingerprint of the first page
+ * and runs only the best matches; statements no format claims go to GenericStatementParser.
+ */
+public interface StatementParser {
+
+    /** Short format name used in logs. */
+    String name();
+
+    /**
+     * How strongly the fingerprint points at this format; 0 means "not this format".
+     * Called for every upload, so it should only look up header tokens, never scan the text.
+     */
+    int score(StatementFingerprint fingerprint);
+
+    /** Extracts transactions from the full statement text; dates without a year get the given year. */
+    List<ParsedTransaction> parse(String text, int year);
+}
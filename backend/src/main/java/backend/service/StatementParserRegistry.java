@@ -0,0 +1,100 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Picks the statement parser for an upload.
+ * Every registered format scores a fingerprint of the first page and the highest scorer runs
+ * (ties go to registration order). Only if it finds nothing are the other formats that scored
+ * tried, then formats whose headers appear later in the document, and finally the generic parser.
+ */
+@Component
+public class StatementParserRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementParserRegistry.class);
+
+    private final List<StatementParser> parsers;
+    private final GenericStatementParser fallback;
+
+    @Autowired
+    public StatementParserRegistry(List<StatementParser> parsers, GenericStatementParser fallback) {
+        this.parsers = List.copyOf(parsers);
+        this.fallback = fallback;
+    }
+
+    /** The built-in formats, for use outside the Spring context. */
+    public static StatementParserRegistry defaults() {
+        BrokenTableStatementParser brokenTable = new BrokenTableStatementParser();
+        return new StatementParserRegistry(
+            List.of(new TableStatementParser(brokenTable), brokenTable, new USBankStatementParser(), new CapitalOneStatementParser()),
+            new GenericStatementParser()
+        );
+    }
+
+    public List<StatementParser> getParsers() {
+        return parsers;
+    }
+
+    /** Best-scoring format for the first page, if any format recognises it. */
+    public Optional<StatementParser> detect(String text) {
+        List<StatementParser> ranked = rank(StatementFingerprint.firstPage(text));
+        return ranked.isEmpty() ? Optional.empty() : Optional.of(ranked.get(0));
+    }
+
+    public GenericStatementParser getFallback() {
+        return fallback;
+    }
+
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = parseLayouts(text, year);
+        if (transactions.isEmpty()) {
+            transactions = fallback.parse(text, year);
+        }
+        return transactions;
+    }
+
+    /** Like parse, but without the generic fallback: empty when no registered format finds transactions. */
+    public List<ParsedTransaction> parseLayouts(String text, int year) {
+        Set<StatementParser> tried = new HashSet<>();
+
+        List<ParsedTransaction> transactions = parseWith(rank(StatementFingerprint.firstPage(text)), tried, text, year);
+        if (transactions.isEmpty() && text.length() > StatementFingerprint.FIRST_PAGE_CHARS) {
+            transactions = parseWith(rank(StatementFingerprint.of(text, text.length())), tried, text, year);
+        }
+        return transactions;
+    }
+
+    private List<ParsedTransaction> parseWith(List<StatementParser> candidates, Set<StatementParser> tried, String text, int year) {
+        for (StatementParser parser : candidates) {
+            if (!tried.add(parser)) continue;
+
+            List<ParsedTransaction> transactions = parser.parse(text, year);
+            if (!transactions.isEmpty()) {
+                logger.debug("Parsed statement as {} ({} transactions)", parser.name(), transactions.size());
+                return transactions;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private List<StatementParser> rank(StatementFingerprint fingerprint) {
+        List<StatementParser> ranked = new ArrayList<>();
+        Map<StatementParser, Integer> scores = new IdentityHashMap<>();
+        for (StatementParser parser : parsers) {
+            int score = parser.score(fingerprint);
+            if (score > 0) {
+                ranked.add(parser);
+                scores.put(parser, score);
+            }
+        }
+        // Stable sort keeps registration order among equal scores
+        ranked.sort(Comparator.comparingInt((StatementParser parser) -> scores.get(parser)).reversed());
+        return ranked;
+    }
+}
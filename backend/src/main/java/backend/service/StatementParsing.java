@@ -0,0 +1,152 @@
+package backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Date, amount and line helpers shared by the statement parsers.
+ */
+public final class StatementParsing {
+
+    public static final Pattern LINE_BREAK = Pattern.compile("\\r?\\n");
+    public static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    public static final Pattern MULTI_SPACE = Pattern.compile("\\s{2,}");
+
+    private static final Pattern DAY_MONTH = Pattern.compile("^(\\d{1,2})\\s+(\\w+)$");
+    private static final Pattern MONTH_DAY = Pattern.compile("^(\\w+)\\s+(\\d{1,2})$");
+
+    private static final DateTimeFormatter MONTH_DAY_DASH = DateTimeFormatter.ofPattern("M-d");
+    private static final DateTimeFormatter[] SHORT_DATE_FORMATTERS = {
+        DateTimeFormatter.ofPattern("MM-dd"),
+        DateTimeFormatter.ofPattern("MM/dd"),
+        DateTimeFormatter.ofPattern("M-dd"),
+        DateTimeFormatter.ofPattern("M/dd")
+    };
+    private static final DateTimeFormatter[] FULL_DATE_FORMATTERS = {
+        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+        DateTimeFormatter.ofPattern("M/dd/yyyy"),
+        DateTimeFormatter.ofPattern("MM/dd/yy"),
+        DateTimeFormatter.ofPattern("M/dd/yy"),
+        DateTimeFormatter.ofPattern("d MMMM yyyy"),
+        DateTimeFormatter.ofPattern("d MMM yyyy"),
+        DateTimeFormatter.ofPattern("MMMM d, yyyy"),
+        DateTimeFormatter.ofPattern("MMM d, yyyy"),
+        DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+        DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+        DateTimeFormatter.ofPattern("dd-MM-yyyy")
+    };
+
+    private StatementParsing() {
+    }
+
+    /** Parses day/month, month/day and full date forms; dates without a year get the given year. */
+    public static LocalDate parseDate(String dateStr, int year) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            return null;
+        }
+        
+        dateStr = dateStr.trim();
+        
+        // Try "d Month" format
+        try {
+            Matcher matcher = DAY_MONTH.matcher(dateStr);
+            if (matcher.matches()) {
+                String day = matcher.group(1);
+                String monthName = matcher.group(2);
+                String monthNum = monthNumber(monthName);
+                
+                if (monthNum != null) {
+                    MonthDay monthDay = MonthDay.parse(monthNum + "-" + day, MONTH_DAY_DASH);
+                    return monthDay.atYear(year);
+                }
+            }
+        } catch (Exception e) {
+            // Continue
+        }
+        
+        // Try Month d format
+        try {
+            Matcher matcher = MONTH_DAY.matcher(dateStr);
+            if (matcher.matches()) {
+                String monthName = matcher.group(1);
+                String day = matcher.group(2);
+                String monthNum = monthNumber(monthName);
+                
+                if (monthNum != null) {
+                    MonthDay monthDay = MonthDay.parse(monthNum + "-" + day, MONTH_DAY_DASH);
+                    return monthDay.atYear(year);
+                }
+            }
+        } catch (Exception e) {
+            // Continue
+        }
+        
+        // Try MM-dd, MM/dd, M-dd and M/dd formats
+        for (DateTimeFormatter formatter : SHORT_DATE_FORMATTERS) {
+            try {
+                MonthDay monthDay = MonthDay.parse(dateStr, formatter);
+                return monthDay.atYear(year);
+            } catch (DateTimeParseException e) {
+                // Continue
+            }
+        }
+        
+        // Try full date formats
+        for (DateTimeFormatter formatter : FULL_DATE_FORMATTERS) {
+            try {
+                return LocalDate.parse(dateStr, formatter);
+            } catch (DateTimeParseException e) {
+                // Try next
+            }
+        }
+        
+        return null;
+    }
+
+    /** Month number ("1".."12") for an English month name or abbreviation, or null. */
+    public static String monthNumber(String monthName) {
+        if (monthName == null) return null;
+        
+        String month = monthName.toLowerCase();
+        switch (month) {
+            case "jan": case "january": return "1";
+            case "feb": case "february": return "2";
+            case "mar": case "march": return "3";
+            case "apr": case "april": return "4";
+            case "may": return "5";
+            case "jun": case "june": return "6";
+            case "jul": case "july": return "7";
+            case "aug": case "august": return "8";
+            case "sep": case "sept": case "september": return "9";
+            case "oct": case "october": return "10";
+            case "nov": case "november": return "11";
+            case "dec": case "december": return "12";
+            default: return null;
+        }
+    }
+
+    /** Parses "$1,234.56"-style amounts, returning zero when the text is not a number. */
+    public static BigDecimal parseAmount(String amountStr) {
+        if (amountStr == null || amountStr.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        
+        String cleaned = amountStr.trim()
+            .replace("$", "")
+            .replace(",", "")
+            .replace("+", "")
+            .replace(" ", "")
+            .trim();
+        
+        try {
+            return new BigDecimal(cleaned);
+        } catch (NumberFormatException e) {
+            return BigDecimal.ZERO;
+        }
+    }
+}
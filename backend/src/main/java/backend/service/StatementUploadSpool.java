@@ -0,0 +1,65 @@
+package backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Spools statement uploads to temp files so PDFs are parsed from disk instead of a heap copy.
+ * The multipart temp file is gone once the request ends, so queued jobs need their own copy;
+ * callers own the returned file and must release it when parsing is done.
+ */
+@Component
+public class StatementUploadSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementUploadSpool.class);
+
+    private final Path spoolDir;
+    private final long maxUploadBytes;
+
+    public StatementUploadSpool() {
+        this("", 25L * 1024 * 1024);
+    }
+
+    @Autowired
+    public StatementUploadSpool(
+        @Value("${statement.upload.spool-dir:}") String spoolDir,
+        @Value("${statement.upload.max-bytes:26214400}") long maxUploadBytes
+    ) {
+        this.spoolDir = Path.of(spoolDir.isBlank() ? System.getProperty("java.io.tmpdir") : spoolDir);
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    /** Copies the upload to a new temp file; throws IllegalArgumentException if it is over the size cap. */
+    public Path spool(MultipartFile file) throws IOException {
+        if (file.getSize() > maxUploadBytes) {
+            String limit = maxUploadBytes >= 1024 * 1024 ? (maxUploadBytes / (1024 * 1024)) + " MB" : maxUploadBytes + " bytes";
+            throw new IllegalArgumentException("Statement file exceeds the " + limit + " upload limit");
+        }
+
+        Files.createDirectories(spoolDir);
+        Path spooled = Files.createTempFile(spoolDir, "statement-", ".pdf");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            release(spooled);
+            throw e;
+        }
+        return spooled;
+    }
+
+    public void release(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            logger.warn("Could not delete spooled statement {}: {}", spooled, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-line column tables: date, description, then debit/credit/balance amounts on one line.
+ * Headers that split into "Money out Money In Balance" columns are handed to the broken-table parser.
+ */
+@Component
+@Order(1)
+public class TableStatementParser implements StatementParser {
+
+    private static final Pattern BROKEN_TABLE_HEADER = Pattern.compile(
+        "Date\\s+Description.*?Money\\s+out\\s+Money\\s+In\\s+Balance",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern TABLE_SECTION = Pattern.compile(
+        "Date\\s+(?:Description|Transaction).*?(?:Debit|Amount|Money).*?(?:Credit|Balance)\\s*\\n(.*?)(?=\\n\\n|Page|Activity|$)",
+        Pattern.DOTALL | Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern TABLE_LINE = Pattern.compile(
+        "^(\\d{1,2}[/\\-]\\d{1,2}|\\d{1,2}\\s+\\w+)\\s+(.+?)\\s+((?:[\\d,]+\\.\\d{2}\\s*)+)$"
+    );
+    private static final Pattern TABLE_AMOUNT = Pattern.compile("([\\d,]+\\.\\d{2})");
+
+    private final BrokenTableStatementParser brokenTable;
+
+    public TableStatementParser(BrokenTableStatementParser brokenTable) {
+        this.brokenTable = brokenTable;
+    }
+
+    @Override
+    public String name() {
+        return "table";
+    }
+
+    @Override
+    public int score(StatementFingerprint fingerprint) {
+        // "Date  Description ... Debit ... Credit" style column header
+        return fingerprint.hasLine(
+            new String[] {"date "},
+            new String[] {"description", "transaction"},
+            new String[] {"debit", "amount", "money"},
+            new String[] {"credit", "balance"}
+        ) ? 6 : 0;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        
+        if (BROKEN_TABLE_HEADER.matcher(text).find()) {
+            return brokenTable.parse(text, year);
+        }
+        
+        Matcher tableMatcher = TABLE_SECTION.matcher(text);
+        
+        if (!tableMatcher.find()) {
+            return transactions;
+        }
+        
+        String tableSection = tableMatcher.group(1);
+        String[] lines = StatementParsing.LINE_BREAK.split(tableSection);
+        Matcher lineMatcher = TABLE_LINE.matcher("");
+        Matcher amountMatcher = TABLE_AMOUNT.matcher("");
+        
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("Balance brought")) continue;
+            
+            lineMatcher.reset(line);
+            
+            if (lineMatcher.matches()) {
+                String dateStr = lineMatcher.group(1);
+                String description = lineMatcher.group(2).trim();
+                String amountsStr = lineMatcher.group(3).trim();
+                
+                LocalDate date = StatementParsing.parseDate(dateStr, year);
+                if (date == null) continue;
+                
+                amountMatcher.reset(amountsStr);
+                List<BigDecimal> amounts = new ArrayList<>();
+                
+                while (amountMatcher.find()) {
+                    amounts.add(StatementParsing.parseAmount(amountMatcher.group(1)));
+                }
+                
+                if (amounts.isEmpty()) continue;
+                
+                BigDecimal amount;
+                String type = "out";
+                
+                if (amounts.size() == 3) {
+                    if (amounts.get(1).compareTo(BigDecimal.ZERO) > 0) {
+                        amount = amounts.get(1);
+                        type = "in";
+                    } else {
+                        amount = amounts.get(0);
+                        type = "out";
+                    }
+                } else if (amounts.size() == 2) {
+                    amount = amounts.get(0);
+                    String descLower = description.toLowerCase();
+                    if (descLower.contains("credit") || 
+                        descLower.contains("deposit") ||
+                        descLower.contains("payment") && !descLower.contains("card payment")) {
+                        type = "in";
+                    }
+                } else {
+                    amount = amounts.get(0);
+                }
+                
+                if (amount.compareTo(BigDecimal.ZERO) > 0) {
+                    transactions.add(new ParsedTransaction(date, description, amount, type));
+                }
+            }
+        }
+        
+        return transactions;
+    }
+}
@@ -0,0 +1,184 @@
+package backend.service;
+
+import backend.entity.Account;
+import backend.entity.Transaction;
+import backend.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import engine for statement imports.
+ * Rows are validated up front, written with JDBC batch inserts (bypassing the IDENTITY-keyed
+ * entity path that Hibernate cannot batch), and balance changes are applied once per account.
+ * On PostgreSQL, add reWriteBatchedInserts=true to the JDBC URL so each batch goes out as
+ * multi-row INSERT statements.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transactions (user_id, account_id, transaction_date, amount, category, type, note, merchant, merchant_key, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final CategoryEngine categoryEngine;
+    private final MerchantNormalizationService merchantNormalizationService;
+    private final CategoryTotalsService categoryTotalsService;
+
+    @Autowired
+    public TransactionImportService(JdbcTemplate jdbcTemplate, AccountRepository accountRepository,
+                                    AccountService accountService, CategoryEngine categoryEngine,
+                                    MerchantNormalizationService merchantNormalizationService,
+                                    CategoryTotalsService categoryTotalsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountRepository = accountRepository;
+        this.accountService = accountService;
+        this.categoryEngine = categoryEngine;
+        this.merchantNormalizationService = merchantNormalizationService;
+        this.categoryTotalsService = categoryTotalsService;
+    }
+
+    public static class ImportResult {
+        public int imported;
+        public int skipped;
+        public List<String> errors = new ArrayList<>();
+        public long elapsedMillis;
+        public double rowsPerMilli;
+    }
+
+    @Transactional
+    public ImportResult importTransactions(Long userId, List<Transaction> rows, boolean updateBalance) {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+
+        if (rows == null || rows.isEmpty()) {
+            return result;
+        }
+
+        // One query for ownership checks instead of one lookup per row; institutions select category rules
+        Map<Long, String> institutionsByAccount = new HashMap<>();
+        for (Account account : accountRepository.findByUserId(userId)) {
+            institutionsByAccount.put(account.getId(), account.getInstitution());
+        }
+
+        List<Transaction> valid = new ArrayList<>(rows.size());
+        Map<Long, BigDecimal> accountBalanceChanges = new HashMap<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction row = rows.get(i);
+            String error = validate(row, institutionsByAccount.keySet());
+            if (error != null) {
+                result.skipped++;
+                result.errors.add("Row " + (i + 1) + ": " + error);
+                continue;
+            }
+
+            normalize(row, userId, institutionsByAccount.get(row.getAccountId()));
+            valid.add(row);
+
+            if (updateBalance && row.getAccountId() != null) {
+                BigDecimal delta = "in".equals(row.getType()) ? row.getAmount() : row.getAmount().negate();
+                accountBalanceChanges.merge(row.getAccountId(), delta, BigDecimal::add);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, valid, BATCH_SIZE, (ps, t) -> {
+                ps.setLong(1, t.getUserId());
+                if (t.getAccountId() != null) {
+                    ps.setLong(2, t.getAccountId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setDate(3, Date.valueOf(t.getTransactionDate()));
+                ps.setBigDecimal(4, t.getAmount());
+                ps.setString(5, t.getCategory());
+                ps.setString(6, t.getType());
+                ps.setString(7, t.getNote());
+                ps.setString(8, t.getMerchant());
+                ps.setString(9, t.getMerchantKey());
+                ps.setTimestamp(10, Timestamp.valueOf(t.getCreatedAt()));
+                ps.setTimestamp(11, Timestamp.valueOf(t.getUpdatedAt()));
+            });
+            categoryTotalsService.record(valid);
+        }
+
+        if (updateBalance) {
+            accountService.applyBalanceDeltas(userId, accountBalanceChanges);
+        }
+
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+        result.imported = valid.size();
+        result.elapsedMillis = Math.round(elapsedMillis);
+        result.rowsPerMilli = elapsedMillis > 0 ? result.imported / elapsedMillis : result.imported;
+
+        logger.info("Imported {} transactions ({} skipped) for user {} in {} ms",
+            result.imported, result.skipped, userId, result.elapsedMillis);
+
+        return result;
+    }
+
+    private String validate(Transaction row, Set<Long> ownedAccountIds) {
+        if (row == null) {
+            return "Missing transaction";
+        }
+        if (row.getType() == null || !List.of("in", "out").contains(row.getType().toLowerCase())) {
+            return "Invalid transaction type. Must be 'in' or 'out'";
+        }
+        if (row.getAmount() == null || row.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be greater than zero";
+        }
+        if (row.getAccountId() != null && !ownedAccountIds.contains(row.getAccountId())) {
+            return "Account not found";
+        }
+        return null;
+    }
+
+    private void normalize(Transaction row, Long userId, String institution) {
+        LocalDateTime now = LocalDateTime.now();
+        row.setUserId(userId);
+        row.setType(row.getType().toLowerCase());
+        if (row.getTransactionDate() == null) {
+            row.setTransactionDate(LocalDate.now());
+        }
+        String category = row.getCategory();
+        if (category == null || category.isBlank()) {
+            category = categoryEngine.categorize(userId, institution, CategoryEngine.describe(row.getMerchant(), row.getNote()));
+        }
+        row.setCategory(truncate(category, 50));
+        row.setNote(truncate(row.getNote(), 255));
+        merchantNormalizationService.applyImported(row);
+        row.setMerchant(truncate(row.getMerchant(), 100));
+        row.setCreatedAt(now);
+        row.setUpdatedAt(now);
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+}
@@ -1,15 +1,21 @@
 package backend.service;
 
-import backend.entity.Transaction;
+import backend.dto.TransactionPage;
 import backend.entity.Account;
+import backend.entity.Transaction;
 import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.MerchantTotal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,13 +24,28 @@ import java.util.Map;
 @Service
 public class TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Sentinel cursor that sorts after every stored row, used for the first page
+    private static final LocalDate FIRST_PAGE_DATE = LocalDate.of(9999, 12, 31);
+    private static final long FIRST_PAGE_ID = Long.MAX_VALUE;
+
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final CategoryEngine categoryEngine;
+    private final MerchantNormalizationService merchantNormalizationService;
+    private final CategoryTotalsService categoryTotalsService;
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, AccountService accountService) {
+    public TransactionService(TransactionRepository transactionRepository, AccountService accountService,
+                              CategoryEngine categoryEngine, MerchantNormalizationService merchantNormalizationService,
+                              CategoryTotalsService categoryTotalsService) {
         this.transactionRepository = transactionRepository;
         this.accountService = accountService;
+        this.categoryEngine = categoryEngine;
+        this.merchantNormalizationService = merchantNormalizationService;
+        this.categoryTotalsService = categoryTotalsService;
     }
 
     public List<Transaction> getUserTransactions(Long userId) {
@@ -39,6 +60,58 @@ public class TransactionService {
         return transactionRepository.searchTransactions(userId, searchTerm);
     }
 
+    /**
+     * Keyset-paginated listing ordered by (transactionDate, id) descending.
+     * The cursor is the opaque token returned as nextCursor by the previous page.
+     */
+    public TransactionPage getTransactionPage(Long userId, Long accountId, String search, String cursor, Integer limit) {
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        LocalDate cursorDate = FIRST_PAGE_DATE;
+        long cursorId = FIRST_PAGE_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] decoded = decodeCursor(cursor);
+            cursorDate = LocalDate.parse(decoded[0]);
+            cursorId = Long.parseLong(decoded[1]);
+        }
+
+        // Fetch one extra row to know whether another page exists without a count query
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<Transaction> rows;
+        if (search != null && !search.trim().isEmpty()) {
+            rows = transactionRepository.searchPage(userId, search, cursorDate, cursorId, pageRequest);
+        } else if (accountId != null) {
+            rows = transactionRepository.findPageByUserIdAndAccountId(userId, accountId, cursorDate, cursorId, pageRequest);
+        } else {
+            rows = transactionRepository.findPageByUserId(userId, cursorDate, cursorId, pageRequest);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getTransactionDate(), last.getId());
+        }
+
+        return new TransactionPage(page, nextCursor, hasMore);
+    }
+
+    /** Largest merchants by total for the period; defaults to spending over the last 30 days. */
+    public List<MerchantTotal> getMerchantTotals(Long userId, String type, LocalDate startDate, LocalDate endDate, Integer limit) {
+        String resolvedType = type == null || type.isBlank() ? "out" : type.toLowerCase();
+        if (!List.of("in", "out").contains(resolvedType)) {
+            throw new IllegalArgumentException("Invalid transaction type. Must be 'in' or 'out'");
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(30);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        int size = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return transactionRepository.findMerchantTotals(userId, resolvedType, start, end, PageRequest.of(0, size));
+    }
+
     public Transaction getTransactionById(Long transactionId, Long userId) {
         return transactionRepository.findByIdAndUserId(transactionId, userId)
             .orElseThrow(() -> new IllegalArgumentException("Transaction not found"));
@@ -71,18 +144,21 @@ public class TransactionService {
         transaction.setAccountId(accountId);
         transaction.setTransactionDate(transactionDate != null ? transactionDate : LocalDate.now());
         transaction.setAmount(amount);
-        transaction.setCategory(category);
+        String institution = isBlank(category) ? accountService.getInstitution(accountId, userId) : null;
+        transaction.setCategory(resolveCategory(userId, institution, category, merchant, note));
         transaction.setType(type.toLowerCase());
         transaction.setNote(note);
         transaction.setMerchant(merchant);
+        merchantNormalizationService.applyEntered(transaction);
         transaction.setCreatedAt(LocalDateTime.now());
         transaction.setUpdatedAt(LocalDateTime.now());
 
         Transaction saved = transactionRepository.save(transaction);
+        categoryTotalsService.record(List.of(transaction));
 
         // Update account balance if requested
         if (updateBalance && accountId != null) {
-            updateAccountBalance(accountId, userId, amount, type);
+            accountService.adjustBalance(accountId, userId, balanceDelta(amount, type));
         }
 
         return saved;
@@ -101,6 +177,8 @@ public class TransactionService {
         String merchant
     ) {
         Transaction transaction = getTransactionById(transactionId, userId);
+        // Take the row out of the monthly totals as it was, and put it back as it ends up
+        CategoryTotalsService.Delta totals = new CategoryTotalsService.Delta().remove(transaction);
 
         if (accountId != null) {
             transaction.setAccountId(accountId);
@@ -125,10 +203,13 @@ public class TransactionService {
         }
         if (merchant != null) {
             transaction.setMerchant(merchant);
+            merchantNormalizationService.applyEntered(transaction);
         }
         transaction.setUpdatedAt(LocalDateTime.now());
 
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        categoryTotalsService.apply(totals.add(transaction));
+        return saved;
     }
 
 @Transactional
@@ -139,16 +220,15 @@ public void deleteTransaction(Long transactionId, Long userId) {
     if (transaction.getAccountId() != null) {
         // Reverse the original transaction's effect on the account balance
         // If it was income ("in"), subtract it; if expense ("out"), add it back
-        String reverseType = transaction.getType().equals("in") ? "out" : "in";
-        updateAccountBalance(
-            transaction.getAccountId(), 
-            userId, 
-            transaction.getAmount(), 
-            reverseType
+        accountService.adjustBalance(
+            transaction.getAccountId(),
+            userId,
+            balanceDelta(transaction.getAmount(), transaction.getType()).negate()
         );
     }
     
     transactionRepository.delete(transaction);
+    categoryTotalsService.reverse(List.of(transaction));
 }
 
 @Transactional
@@ -169,76 +249,96 @@ public void deleteTransactions(List<Long> transactionIds, Long userId) {
     
     for (Transaction transaction : transactionsToDelete) {
         if (transaction.getAccountId() != null) {
-            Long accountId = transaction.getAccountId();
-            BigDecimal currentChange = accountBalanceChanges.getOrDefault(accountId, BigDecimal.ZERO);
-            
             // Reverse the transaction effect on balance
             // If it was income (in), we subtract it
             // If it was expense (out), we add it back
-            if ("in".equals(transaction.getType().toLowerCase())) {
-                currentChange = currentChange.subtract(transaction.getAmount());
-            } else {
-                currentChange = currentChange.add(transaction.getAmount());
-            }
-            
-            accountBalanceChanges.put(accountId, currentChange);
+            BigDecimal reversal = balanceDelta(transaction.getAmount(), transaction.getType()).negate();
+            accountBalanceChanges.merge(transaction.getAccountId(), reversal, BigDecimal::add);
         }
     }
 
-    // Apply balance changes to all affected accounts
-    for (Map.Entry<Long, BigDecimal> entry : accountBalanceChanges.entrySet()) {
-        Long accountId = entry.getKey();
-        BigDecimal balanceChange = entry.getValue();
-        
-        if (balanceChange.compareTo(BigDecimal.ZERO) != 0) {
-            Account account = accountService.getAccountById(accountId, userId);
-            BigDecimal newBalance = account.getBalance().add(balanceChange);
-            accountService.updateBalance(accountId, userId, newBalance);
-        }
-    }
+    // One atomic UPDATE per affected account
+    accountService.applyBalanceDeltas(userId, accountBalanceChanges);
 
     // Delete all transactions
     transactionRepository.deleteAll(transactionsToDelete);
+    categoryTotalsService.reverse(transactionsToDelete);
 }
 
     @Transactional
     public List<Transaction> createBulkTransactions(Long userId, List<Transaction> transactions, boolean updateBalance) {
+        // Institutions select category rules; one query covers every account, and only when a category is missing
+        Map<Long, String> institutionsByAccount = new HashMap<>();
+        if (transactions.stream().anyMatch(t -> t.getAccountId() != null && isBlank(t.getCategory()))) {
+            for (Account account : accountService.getUserAccounts(userId)) {
+                institutionsByAccount.put(account.getId(), account.getInstitution());
+            }
+        }
+
         for (Transaction transaction : transactions) {
             transaction.setUserId(userId);
+            String institution = institutionsByAccount.get(transaction.getAccountId());
+            transaction.setCategory(resolveCategory(userId, institution, transaction.getCategory(), transaction.getMerchant(), transaction.getNote()));
+            merchantNormalizationService.applyEntered(transaction);
             transaction.setCreatedAt(LocalDateTime.now());
             transaction.setUpdatedAt(LocalDateTime.now());
         }
 
         List<Transaction> saved = transactionRepository.saveAll(transactions);
+        categoryTotalsService.record(transactions);
 
-        // Update account balances if requested
+        // Update account balances if requested, aggregated per account
         if (updateBalance) {
+            Map<Long, BigDecimal> accountBalanceChanges = new HashMap<>();
             for (Transaction transaction : saved) {
                 if (transaction.getAccountId() != null) {
-                    updateAccountBalance(
-                        transaction.getAccountId(), 
-                        userId, 
-                        transaction.getAmount(), 
-                        transaction.getType()
+                    accountBalanceChanges.merge(
+                        transaction.getAccountId(),
+                        balanceDelta(transaction.getAmount(), transaction.getType()),
+                        BigDecimal::add
                     );
                 }
             }
+            accountService.applyBalanceDeltas(userId, accountBalanceChanges);
         }
 
         return saved;
     }
 
-    private void updateAccountBalance(Long accountId, Long userId, BigDecimal amount, String type) {
-        Account account = accountService.getAccountById(accountId, userId);
-        BigDecimal currentBalance = account.getBalance();
-        BigDecimal newBalance;
-
-        if ("in".equals(type.toLowerCase())) {
-            newBalance = currentBalance.add(amount);
-        } else {
-            newBalance = currentBalance.subtract(amount);
+    // Blank categories are inferred from merchant and note using the user's and the account institution's rules
+    private String resolveCategory(Long userId, String institution, String category, String merchant, String note) {
+        if (!isBlank(category)) {
+            return category;
         }
+        return categoryEngine.categorize(userId, institution, CategoryEngine.describe(merchant, note));
+    }
 
-        accountService.updateBalance(accountId, userId, newBalance);
+    private static boolean isBlank(String category) {
+        return category == null || category.trim().isEmpty();
     }
-}
\ No newline at end of file
+
+    // Signed effect of a transaction on its account: income adds, expense subtracts
+    private BigDecimal balanceDelta(BigDecimal amount, String type) {
+        return "in".equals(type.toLowerCase()) ? amount : amount.negate();
+    }
+
+    private String encodeCursor(LocalDate date, Long id) {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package backend.service;
+
+/**
+ * Published by CategoryTotalsService when created, changed or deleted transactions move a user's
+ * monthly totals, so derived data such as cached budget spending can be dropped.
+ * Listeners run after the writing transaction commits.
+ */
+public record TransactionsChangedEvent(Long userId) {}
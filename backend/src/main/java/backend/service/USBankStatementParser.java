@@ -0,0 +1,114 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * U.S. Bank layout: "Deposits / Credits" and "Other Withdrawals" sections with "Mon dd" dated rows.
+ */
+@Component
+@Order(3)
+public class USBankStatementParser implements StatementParser {
+
+    private static final Pattern US_BANK_DEPOSITS = Pattern.compile(
+        "Deposits I Credits\\s*\\n.*?\\n(.*?)(?=Other Withdrawals|Total|$)",
+        Pattern.DOTALL | Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern US_BANK_WITHDRAWALS = Pattern.compile(
+        "Other Withdrawals.*?\\n.*?\\n(.*?)(?=Page|BALANCE|$)",
+        Pattern.DOTALL | Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern US_BANK_LINE = Pattern.compile("^(\\w+)\\s+(\\d{1,2})\\s+(.+?)\\s+([\\d,]+\\.\\d{2})-?\\s*$");
+
+    @Override
+    public String name() {
+        return "us-bank";
+    }
+
+    @Override
+    public int score(StatementFingerprint fingerprint) {
+        int score = 0;
+        if (fingerprint.contains("deposits i credits")) {
+            score += 8;
+        }
+        if (fingerprint.contains("other withdrawals")) {
+            score += 4;
+        }
+        return score;
+    }
+
+    @Override
+    public List<ParsedTransaction> parse(String text, int year) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        
+        Matcher depositsMatcher = US_BANK_DEPOSITS.matcher(text);
+        
+        if (depositsMatcher.find()) {
+            transactions.addAll(parseUSBankLines(depositsMatcher.group(1), year, false));
+        }
+        
+        Matcher withdrawalsMatcher = US_BANK_WITHDRAWALS.matcher(text);
+        
+        if (withdrawalsMatcher.find()) {
+            transactions.addAll(parseUSBankLines(withdrawalsMatcher.group(1), year, true));
+        }
+        
+        return transactions;
+    }
+
+    private List<ParsedTransaction> parseUSBankLines(String section, int year, boolean isWithdrawal) {
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        String[] lines = StatementParsing.LINE_BREAK.split(section);
+        Matcher lineMatcher = US_BANK_LINE.matcher("");
+        
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("Total")) continue;
+            
+            lineMatcher.reset(line);
+            
+            if (lineMatcher.matches()) {
+                String month = lineMatcher.group(1);
+                String day = lineMatcher.group(2);
+                String description = lineMatcher.group(3).trim();
+                String amountStr = lineMatcher.group(4);
+                
+                String dateStr = convertMonthToNumber(month) + "/" + day;
+                LocalDate date = StatementParsing.parseDate(dateStr, year);
+                BigDecimal amount = StatementParsing.parseAmount(amountStr);
+                String type = isWithdrawal ? "out" : "in";
+                
+                transactions.add(new ParsedTransaction(date, description, amount, type));
+            }
+        }
+        
+        return transactions;
+    }
+
+    private String convertMonthToNumber(String month) {
+        month = month.toLowerCase();
+        switch (month) {
+            case "jan": case "january": return "1";
+            case "feb": case "february": return "2";
+            case "mar": case "march": return "3";
+            case "apr": case "april": return "4";
+            case "may": return "5";
+            case "jun": case "june": return "6";
+            case "jul": case "july": return "7";
+            case "aug": case "august": return "8";
+            case "sep": case "sept": case "september": return "9";
+            case "oct": case "october": return "10";
+            case "nov": case "november": return "11";
+            case "dec": case "december": return "12";
+            default: return "1";
+        }
+    }
+}
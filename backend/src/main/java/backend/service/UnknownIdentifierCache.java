@@ -0,0 +1,119 @@
+package backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * Usernames and emails that recently matched no user, so repeated sign-in, reset and resend
+ * attempts for them (credential stuffing, typos retried) are refused without a query. Keys are
+ * lower-cased like the lookup. Entries expire after ttl, and are dropped once a
+ * UserIdentifiersChangedEvent naming them commits; the map is an LRU bounded by maxEntries.
+ * Per node only: another node may answer "unknown" for up to ttl after a registration elsewhere.
+ * As in BudgetSpendingCache, add only succeeds if the identifier was not invalidated since the caller's stamp.
+ */
+@Component
+public class UnknownIdentifierCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<String, Instant> expiresAt = new LinkedHashMap<>(16, 0.75f, true);
+    private final InvalidationGenerations<String> invalidations; // guarded by this
+
+    private final Counter hitCounter;
+
+    @Autowired
+    public UnknownIdentifierCache(
+        MeterRegistry meterRegistry,
+        @Value("${auth.unknown-cache.max-entries:10000}") int maxEntries,
+        @Value("${auth.unknown-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this(meterRegistry, maxEntries, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    UnknownIdentifierCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.invalidations = new InvalidationGenerations<>(Math.max(maxEntries, 1024));
+
+        this.hitCounter = meterRegistry.counter("auth.unknown-cache.hits");
+        Gauge.builder("auth.unknown-cache.size", this, UnknownIdentifierCache::size)
+            .description("Recently unknown usernames and emails")
+            .register(meterRegistry);
+    }
+
+    /** Token to pass to add; take it before querying for the identifier. */
+    public synchronized long stamp() {
+        return invalidations.stamp();
+    }
+
+    public boolean isUnknown(String identifier) {
+        String key = key(identifier);
+        Instant now = clock.instant();
+        synchronized (this) {
+            Instant expiry = expiresAt.get(key);
+            if (expiry == null) {
+                return false;
+            }
+            if (!expiry.isAfter(now)) {
+                expiresAt.remove(key);
+                return false;
+            }
+        }
+        hitCounter.increment();
+        return true;
+    }
+
+    public void add(String identifier, long stamp) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        String key = key(identifier);
+        Instant expiry = clock.instant().plus(ttl);
+        synchronized (this) {
+            if (invalidations.isStale(key, stamp)) {
+                return;
+            }
+            expiresAt.put(key, expiry);
+            Iterator<String> eldest = expiresAt.keySet().iterator();
+            while (expiresAt.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIdentifiersChanged(UserIdentifiersChangedEvent event) {
+        synchronized (this) {
+            for (String identifier : event.identifiers()) {
+                if (identifier != null) {
+                    String key = key(identifier);
+                    invalidations.invalidate(key);
+                    expiresAt.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return expiresAt.size();
+    }
+
+    private static String key(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+}
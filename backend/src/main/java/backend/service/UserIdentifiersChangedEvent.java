@@ -0,0 +1,6 @@
+package backend.service;
+
+import java.util.List;
+
+/** Published when usernames or emails start to exist: registration, username change, email change. */
+public record UserIdentifiersChangedEvent(List<String> identifiers) {}
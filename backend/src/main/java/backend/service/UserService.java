@@ -6,42 +6,62 @@ import backend.entity.Transaction;
 import backend.repository.UserRepository;
 import backend.repository.AccountRepository;
 import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.ExportRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+    private static final String CSV_HEADER = "id,accountId,date,amount,category,type,note,merchant,createdAt";
+
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHasher;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserService(
         UserRepository userRepository,
         AccountRepository accountRepository,
         TransactionRepository transactionRepository,
-        EmailService emailService
+        PasswordHashingService passwordHasher,
+        EmailService emailService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.passwordHasher = passwordHasher;
         this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== PROFILE MANAGEMENT ====================
@@ -91,6 +111,7 @@ public class UserService {
         User savedUser = userRepository.save(user);
         
         if (emailChanged) {
+            publishIdentifiersChanged(savedUser.getEmail());
             System.out.println("Email changed for user " + userId + " from " + oldEmail + " to " + email);
         }
         
@@ -102,7 +123,7 @@ public class UserService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHasher.matches(currentPassword, user.getPasswordHash())) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
@@ -110,11 +131,11 @@ public class UserService {
             throw new IllegalArgumentException("New password must be at least 8 characters long");
         }
 
-        if (passwordEncoder.matches(newPassword, user.getPasswordHash())) {
+        if (passwordHasher.matches(newPassword, user.getPasswordHash())) {
             throw new IllegalArgumentException("New password must be different from current password");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHasher.encode(newPassword));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
     }
@@ -124,7 +145,7 @@ public class UserService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Password is incorrect");
         }
 
@@ -244,6 +265,139 @@ public class UserService {
         return data;
     }
 
+    /**
+     * Streaming export: writes rows straight to the output as they come off a database cursor,
+     * so memory stays flat however long the history is.
+     * ndjson emits profile, account and transaction records; csv emits transactions only.
+     */
+    @Transactional(readOnly = true)
+    public void streamUserData(Long userId, String format, OutputStream out) throws IOException {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Export format must be 'ndjson' or 'csv'");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<ExportRow> rows = transactionRepository.streamExportRows(userId)) {
+            if (csv) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                rows.forEach(row -> writeCsvRow(writer, row));
+            } else {
+                JsonGenerator json = JSON_FACTORY.createGenerator(writer);
+                writeProfileRecord(json, user);
+                for (Account acc : accountRepository.findByUserId(userId)) {
+                    writeAccountRecord(json, acc);
+                }
+                rows.forEach(row -> writeTransactionRecord(json, row));
+                json.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeProfileRecord(JsonGenerator json, User user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("record", "profile");
+        json.writeNumberField("id", user.getId());
+        json.writeStringField("username", user.getUsername());
+        json.writeStringField("email", user.getEmail());
+        json.writeStringField("firstName", user.getFirstName());
+        json.writeStringField("lastName", user.getLastName());
+        json.writeObjectField("isEmailVerified", user.getIsEmailVerified());
+        writeNumber(json, "savingsGoal", user.getSavingsGoal());
+        writeString(json, "createdAt", user.getCreatedAt());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeAccountRecord(JsonGenerator json, Account acc) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("record", "account");
+        json.writeNumberField("id", acc.getId());
+        json.writeStringField("name", acc.getName());
+        json.writeStringField("type", acc.getType());
+        writeNumber(json, "balance", acc.getBalance());
+        json.writeStringField("institution", acc.getInstitution());
+        json.writeStringField("accountNumber", acc.getAccountNumber());
+        writeString(json, "createdAt", acc.getCreatedAt());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeTransactionRecord(JsonGenerator json, ExportRow row) {
+        try {
+            json.writeStartObject();
+            json.writeStringField("record", "transaction");
+            json.writeNumberField("id", row.getId());
+            json.writeObjectField("accountId", row.getAccountId());
+            writeString(json, "date", row.getTransactionDate());
+            writeNumber(json, "amount", row.getAmount());
+            json.writeStringField("category", row.getCategory());
+            json.writeStringField("type", row.getType());
+            json.writeStringField("note", row.getNote());
+            json.writeStringField("merchant", row.getMerchant());
+            writeString(json, "createdAt", row.getCreatedAt());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvRow(Writer writer, ExportRow row) {
+        try {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getAccountId() != null ? row.getAccountId().toString() : "");
+            writer.write(',');
+            writer.write(String.valueOf(row.getTransactionDate()));
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(csvField(row.getCategory()));
+            writer.write(',');
+            writer.write(row.getType());
+            writer.write(',');
+            writer.write(csvField(row.getNote()));
+            writer.write(',');
+            writer.write(csvField(row.getMerchant()));
+            writer.write(',');
+            writer.write(row.getCreatedAt() != null ? row.getCreatedAt().toString() : "");
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(JsonGenerator json, String field, Object value) throws IOException {
+        json.writeStringField(field, value != null ? value.toString() : null);
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, BigDecimal value) throws IOException {
+        json.writeFieldName(field);
+        if (value != null) {
+            json.writeNumber(value);
+        } else {
+            json.writeNull();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     // ==================== HELPER METHODS ====================
 
     private String buildFullName(String firstName, String lastName) {
@@ -271,7 +425,9 @@ public class UserService {
     }
 
     public User createUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        publishIdentifiersChanged(savedUser.getUsername(), savedUser.getEmail());
+        return savedUser;
     }
 
     public User updateUser(Long id, User updatedUser) {
@@ -283,11 +439,21 @@ public class UserService {
             user.setIsActive(updatedUser.getIsActive());
             user.setIsEmailVerified(updatedUser.getIsEmailVerified());
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            publishIdentifiersChanged(savedUser.getUsername(), savedUser.getEmail());
+            return savedUser;
         }).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
     }
+
+    // Identifiers that now resolve to a user must not stay cached as unknown logins
+    private void publishIdentifiersChanged(String... identifiers) {
+        List<String> named = Arrays.stream(identifiers).filter(Objects::nonNull).toList();
+        if (!named.isEmpty()) {
+            eventPublisher.publishEvent(new UserIdentifiersChangedEvent(named));
+        }
+    }
 }
\ No newline at end of file
@@ -1,28 +1,71 @@
 package backend.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HS256 tokens. The signing key and parser are built once, on first use.
+ * Tokens that passed verify() are remembered by their SHA-256 until they expire, in an LRU map
+ * bounded by jwt.cache.max-entries, so a client sending the same token skips the HMAC and JSON work.
+ */
 @Component
 public class JwtUtil {
 
+    /** The claims of a verified token that requests need, read once. */
+    public record VerifiedToken(String username, Long userId, String email, Date expiration) {
+
+        public boolean isExpired() {
+            return expiration != null && !expiration.after(new Date());
+        }
+    }
+
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries = 10_000;
+
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    private final LinkedHashMap<String, VerifiedToken> verified = new LinkedHashMap<>(16, 0.75f, true);
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = current;
+        }
+        return current;
     }
 
     // Generate token with username
@@ -67,13 +110,63 @@ public class JwtUtil {
     }
 
     // Extract all claims
-    public Claims extractAllClaims(String token) {  // Changed from private to public
-    return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-}
+    public Claims extractAllClaims(String token) {
+        return getParser().parseSignedClaims(token).getPayload();
+    }
+
+    // Verify signature and expiry with a single parse; empty for invalid or expired tokens
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        synchronized (verified) {
+            VerifiedToken cached = verified.get(key);
+            if (cached != null) {
+                if (!cached.isExpired()) {
+                    return Optional.of(cached);
+                }
+                verified.remove(key);
+            }
+        }
+
+        VerifiedToken result;
+        try {
+            Claims claims = extractAllClaims(token);
+            result = new VerifiedToken(claims.getSubject(), toUserId(claims.get("userId")),
+                claims.get("email", String.class), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (result.username() == null || result.isExpired()) {
+            return Optional.empty();
+        }
+
+        if (cacheMaxEntries > 0) {
+            synchronized (verified) {
+                verified.put(key, result);
+                Iterator<String> eldest = verified.keySet().iterator();
+                while (verified.size() > cacheMaxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static Long toUserId(Object claim) {
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        return claim != null ? Long.parseLong(claim.toString()) : null;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
     // Check if token is expired
     private Boolean isTokenExpired(String token) {
@@ -82,8 +175,8 @@ public class JwtUtil {
 
     // Validate token
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
     // Validate token without username
@@ -0,0 +1,64 @@
+package backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuthenticatedUserArgumentResolverTest {
+
+    private final AuthenticatedUserArgumentResolver resolver = new AuthenticatedUserArgumentResolver();
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+    }
+
+    @Test
+    void supportsParameter_ShouldOnlyAcceptAuthenticatedUser() throws NoSuchMethodException {
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isFalse();
+    }
+
+    @Test
+    void resolveArgument_WithUserPrincipal_ShouldReturnIt() throws NoSuchMethodException {
+        AuthenticatedUser user = new AuthenticatedUser(7L, "testuser", "test@test.com");
+        request.setUserPrincipal(new UsernamePasswordAuthenticationToken(user, null, null));
+
+        assertThat(resolver.resolveArgument(parameter(0), null, new ServletWebRequest(request), null))
+            .isSameAs(user);
+    }
+
+    @Test
+    void resolveArgument_WithoutAuthentication_ShouldThrowException() {
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter(0), null, new ServletWebRequest(request), null))
+            .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    @Test
+    void resolveArgument_WithOtherPrincipal_ShouldThrowException() {
+        request.setUserPrincipal(new UsernamePasswordAuthenticationToken("testuser", null, null));
+
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter(0), null, new ServletWebRequest(request), null))
+            .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        Method method = getClass().getDeclaredMethod("handler", AuthenticatedUser.class, Authentication.class);
+        return new MethodParameter(method, index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(AuthenticatedUser user, Authentication auth) {
+    }
+}
@@ -1,7 +1,7 @@
 package backend.config;
 
 import backend.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import backend.util.JwtUtil.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +15,8 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.Date;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -46,18 +48,29 @@ class JwtAuthenticationFilterTest {
         String token = "valid.jwt.token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        Claims claims = mock(Claims.class);
-        when(claims.get("userId")).thenReturn(1L);
-        when(claims.get("email")).thenReturn("test@test.com");
-
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.validateToken(token, "testuser")).thenReturn(true);
-        when(jwtUtil.extractAllClaims(token)).thenReturn(claims);
+        when(jwtUtil.verify(token)).thenReturn(Optional.of(
+            new VerifiedToken("testuser", 1L, "test@test.com", new Date(System.currentTimeMillis() + 60_000))));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("testuser");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+            .isEqualTo(new AuthenticatedUser(1L, "testuser", "test@test.com"));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithTokenWithoutUserId_ShouldNotSetAuthentication() throws ServletException, IOException {
+        String token = "legacy.jwt.token";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.verify(token)).thenReturn(Optional.of(
+            new VerifiedToken("testuser", null, null, new Date(System.currentTimeMillis() + 60_000))));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
     }
 
@@ -74,7 +87,7 @@ class JwtAuthenticationFilterTest {
         String token = "invalid.token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtil.extractUsername(token)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtUtil.verify(token)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -87,8 +100,7 @@ class JwtAuthenticationFilterTest {
         String token = "expired.token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-        when(jwtUtil.validateToken(token, "testuser")).thenReturn(false);
+        when(jwtUtil.verify(token)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -111,8 +123,6 @@ class JwtAuthenticationFilterTest {
         String token = "valid.jwt.token";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtil.extractUsername(token)).thenReturn("testuser");
-
         var existingAuth =
                 new org.springframework.security.authentication.UsernamePasswordAuthenticationToken(
                         "existinguser", null);
@@ -123,6 +133,7 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
                 .isEqualTo("existinguser");
 
+        verifyNoInteractions(jwtUtil);
         verify(filterChain).doFilter(request, response);
     }
 }
@@ -1,5 +1,6 @@
 package backend.controller;
 
+import backend.config.AuthenticatedUser;
 import backend.controller.BudgetController.BudgetRequest;
 import backend.entity.Budget;
 import backend.service.BudgetService;
@@ -104,7 +105,7 @@ class BudgetControllerTest {
         request.amount = new BigDecimal("500.00");
         request.periodType = "monthly";
 
-        when(budgetService.createBudget(anyLong(), eq("Groceries"), any(BigDecimal.class), eq("monthly")))
+        when(budgetService.createBudget(anyLong(), eq("Groceries"), any(BigDecimal.class), eq("monthly"), isNull(), isNull()))
                 .thenReturn(testBudget);
 
         mockMvc.perform(post("/api/budgets")
@@ -122,7 +123,7 @@ class BudgetControllerTest {
         request.amount = new BigDecimal("-100");
         request.periodType = "monthly";
 
-        when(budgetService.createBudget(anyLong(), anyString(), any(BigDecimal.class), anyString()))
+        when(budgetService.createBudget(anyLong(), anyString(), any(BigDecimal.class), anyString(), any(), any()))
                 .thenThrow(new IllegalArgumentException("Amount must be greater than zero"));
 
         mockMvc.perform(post("/api/budgets")
@@ -140,7 +141,7 @@ class BudgetControllerTest {
         request.amount = new BigDecimal("600.00");
         request.periodType = "yearly";
 
-        when(budgetService.updateBudget(eq(1L), anyLong(), eq("Food"), any(BigDecimal.class), eq("yearly")))
+        when(budgetService.updateBudget(eq(1L), anyLong(), eq("Food"), any(BigDecimal.class), eq("yearly"), isNull(), isNull()))
                 .thenReturn(testBudget);
 
         mockMvc.perform(put("/api/budgets/1")
@@ -172,15 +173,11 @@ class BudgetControllerTest {
     }
 
     private org.springframework.test.web.servlet.request.RequestPostProcessor createAuthenticationToken() {
-        Map<String, Object> details = new HashMap<>();
-        details.put("userId", 1L);
-        
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-            "testuser",
+            new AuthenticatedUser(1L, "testuser", "test@test.com"),
             "password",
             Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
-        auth.setDetails(details);
         
         return authentication(auth);
     }
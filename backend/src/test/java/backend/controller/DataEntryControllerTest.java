@@ -28,27 +28,35 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import backend.config.AuthenticatedUser;
 import backend.controller.DataEntryController.AccountRequest;
 import backend.controller.DataEntryController.TransactionRequest;
 import backend.entity.Account;
 import backend.entity.Transaction;
 import backend.service.AccountService;
+import backend.service.CategoryEngine;
 import backend.service.PDFParserService;
 import backend.service.PDFParserService.ParsedStatement;
 import backend.service.PDFParserService.ParsedTransaction;
+import backend.service.TransactionImportService;
+import backend.service.TransactionImportService.ImportResult;
 import backend.service.TransactionService;
 
-@SpringBootTest
+// Uploads share bytes across tests, so keep parse results from being served out of the cache
+@SpringBootTest(properties = "statement.cache.max-entries=0")
 @AutoConfigureMockMvc
 class DataEntryControllerTest {
 
@@ -67,6 +75,12 @@ class DataEntryControllerTest {
     @MockBean
     private PDFParserService pdfParserService;
 
+    @MockBean
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private CategoryEngine categoryEngine;
+
     private Account testAccount;
     private Transaction testTransaction;
     private Authentication authentication;
@@ -89,15 +103,9 @@ class DataEntryControllerTest {
         testTransaction.setType("out");
         testTransaction.setTransactionDate(LocalDate.now());
 
-        // Create authentication with userId in details
-        Map<String, Object> details = new HashMap<>();
-        details.put("userId", 1L);
-        
-        UsernamePasswordAuthenticationToken auth = 
-            new UsernamePasswordAuthenticationToken("testuser", null, null);
-        auth.setDetails(details);
-        
-        authentication = auth;
+        // Create authentication with the user as principal
+        authentication = new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(1L, "testuser", "test@test.com"), null, null);
         
         // Set up SecurityContext
         SecurityContext context = SecurityContextHolder.createEmptyContext();
@@ -321,29 +329,68 @@ void updateTransaction_WithValidData_ShouldUpdateTransaction() throws Exception
         
         statement.transactions = Arrays.asList(tx1, tx2);
 
-        when(pdfParserService.parseStatement(any())).thenReturn(statement);
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(statement);
 
-        mockMvc.perform(multipart("/api/data/upload-statement")
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/data/upload-statement")
                 .file(file)
                 .param("accountId", "1")
                 .principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountName").value("Checking Account"))
                 .andExpect(jsonPath("$.transactionCount").value(2));
     }
 
+    @Test
+    void uploadStatement_ShouldApplyAccountInstitutionRules() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "statement.pdf", "application/pdf", "Institution rule PDF".getBytes()
+        );
+
+        ParsedStatement statement = new ParsedStatement();
+        statement.accountName = "Checking Account";
+        statement.transactions = Arrays.asList(new ParsedTransaction(
+            LocalDate.now(),
+            "ZELLE TO QUARTERLY DUES",
+            new BigDecimal("25.00"),
+            "out"
+        ));
+
+        categoryEngine.addRule(null, "Preview Credit Union", "quarterly dues", null, "Memberships", null);
+        when(accountService.getInstitution(1L, 1L)).thenReturn("Preview Credit Union");
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(statement);
+
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/data/upload-statement")
+                .file(file)
+                .param("accountId", "1")
+                .principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].category").value("Memberships"));
+    }
+
     @Test
     void uploadStatement_WithInvalidPdf_ShouldReturnBadRequest() throws Exception {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "statement.pdf", "application/pdf", "Invalid".getBytes()
         );
 
-        when(pdfParserService.parseStatement(any()))
+        when(pdfParserService.parseStatementFile(any(), any()))
                 .thenThrow(new IllegalArgumentException("Invalid PDF format"));
 
-        mockMvc.perform(multipart("/api/data/upload-statement")
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/data/upload-statement")
                 .file(file)
                 .principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").exists());
     }
@@ -371,11 +418,15 @@ void updateTransaction_WithValidData_ShouldUpdateTransaction() throws Exception
         
         statement.transactions = Arrays.asList(tx1, tx2);
 
-        when(pdfParserService.parseStatement(any())).thenReturn(statement);
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(statement);
 
-        mockMvc.perform(multipart("/api/data/upload-statement")
+        MvcResult asyncResult = mockMvc.perform(multipart("/api/data/upload-statement")
                 .file(file)
                 .principal(authentication))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.transactionCount").value(1))
                 .andExpect(jsonPath("$.warning").value("1 transaction(s) had invalid dates and were excluded"));
@@ -387,8 +438,10 @@ void updateTransaction_WithValidData_ShouldUpdateTransaction() throws Exception
         request.put("transactions", Arrays.asList(testTransaction));
         request.put("updateBalance", true);
 
-        when(transactionService.createBulkTransactions(anyLong(), anyList(), anyBoolean()))
-                .thenReturn(Arrays.asList(testTransaction));
+        ImportResult result = new ImportResult();
+        result.imported = 1;
+        when(transactionImportService.importTransactions(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(result);
 
         mockMvc.perform(post("/api/data/import-transactions")
                 .principal(authentication)
@@ -397,4 +450,63 @@ void updateTransaction_WithValidData_ShouldUpdateTransaction() throws Exception
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.count").value(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void importTransactions_WithEveryRowSkipped_ShouldReturnUnprocessable() throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("transactions", Arrays.asList(testTransaction));
+
+        ImportResult result = new ImportResult();
+        result.skipped = 1;
+        result.errors.add("Row 1: Account not found");
+        when(transactionImportService.importTransactions(anyLong(), anyList(), anyBoolean()))
+                .thenReturn(result);
+
+        mockMvc.perform(post("/api/data/import-transactions")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.count").value(0))
+                .andExpect(jsonPath("$.errors[0]").value("Row 1: Account not found"));
+    }
+
+    @Test
+    void importTransactions_WithoutTransactions_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/data/import-transactions")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"updateBalance\": true}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("No transactions to import"));
+    }
+
+    @Test
+    void createCategoryRule_ShouldSaveRuleForCurrentUser() throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("keyword", "Planet Fitness");
+        request.put("category", "Health");
+
+        mockMvc.perform(post("/api/data/category-rules")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.keyword").value("planet fitness"))
+                .andExpect(jsonPath("$.userId").value(1));
+
+        mockMvc.perform(get("/api/data/category-rules").principal(authentication))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("Health"));
+    }
+
+    @Test
+    void createCategoryRule_WithoutKeyword_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/data/category-rules")
+                .principal(authentication)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"category\": \"Health\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Keyword is required"));
+    }
+}
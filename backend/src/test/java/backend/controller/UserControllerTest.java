@@ -37,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import backend.config.AuthenticatedUser;
 import backend.entity.User;
 import backend.service.UserService;
 
@@ -246,15 +247,11 @@ class UserControllerTest {
     }
 
     private org.springframework.test.web.servlet.request.RequestPostProcessor createAuthenticationToken() {
-        Map<String, Object> details = new HashMap<>();
-        details.put("userId", 1L);
-        
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-            "testuser",
+            new AuthenticatedUser(1L, "testuser", "test@test.com"),
             "password",
             Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
-        auth.setDetails(details);
         
         return authentication(auth);
     }
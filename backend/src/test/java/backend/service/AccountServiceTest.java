@@ -11,7 +11,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -143,6 +145,46 @@ class AccountServiceTest {
         ));
     }
 
+    @Test
+    void adjustBalance_ShouldIssueSingleDeltaUpdate() {
+        // Given
+        when(accountRepository.adjustBalance(eq(1L), eq(1L), any(BigDecimal.class), any(LocalDateTime.class)))
+            .thenReturn(1);
+
+        // When
+        accountService.adjustBalance(1L, 1L, new BigDecimal("-50.00"));
+
+        // Then
+        verify(accountRepository).adjustBalance(eq(1L), eq(1L), eq(new BigDecimal("-50.00")), any(LocalDateTime.class));
+        verify(accountRepository, never()).findByIdAndUserId(anyLong(), anyLong());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    void adjustBalance_WithUnknownAccount_ShouldThrowException() {
+        // Given
+        when(accountRepository.adjustBalance(eq(999L), eq(1L), any(BigDecimal.class), any(LocalDateTime.class)))
+            .thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> accountService.adjustBalance(999L, 1L, BigDecimal.TEN))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Account not found");
+    }
+
+    @Test
+    void applyBalanceDeltas_ShouldSkipZeroDeltas() {
+        // Given
+        when(accountRepository.adjustBalance(eq(1L), eq(1L), any(BigDecimal.class), any(LocalDateTime.class)))
+            .thenReturn(1);
+
+        // When
+        accountService.applyBalanceDeltas(1L, Map.of(1L, new BigDecimal("25.00"), 2L, BigDecimal.ZERO));
+
+        // Then
+        verify(accountRepository, times(1)).adjustBalance(anyLong(), anyLong(), any(BigDecimal.class), any(LocalDateTime.class));
+    }
+
     @Test
     void getAccountById_WithInvalidId_ShouldThrowException() {
         // Given
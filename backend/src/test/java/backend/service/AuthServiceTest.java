@@ -9,10 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -31,6 +35,16 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private PasswordHashingService passwordHasher =
+        new PasswordHashingService(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 2, 10, 5000, 200);
+
+    @Spy
+    private UnknownIdentifierCache unknownIdentifiers = new UnknownIdentifierCache(new SimpleMeterRegistry(), 100, 30);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -74,6 +88,7 @@ class AuthServiceTest {
             user.getIsEmailVerified() == false
         ));
         verify(emailService).sendVerificationEmail(eq("test@test.com"), anyString(), anyString());
+        verify(eventPublisher).publishEvent(new UserIdentifiersChangedEvent(List.of("testuser", "test@test.com")));
     }
 
     @Test
@@ -149,7 +164,7 @@ class AuthServiceTest {
         user.setIsEmailVerified(true);
         user.setIsActive(true);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findByLowerUsernameOrEmail("testuser")).thenReturn(List.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(jwtUtil.generateToken(eq("testuser"), any())).thenReturn("mock-jwt-token");
 
@@ -165,13 +180,73 @@ class AuthServiceTest {
         verify(userRepository).save(argThat(u -> u.getLastLoginAt() != null));
     }
 
+    @Test
+    void login_WithUnknownIdentifier_ShouldQueryOnceThenUseNegativeCache() {
+        // Given
+        when(userRepository.findByLowerUsernameOrEmail("nobody@test.com")).thenReturn(List.of());
+
+        // When/Then: the second attempt is refused without a query
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> authService.login("nobody@test.com", "password123"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid credentials");
+        }
+        verify(userRepository, times(1)).findByLowerUsernameOrEmail("nobody@test.com");
+        verify(userRepository, never()).findByUsername(any());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void login_AfterIdentifierRegistered_ShouldQueryAgain() {
+        // Given: unknown at first, then registered
+        User user = createTestUser();
+        user.setPasswordHash(passwordEncoder.encode("password123"));
+        user.setIsEmailVerified(true);
+        when(userRepository.findByLowerUsernameOrEmail("test@test.com"))
+            .thenReturn(List.of())
+            .thenReturn(List.of(user));
+        when(jwtUtil.generateToken(eq("testuser"), any())).thenReturn("mock-jwt-token");
+        assertThatThrownBy(() -> authService.login("Test@Test.com", "password123"))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        // When
+        unknownIdentifiers.onIdentifiersChanged(new UserIdentifiersChangedEvent(List.of("testuser", "test@test.com")));
+        AuthResponse response = authService.login("Test@Test.com", "password123");
+
+        // Then
+        assertThat(response.getToken()).isEqualTo("mock-jwt-token");
+    }
+
+    @Test
+    void findUser_WithCaseVariants_ShouldPreferExactSpelling() {
+        // Given: "Bob" and "bob" both exist
+        User upper = createTestUser();
+        upper.setUsername("Bob");
+        User lower = createTestUser();
+        lower.setUsername("bob");
+        when(userRepository.findByLowerUsernameOrEmail("bob")).thenReturn(List.of(upper, lower));
+
+        // Then
+        assertThat(authService.findUser("bob")).containsSame(lower);
+        assertThat(authService.findUser("Bob")).containsSame(upper);
+        assertThat(authService.findUser("BOB")).isEmpty();
+    }
+
+    @Test
+    void findUser_WithOneMatchInAnotherCase_ShouldReturnIt() {
+        User user = createTestUser();
+        when(userRepository.findByLowerUsernameOrEmail("test@test.com")).thenReturn(List.of(user));
+
+        assertThat(authService.findUser("TEST@test.com")).containsSame(user);
+    }
+
     @Test
     void login_WithInvalidPassword_ShouldThrowException() {
         // Given
         User user = createTestUser();
         user.setPasswordHash(passwordEncoder.encode("correctpassword"));
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findByLowerUsernameOrEmail("testuser")).thenReturn(List.of(user));
 
         // When/Then
         assertThatThrownBy(() -> authService.login("testuser", "wrongpassword"))
@@ -186,7 +261,7 @@ class AuthServiceTest {
         user.setPasswordHash(passwordEncoder.encode("password123"));
         user.setIsEmailVerified(false);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findByLowerUsernameOrEmail("testuser")).thenReturn(List.of(user));
 
         // When/Then
         assertThatThrownBy(() -> authService.login("testuser", "password123"))
@@ -201,7 +276,7 @@ class AuthServiceTest {
         user.setPasswordHash(passwordEncoder.encode("password123"));
         user.setIsActive(false);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findByLowerUsernameOrEmail("testuser")).thenReturn(List.of(user));
 
         // When/Then
         assertThatThrownBy(() -> authService.login("testuser", "password123"))
@@ -228,7 +303,9 @@ class AuthServiceTest {
         
         verify(userRepository).save(argThat(u -> 
             u.getIsEmailVerified() == true && 
-            u.getVerificationToken() == null
+            u.getVerificationToken() == null &&
+            "valid-token".equals(u.getConsumedVerificationToken()) &&
+            u.getEmailVerifiedAt() != null
         ));
     }
 
@@ -249,6 +326,41 @@ class AuthServiceTest {
         assertThat(response.getMessage()).contains("already verified");
     }
 
+    @Test
+    void verifyEmail_WithRecentlyConsumedToken_ShouldReturnAlreadyVerified() {
+        // Given: the link was used a minute ago
+        User user = createTestUser();
+        user.setIsEmailVerified(true);
+        user.setConsumedVerificationToken("used-token");
+        user.setEmailVerifiedAt(LocalDateTime.now().minusMinutes(1));
+
+        when(userRepository.findByVerificationToken("used-token")).thenReturn(Optional.empty());
+        when(userRepository.findByConsumedVerificationToken("used-token")).thenReturn(Optional.of(user));
+
+        // When
+        AuthResponse response = authService.verifyEmail("used-token");
+
+        // Then
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getUsername()).isEqualTo("testuser");
+        assertThat(response.getMessage()).contains("already verified");
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void verifyEmail_WithLongConsumedToken_ShouldThrowException() {
+        User user = createTestUser();
+        user.setIsEmailVerified(true);
+        user.setConsumedVerificationToken("used-token");
+        user.setEmailVerifiedAt(LocalDateTime.now().minusHours(1));
+
+        when(userRepository.findByConsumedVerificationToken("used-token")).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> authService.verifyEmail("used-token"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid or expired");
+    }
+
     @Test
     void verifyEmail_WithInvalidToken_ShouldThrowException() {
         // Given
@@ -264,7 +376,7 @@ class AuthServiceTest {
     void initiatePasswordReset_WithValidEmail_ShouldSendResetEmail() {
         // Given
         User user = createTestUser();
-        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByLowerUsernameOrEmail("test@test.com")).thenReturn(List.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
         doNothing().when(emailService).sendPasswordResetEmail(anyString(), anyString(), anyString());
 
@@ -0,0 +1,133 @@
+package backend.service;
+
+import backend.entity.Budget;
+import backend.service.BudgetPeriodEngine.Period;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BudgetPeriodEngineTest {
+
+    // A Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 13);
+
+    private final BudgetPeriodEngine engine = new BudgetPeriodEngine();
+
+    @Test
+    void periodFor_Monthly_ShouldBeCalendarMonth() {
+        assertThat(engine.periodFor(budget("monthly", null, null), TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    void periodFor_Yearly_ShouldBeCalendarYear() {
+        assertThat(engine.periodFor(budget("yearly", null, null), TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void periodFor_WeeklyWithoutAnchor_ShouldStartOnMonday() {
+        assertThat(engine.periodFor(budget("weekly", null, null), TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 3, 11), LocalDate.of(2024, 3, 18)));
+    }
+
+    @Test
+    void periodFor_WeeklyWithAnchor_ShouldStartOnAnchorWeekday() {
+        // Given: anchored on a Friday
+        Budget budget = budget("weekly", LocalDate.of(2024, 1, 5), null);
+
+        // Then
+        assertThat(engine.periodFor(budget, TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 3, 8), LocalDate.of(2024, 3, 15)));
+    }
+
+    @Test
+    void periodFor_Biweekly_ShouldCountCyclesFromAnchor() {
+        // Given: cycles start Feb 16, Mar 1, Mar 15
+        Budget budget = budget("biweekly", LocalDate.of(2024, 2, 16), null);
+
+        // Then
+        assertThat(engine.periodFor(budget, TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 15)));
+    }
+
+    @Test
+    void periodFor_BiweeklyWithAnchorInFuture_ShouldCountBackwards() {
+        Budget budget = budget("biweekly", LocalDate.of(2024, 3, 20), null);
+
+        assertThat(engine.periodFor(budget, TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 20)));
+    }
+
+    @Test
+    void periodFor_PayCycleBeforePayday_ShouldStartLastMonth() {
+        Budget budget = budget("pay-cycle", LocalDate.of(2023, 11, 25), null);
+
+        assertThat(engine.periodFor(budget, TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 2, 25), LocalDate.of(2024, 3, 25)));
+    }
+
+    @Test
+    void periodFor_PayCycleOnLateDay_ShouldClampToShortMonths() {
+        // Given: paid on the 31st; February ends on the 29th and April on the 30th
+        Budget budget = budget("pay-cycle", LocalDate.of(2024, 1, 31), null);
+
+        // Then
+        assertThat(engine.periodFor(budget, TODAY))
+            .isEqualTo(new Period(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31)));
+        assertThat(engine.periodFor(budget, LocalDate.of(2024, 4, 30)))
+            .isEqualTo(new Period(LocalDate.of(2024, 4, 30), LocalDate.of(2024, 5, 31)));
+    }
+
+    @Test
+    void periodFor_Rolling_ShouldEndToday() {
+        Period period = engine.periodFor(budget("rolling", null, 7), TODAY);
+
+        assertThat(period).isEqualTo(new Period(LocalDate.of(2024, 3, 7), LocalDate.of(2024, 3, 14)));
+        assertThat(period.contains(TODAY)).isTrue();
+        assertThat(period.contains(LocalDate.of(2024, 3, 6))).isFalse();
+    }
+
+    @Test
+    void periodsFor_ShouldKeepBudgetOrder() {
+        List<Period> periods = engine.periodsFor(List.of(budget("yearly", null, null), budget("weekly", null, null)), TODAY);
+
+        assertThat(periods).extracting(Period::start)
+            .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 11));
+    }
+
+    @Test
+    void validate_WithUnknownType_ShouldThrowException() {
+        assertThatThrownBy(() -> engine.validate("fortnightly", null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Period type must be one of");
+    }
+
+    @Test
+    void validate_PayCycleWithoutAnchor_ShouldThrowException() {
+        assertThatThrownBy(() -> engine.validate("pay-cycle", null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("period anchor");
+    }
+
+    @Test
+    void validate_RollingOutOfRange_ShouldThrowException() {
+        assertThatThrownBy(() -> engine.validate("rolling", null, 400))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("between 1 and 366");
+        assertThatCode(() -> engine.validate("rolling", null, 30)).doesNotThrowAnyException();
+    }
+
+    private Budget budget(String periodType, LocalDate anchor, Integer lengthDays) {
+        Budget budget = new Budget();
+        budget.setPeriodType(periodType);
+        budget.setPeriodAnchor(anchor);
+        budget.setPeriodLengthDays(lengthDays);
+        budget.setCreatedAt(LocalDateTime.of(2024, 1, 10, 9, 0));
+        return budget;
+    }
+}
@@ -1,8 +1,13 @@
 package backend.service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -18,17 +23,21 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import backend.entity.Budget;
-import backend.entity.Transaction;
 import backend.repository.BudgetRepository;
-import backend.repository.TransactionRepository;
+import backend.repository.CategoryMonthTotalRepository.CategorySpending;
+import backend.repository.TransactionRepository.DailyCategoryTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class BudgetServiceTest {
@@ -37,13 +46,23 @@ class BudgetServiceTest {
     private BudgetRepository budgetRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private CategoryTotalsService categoryTotalsService;
+
+    @Spy
+    private BudgetSpendingCache budgetSpendingCache =
+        new BudgetSpendingCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), Clock.systemDefaultZone());
+
+    @Spy
+    private BudgetPeriodEngine budgetPeriodEngine = new BudgetPeriodEngine();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BudgetService budgetService;
 
     private Budget testBudget;
-    private Transaction testTransaction;
+    private CategorySpending testTotal;
 
     @BeforeEach
     void setUp() {
@@ -58,29 +77,113 @@ class BudgetServiceTest {
         testBudget.setCreatedAt(LocalDateTime.now());
         testBudget.setUpdatedAt(LocalDateTime.now());
 
-        testTransaction = new Transaction();
-        testTransaction.setId(1L);
-        testTransaction.setUserId(1L);
-        testTransaction.setAmount(new BigDecimal("50.00"));
-        testTransaction.setCategory("Groceries");
-        testTransaction.setType("out");
-        testTransaction.setTransactionDate(LocalDate.now());
+        testTotal = spending("groceries", "50.00", "130.00");
     }
 
     @Test
     void getUserBudgets_ShouldReturnBudgetsWithCalculatedSpending() {
         List<Budget> budgets = Arrays.asList(testBudget);
         when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(budgets);
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Arrays.asList(testTransaction));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
 
         List<Budget> result = budgetService.getUserBudgets(1L);
 
         assertThat(result).hasSize(1);
+        assertThat(result.get(0).getSpent()).isEqualByComparingTo("50.00");
         verify(budgetRepository).findByUserIdAndIsActive(1L, true);
     }
 
+    @Test
+    void getUserBudgets_CalledAgain_ShouldServeSpendingFromCache() {
+        // Given
+        when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Arrays.asList(testBudget));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
+        budgetService.getUserBudgets(1L);
+
+        // When
+        List<Budget> result = budgetService.getUserBudgets(1L);
+
+        // Then
+        assertThat(result.get(0).getSpent()).isEqualByComparingTo("50.00");
+        verify(categoryTotalsService, times(1)).getSpending(eq(1L), any(YearMonth.class));
+    }
+
+    @Test
+    void getUserBudgets_AfterTransactionsChanged_ShouldRecalculate() {
+        // Given
+        when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Arrays.asList(testBudget));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
+        budgetService.getUserBudgets(1L);
+
+        // When
+        budgetSpendingCache.onTransactionsChanged(new TransactionsChangedEvent(1L));
+        budgetService.getUserBudgets(1L);
+
+        // Then
+        verify(categoryTotalsService, times(2)).getSpending(eq(1L), any(YearMonth.class));
+    }
+
+    @Test
+    void getUserBudgets_ShouldTakeWindowOfEachBudgetPeriod() {
+        // Given: monthly budgets use month-to-date, yearly ones year-to-date, from the same query
+        Budget yearly = new Budget();
+        yearly.setId(2L);
+        yearly.setCategory("DINING");
+        yearly.setPeriodType("yearly");
+        Budget unspent = new Budget();
+        unspent.setId(3L);
+        unspent.setCategory("Travel");
+        unspent.setPeriodType("monthly");
+        when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Arrays.asList(testBudget, yearly, unspent));
+        when(categoryTotalsService.getSpending(1L, YearMonth.now()))
+            .thenReturn(Arrays.asList(testTotal, spending("dining", "12.00", "75.00")));
+
+        // When
+        List<Budget> result = budgetService.getUserBudgets(1L);
+
+        // Then
+        assertThat(result.get(0).getSpent()).isEqualByComparingTo("50.00");
+        assertThat(result.get(1).getSpent()).isEqualByComparingTo("75.00");
+        assertThat(result.get(2).getSpent()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void getUserBudgets_WithWeeklyBudget_ShouldBucketOneDailyScanByPeriod() {
+        // Given: a weekly budget next to the monthly one; both are served by the same range scan
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Budget weekly = new Budget();
+        weekly.setId(2L);
+        weekly.setCategory("Dining");
+        weekly.setPeriodType("weekly");
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate scanStart = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Arrays.asList(testBudget, weekly));
+        when(categoryTotalsService.getDailySpending(eq(1L), eq(scanStart), any(LocalDate.class))).thenReturn(Arrays.asList(
+            day("groceries", today, "30.00"),
+            day("dining", today, "12.00"),
+            day("dining", weekStart.minusDays(1), "99.00")
+        ));
+
+        // When
+        List<Budget> result = budgetService.getUserBudgets(1L);
+
+        // Then
+        assertThat(result.get(0).getSpent()).isEqualByComparingTo("30.00");
+        assertThat(result.get(1).getSpent()).isEqualByComparingTo("12.00");
+        verify(categoryTotalsService, never()).getSpending(any(), any());
+    }
+
+    @Test
+    void createBudget_WithRollingPeriodWithoutLength_ShouldThrowException() {
+        assertThatThrownBy(() -> budgetService.createBudget(1L, "Groceries", new BigDecimal("500.00"), "rolling", null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("period length");
+    }
+
     @Test
     void getUserBudgets_WithNoBudgets_ShouldReturnEmptyList() {
         when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Collections.emptyList());
@@ -94,9 +197,8 @@ class BudgetServiceTest {
     void getUserBudgets_WithYearlyBudget_ShouldCalculateCorrectly() {
         testBudget.setPeriodType("yearly");
         when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(Arrays.asList(testBudget));
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Arrays.asList(testTransaction));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
 
         List<Budget> result = budgetService.getUserBudgets(1L);
 
@@ -107,9 +209,8 @@ class BudgetServiceTest {
     @Test
     void getBudgetById_WithValidId_ShouldReturnBudget() {
         when(budgetRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testBudget));
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Arrays.asList(testTransaction));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
 
         Budget result = budgetService.getBudgetById(1L, 1L);
 
@@ -130,9 +231,8 @@ class BudgetServiceTest {
     void createBudget_WithValidData_ShouldCreateBudget() {
         when(budgetRepository.existsByUserIdAndCategoryAndIsActive(1L, "Groceries", true)).thenReturn(false);
         when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Collections.emptyList());
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Collections.emptyList());
 
         Budget result = budgetService.createBudget(1L, "Groceries", new BigDecimal("500.00"), "monthly");
 
@@ -153,7 +253,7 @@ class BudgetServiceTest {
     void createBudget_WithInvalidPeriodType_ShouldThrowException() {
         assertThatThrownBy(() -> budgetService.createBudget(1L, "Groceries", new BigDecimal("500.00"), "invalid"))
             .isInstanceOf(IllegalArgumentException.class)
-            .hasMessageContaining("must be 'monthly' or 'yearly'");
+            .hasMessageContaining("Period type must be one of");
     }
 
     @Test
@@ -181,9 +281,8 @@ class BudgetServiceTest {
     void updateBudget_WithValidData_ShouldUpdateBudget() {
         when(budgetRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testBudget));
         when(budgetRepository.save(any(Budget.class))).thenReturn(testBudget);
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Collections.emptyList());
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Collections.emptyList());
 
         Budget result = budgetService.updateBudget(1L, 1L, "Food", new BigDecimal("600.00"), "yearly");
 
@@ -195,9 +294,8 @@ class BudgetServiceTest {
     void updateBudget_WithDuplicateCategory_ShouldThrowException() {
         when(budgetRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testBudget));
         when(budgetRepository.existsByUserIdAndCategoryAndIsActive(1L, "Dining", true)).thenReturn(true);
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Collections.emptyList());
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> budgetService.updateBudget(1L, 1L, "Dining", new BigDecimal("600"), "monthly"))
             .isInstanceOf(IllegalArgumentException.class)
@@ -207,26 +305,25 @@ class BudgetServiceTest {
     @Test
     void updateBudget_WithInvalidPeriodType_ShouldThrowException() {
         when(budgetRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testBudget));
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Collections.emptyList());
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Collections.emptyList());
 
         assertThatThrownBy(() -> budgetService.updateBudget(1L, 1L, null, null, "invalid"))
             .isInstanceOf(IllegalArgumentException.class)
-            .hasMessageContaining("must be 'monthly' or 'yearly'");
+            .hasMessageContaining("Period type must be one of");
     }
 
     @Test
     void deleteBudget_WithValidId_ShouldDeleteBudget() {
         when(budgetRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testBudget));
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Collections.emptyList());
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Collections.emptyList());
         doNothing().when(budgetRepository).delete(testBudget);
 
         budgetService.deleteBudget(1L, 1L);
 
         verify(budgetRepository).delete(testBudget);
+        verify(eventPublisher).publishEvent(new BudgetsChangedEvent(1L));
     }
 
     @Test
@@ -238,7 +335,8 @@ class BudgetServiceTest {
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Budget not found");
 
-        // No transactionRepository stubbing here!
+        // No categoryTotalsService stubbing here!
+        verifyNoInteractions(eventPublisher);
     }
 
 
@@ -247,14 +345,15 @@ class BudgetServiceTest {
     void recalculateAllBudgets_WithActiveBudgets_ShouldRecalculateAll() {
         List<Budget> budgets = Arrays.asList(testBudget);
         when(budgetRepository.findByUserIdAndIsActive(1L, true)).thenReturn(budgets);
-        when(transactionRepository.findByUserIdAndTransactionDateBetween(
-            eq(1L), any(LocalDate.class), any(LocalDate.class)
-        )).thenReturn(Arrays.asList(testTransaction));
+        when(categoryTotalsService.getSpending(eq(1L), any(YearMonth.class)))
+            .thenReturn(Arrays.asList(testTotal));
         when(budgetRepository.saveAll(anyList())).thenReturn(budgets);
 
         budgetService.recalculateAllBudgets(1L);
 
+        verify(categoryTotalsService).rebuild(1L);
         verify(budgetRepository).saveAll(anyList());
+        verify(eventPublisher).publishEvent(new BudgetsChangedEvent(1L));
     }
 
     @Test
@@ -265,4 +364,20 @@ class BudgetServiceTest {
 
         verify(budgetRepository, never()).saveAll(anyList());
     }
-}
\ No newline at end of file
+
+    private DailyCategoryTotal day(String category, LocalDate date, String total) {
+        return new DailyCategoryTotal() {
+            public String getCategory() { return category; }
+            public LocalDate getTransactionDate() { return date; }
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+        };
+    }
+
+    private CategorySpending spending(String category, String monthToDate, String yearToDate) {
+        return new CategorySpending() {
+            public String getCategory() { return category; }
+            public BigDecimal getMonthToDate() { return new BigDecimal(monthToDate); }
+            public BigDecimal getYearToDate() { return new BigDecimal(yearToDate); }
+        };
+    }
+}
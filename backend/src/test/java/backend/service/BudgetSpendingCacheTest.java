@@ -0,0 +1,180 @@
+package backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BudgetSpendingCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnSpendingAndCountHit() {
+        // Given
+        BudgetSpendingCache cache = cache(10);
+        cache.put(1L, cache.stamp(), spending());
+
+        // When
+        Map<Long, BigDecimal> spent = cache.get(1L).orElseThrow();
+
+        // Then
+        assertThat(spent.get(7L)).isEqualByComparingTo("42.00");
+        assertThat(meterRegistry.counter("budget.cache.hits").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("budget.cache.hit-ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_WithUnknownUser_ShouldCountMiss() {
+        BudgetSpendingCache cache = cache(10);
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(meterRegistry.counter("budget.cache.misses").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidate_ShouldDropEntry() {
+        // Given
+        BudgetSpendingCache cache = cache(10);
+        cache.put(1L, cache.stamp(), spending());
+        cache.put(2L, cache.stamp(), spending());
+
+        // When
+        cache.onTransactionsChanged(new TransactionsChangedEvent(1L));
+
+        // Then
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isPresent();
+        assertThat(meterRegistry.counter("budget.cache.invalidations").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_WithStampTakenBeforeInvalidation_ShouldNotStore() {
+        // Given: spending read from the database while a write was committing
+        BudgetSpendingCache cache = cache(10);
+        long stamp = cache.stamp();
+        cache.onBudgetsChanged(new BudgetsChangedEvent(1L));
+
+        // When
+        cache.put(1L, stamp, spending());
+
+        // Then
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void put_WithStampTakenBeforeOtherUsersInvalidation_ShouldStore() {
+        // Given: another user's write commits while this user's spending is being read
+        BudgetSpendingCache cache = cache(10);
+        long stamp = cache.stamp();
+        cache.onTransactionsChanged(new TransactionsChangedEvent(2L));
+
+        // When
+        cache.put(1L, stamp, spending());
+
+        // Then
+        assertThat(cache.get(1L)).isPresent();
+    }
+
+    @Test
+    void get_AfterTtl_ShouldExpireEntry() {
+        // Given
+        BudgetSpendingCache cache = cache(10);
+        cache.put(1L, cache.stamp(), spending());
+
+        // When
+        clock.advance(Duration.ofMinutes(6));
+
+        // Then
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void get_AfterMidnight_ShouldExpireEntry() {
+        // Given: weekly and rolling budget periods move on every day
+        clock = new MutableClock(Instant.parse("2024-03-12T23:59:00Z"));
+        BudgetSpendingCache cache = cache(10);
+        cache.put(1L, cache.stamp(), spending());
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+
+        // Then
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        BudgetSpendingCache cache = cache(2);
+        cache.put(1L, cache.stamp(), spending());
+        cache.put(2L, cache.stamp(), spending());
+        cache.get(1L);
+
+        // When
+        cache.put(3L, cache.stamp(), spending());
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(meterRegistry.get("budget.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void put_WithCacheDisabled_ShouldNotStore() {
+        BudgetSpendingCache cache = cache(0);
+
+        cache.put(1L, cache.stamp(), spending());
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    private BudgetSpendingCache cache(int maxEntries) {
+        return new BudgetSpendingCache(meterRegistry, maxEntries, Duration.ofMinutes(5), clock);
+    }
+
+    private Map<Long, BigDecimal> spending() {
+        return Map.of(7L, new BigDecimal("42.00"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
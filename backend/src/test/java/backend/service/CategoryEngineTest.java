@@ -0,0 +1,121 @@
+package backend.service;
+
+import backend.entity.CategoryRule;
+import backend.repository.CategoryRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryEngineTest {
+
+    @Mock
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CategoryEngine categoryEngine;
+
+    @Test
+    void categorize_WithUserRule_ShouldTakePrecedenceOverDefaults() {
+        // Given
+        when(categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(1L))
+            .thenReturn(List.of(rule(1L, null, "starbucks", "Coffee")));
+
+        // When
+        String category = categoryEngine.categorize(1L, null, "STARBUCKS #123");
+
+        // Then
+        assertThat(category).isEqualTo("Coffee");
+        assertThat(categoryEngine.categorize(1L, null, "Shell station")).isEqualTo("Gas");
+        verify(categoryRuleRepository, times(1)).findByUserIdOrderByPriorityAscIdAsc(1L);
+    }
+
+    @Test
+    void categorize_WithInstitutionRule_ShouldApplyOnlyToThatInstitution() {
+        // Given
+        when(categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(1L)).thenReturn(List.of());
+        when(categoryRuleRepository.findByUserIdIsNullAndInstitutionIgnoreCaseOrderByPriorityAscIdAsc("chase"))
+            .thenReturn(List.of(rule(null, "Chase", "zelle", "Transfer")));
+
+        // When/Then
+        assertThat(categoryEngine.categorize(1L, "Chase", "ZELLE TO JOHN")).isEqualTo("Transfer");
+        assertThat(categoryEngine.categorize(1L, null, "ZELLE TO JOHN")).isEqualTo("Other");
+    }
+
+    @Test
+    void addRule_ShouldSaveAndRebuildUserCategorizer() {
+        // Given
+        when(categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(1L))
+            .thenReturn(List.of())
+            .thenReturn(List.of(rule(1L, null, "gym", "Health")));
+        when(categoryRuleRepository.save(any(CategoryRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertThat(categoryEngine.categorize(1L, null, "Planet GYM")).isEqualTo("Other");
+
+        // When
+        CategoryRule saved = categoryEngine.addRule(1L, null, " GYM ", null, "Health", 10);
+
+        // Then: the cached categorizer stays until the change commits
+        assertThat(saved.getKeyword()).isEqualTo("gym");
+        verify(eventPublisher).publishEvent(new CategoryRulesChangedEvent(1L));
+        assertThat(categoryEngine.categorize(1L, null, "Planet GYM")).isEqualTo("Other");
+
+        categoryEngine.onRulesChanged(new CategoryRulesChangedEvent(1L));
+        assertThat(categoryEngine.categorize(1L, null, "Planet GYM")).isEqualTo("Health");
+    }
+
+    @Test
+    void categorize_WhenRulesChangeDuringBuild_ShouldNotCacheStaleCategorizer() {
+        // Given: a rule change commits while the old rules are being compiled
+        when(categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(1L))
+            .thenAnswer(invocation -> {
+                categoryEngine.onRulesChanged(new CategoryRulesChangedEvent(1L));
+                return List.of();
+            })
+            .thenReturn(List.of(rule(1L, null, "gym", "Health")));
+
+        // When/Then
+        assertThat(categoryEngine.categorize(1L, null, "Planet GYM")).isEqualTo("Other");
+        assertThat(categoryEngine.categorize(1L, null, "Planet GYM")).isEqualTo("Health");
+    }
+
+    @Test
+    void deleteRule_WithOtherUsersRule_ShouldThrowException() {
+        when(categoryRuleRepository.findByIdAndUserId(5L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> categoryEngine.deleteRule(5L, 1L))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not found");
+        verify(categoryRuleRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addRule_WithoutOwner_ShouldThrowException() {
+        assertThatThrownBy(() -> categoryEngine.addRule(null, " ", "gym", null, "Health", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("user or an institution");
+        verify(categoryRuleRepository, never()).save(any());
+    }
+
+    private CategoryRule rule(Long userId, String institution, String keyword, String category) {
+        CategoryRule rule = new CategoryRule();
+        rule.setUserId(userId);
+        rule.setInstitution(institution);
+        rule.setKeyword(keyword);
+        rule.setCategory(category);
+        return rule;
+    }
+}
@@ -0,0 +1,157 @@
+package backend.service;
+
+import backend.entity.CategoryMonthTotal;
+import backend.entity.Transaction;
+import backend.repository.CategoryMonthTotalRepository;
+import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.MonthlyCategoryTotal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryTotalsServiceTest {
+
+    @Mock
+    private CategoryMonthTotalRepository categoryMonthTotalRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CategoryTotalsService categoryTotalsService;
+
+    @Test
+    void record_ShouldAddOneDeltaPerMonthCategoryAndType() {
+        // Given
+        List<Transaction> rows = List.of(
+            transaction("2024-03-02", "Groceries", "out", "20.00"),
+            transaction("2024-03-20", "Groceries", "OUT", "5.50"),
+            transaction("2024-04-01", "Groceries", "out", "7.00")
+        );
+
+        // When
+        categoryTotalsService.record(rows);
+
+        // Then
+        verify(categoryMonthTotalRepository).addToTotal(eq(1L), eq("2024-03"), eq("Groceries"), eq("out"),
+            eq(new BigDecimal("25.50")), eq(2L), any());
+        verify(categoryMonthTotalRepository).addToTotal(eq(1L), eq("2024-04"), eq("Groceries"), eq("out"),
+            eq(new BigDecimal("7.00")), eq(1L), any());
+        verify(categoryMonthTotalRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new TransactionsChangedEvent(1L));
+    }
+
+    @Test
+    void record_WithNewKey_ShouldUpsertInsteadOfSaving() {
+        // When: no row exists yet for the key; the upsert creates it in the same statement
+        categoryTotalsService.record(List.of(transaction("2024-03-02", "Dining", "out", "12.00")));
+
+        // Then
+        verify(categoryMonthTotalRepository).addToTotal(eq(1L), eq("2024-03"), eq("Dining"), eq("out"),
+            eq(new BigDecimal("12.00")), eq(1L), any());
+        verify(categoryMonthTotalRepository, never()).save(any());
+    }
+
+    @Test
+    void apply_WithUpdate_ShouldMoveAmountBetweenCategories() {
+        // Given
+        Transaction transaction = transaction("2024-03-02", "Groceries", "out", "20.00");
+        CategoryTotalsService.Delta delta = new CategoryTotalsService.Delta().remove(transaction);
+        transaction.setCategory("Dining");
+
+        // When
+        categoryTotalsService.apply(delta.add(transaction));
+
+        // Then
+        verify(categoryMonthTotalRepository).addToTotal(eq(1L), eq("2024-03"), eq("Groceries"), eq("out"),
+            eq(new BigDecimal("-20.00")), eq(-1L), any());
+        verify(categoryMonthTotalRepository).addToTotal(eq(1L), eq("2024-03"), eq("Dining"), eq("out"),
+            eq(new BigDecimal("20.00")), eq(1L), any());
+    }
+
+    @Test
+    void apply_WithChangesThatCancelOut_ShouldWriteNothing() {
+        // Given: an update that only touched the note
+        Transaction transaction = transaction("2024-03-02", "Groceries", "out", "20.00");
+        CategoryTotalsService.Delta delta = new CategoryTotalsService.Delta().remove(transaction);
+        transaction.setNote("weekly shop");
+
+        // When
+        categoryTotalsService.apply(delta.add(transaction));
+
+        // Then
+        verifyNoInteractions(categoryMonthTotalRepository, eventPublisher);
+    }
+
+    @Test
+    void getSpending_ShouldQueryFromStartOfYearToMonth() {
+        categoryTotalsService.getSpending(1L, YearMonth.of(2024, 3));
+
+        verify(categoryMonthTotalRepository).findCategorySpending(1L, "2024-01", "2024-03");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldReplaceUserTotalsFromTransactions() {
+        // Given
+        when(transactionRepository.findMonthlyCategoryTotals(1L)).thenReturn(List.of(
+            monthly(2024, 3, "Groceries", "out", "25.50", 2L),
+            monthly(2024, 3, "Groceries", "OUT", "4.50", 1L),
+            monthly(2024, 4, "Salary", "in", "1000.00", 1L)
+        ));
+
+        // When
+        categoryTotalsService.rebuild(1L);
+
+        // Then
+        ArgumentCaptor<Iterable<CategoryMonthTotal>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(categoryMonthTotalRepository).deleteByUserId(1L);
+        verify(categoryMonthTotalRepository).saveAll(saved.capture());
+        List<CategoryMonthTotal> totals = new ArrayList<>();
+        saved.getValue().forEach(totals::add);
+        assertThat(totals).hasSize(2);
+        assertThat(totals.get(0).getYearMonth()).isEqualTo("2024-03");
+        assertThat(totals.get(0).getTotal()).isEqualByComparingTo("30.00");
+        assertThat(totals.get(0).getTransactionCount()).isEqualTo(3L);
+        assertThat(totals.get(1).getYearMonth()).isEqualTo("2024-04");
+    }
+
+    private Transaction transaction(String date, String category, String type, String amount) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(1L);
+        transaction.setTransactionDate(LocalDate.parse(date));
+        transaction.setCategory(category);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        return transaction;
+    }
+
+    private MonthlyCategoryTotal monthly(int year, int month, String category, String type, String total, Long count) {
+        return new MonthlyCategoryTotal() {
+            public Integer getTransactionYear() { return year; }
+            public Integer getTransactionMonth() { return month; }
+            public String getCategory() { return category; }
+            public String getType() { return type; }
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+            public Long getCount() { return count; }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InvalidationGenerationsTest {
+
+    @Test
+    void isStale_ShouldOnlyReportKeysInvalidatedAfterStamp() {
+        // Given
+        InvalidationGenerations<String> generations = new InvalidationGenerations<>(10);
+        generations.invalidate("a");
+        long stamp = generations.stamp();
+
+        // When
+        generations.invalidate("b");
+
+        // Then
+        assertThat(generations.isStale("a", stamp)).isFalse();
+        assertThat(generations.isStale("b", stamp)).isTrue();
+        assertThat(generations.isStale("c", stamp)).isFalse();
+        assertThat(generations.isStale("b", generations.stamp())).isFalse();
+    }
+
+    @Test
+    void isStale_AfterRecordIsForgotten_ShouldTreatOlderStampsAsStale() {
+        // Given: room for two records
+        InvalidationGenerations<String> generations = new InvalidationGenerations<>(2);
+        long stamp = generations.stamp();
+        generations.invalidate("a");
+
+        // When: "a" is pushed out
+        generations.invalidate("b");
+        generations.invalidate("c");
+
+        // Then: what happened to "a" is unknown, so the stamp from before it is refused
+        assertThat(generations.isStale("a", stamp)).isTrue();
+        assertThat(generations.isStale("z", stamp)).isTrue();
+        assertThat(generations.isStale("z", generations.stamp())).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package backend.service;
+
+import backend.service.KeywordCategorizer.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class KeywordCategorizerTest {
+
+    private final KeywordCategorizer categorizer = KeywordCategorizer.defaults();
+
+    @Test
+    void categorize_ShouldMatchKeywordsCaseInsensitively() {
+        assertThat(categorizer.categorize("STARBUCKS STORE 1234")).isEqualTo("Dining");
+        assertThat(categorizer.categorize("Kroger #512")).isEqualTo("Groceries");
+        assertThat(categorizer.categorize("Netflix.com")).isEqualTo("Entertainment");
+    }
+
+    @Test
+    void categorize_ShouldKeepRulePrecedence() {
+        // "payroll" (Income) outranks "deposit" (Transfer); "amazon" (Shopping) outranks "fee" (Fees)
+        assertThat(categorizer.categorize("Payroll deposit ACME")).isEqualTo("Income");
+        assertThat(categorizer.categorize("Amazon Prime membership fee")).isEqualTo("Shopping");
+        // "gas" is a substring match, exactly as before
+        assertThat(categorizer.categorize("Vegas hotel")).isEqualTo("Gas");
+    }
+
+    @Test
+    void categorize_WithExcludeKeyword_ShouldSkipRuleWhenExclusionPresent() {
+        assertThat(categorizer.categorize("Mobile check deposit")).isEqualTo("Transfer");
+        assertThat(categorizer.categorize("Direct credit deposit")).isEqualTo("Other");
+    }
+
+    @Test
+    void categorize_WithOverlappingKeywords_ShouldFindAllMatches() {
+        KeywordCategorizer custom = new KeywordCategorizer(List.of(
+            new Rule("she", "A"),
+            new Rule("hers", "B"),
+            new Rule("he", "C")
+        ));
+
+        assertThat(custom.categorize("ushers")).isEqualTo("A");
+        assertThat(custom.categorize("hers")).isEqualTo("B");
+        assertThat(custom.categorize("the")).isEqualTo("C");
+        assertThat(custom.categorize("xyz")).isEqualTo(KeywordCategorizer.DEFAULT_CATEGORY);
+    }
+
+    @Test
+    void categorize_WithNullOrEmptyDescription_ShouldReturnOther() {
+        assertThat(categorizer.categorize(null)).isEqualTo("Other");
+        assertThat(categorizer.categorize("")).isEqualTo("Other");
+    }
+
+    @Test
+    void rule_WithBlankKeyword_ShouldThrowException() {
+        assertThatThrownBy(() -> new Rule("", "Dining"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Keyword is required");
+    }
+}
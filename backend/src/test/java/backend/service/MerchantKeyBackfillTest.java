@@ -0,0 +1,56 @@
+package backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MerchantKeyBackfillTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, merchant VARCHAR(100), merchant_key VARCHAR(100))");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (1, 'DEBIT PURCHASE WHOLEFDS MKT 10234', NULL)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (2, 'Shell', 'kept')");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (3, NULL, NULL)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (4, '   ', NULL)");
+        jdbcTemplate.update("INSERT INTO transactions VALUES (5, 'WHOLEFDS MKT 555', NULL)");
+    }
+
+    @Test
+    void backfill_ShouldKeyRowsWithMerchantAcrossBatches() {
+        // Given: a batch smaller than the rows to scan
+        MerchantKeyBackfill backfill = new MerchantKeyBackfill(jdbcTemplate, new MerchantNormalizationService(), true, 2);
+
+        // When
+        int updated = backfill.backfill();
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(merchantKey(1)).isEqualTo("whole foods");
+        assertThat(merchantKey(5)).isEqualTo("whole foods");
+        assertThat(merchantKey(2)).isEqualTo("kept");
+        assertThat(merchantKey(3)).isNull();
+        assertThat(merchantKey(4)).isNull();
+    }
+
+    @Test
+    void backfill_WhenRunAgain_ShouldFindNothing() {
+        MerchantKeyBackfill backfill = new MerchantKeyBackfill(jdbcTemplate, new MerchantNormalizationService(), true, 500);
+        backfill.backfill();
+
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    private String merchantKey(long id) {
+        return jdbcTemplate.queryForObject("SELECT merchant_key FROM transactions WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,64 @@
+package backend.service;
+
+import backend.entity.Transaction;
+import backend.service.MerchantNormalizer.Merchant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MerchantNormalizationServiceTest {
+
+    @Test
+    void normalize_ShouldCacheRecentLookupsUpToLimit() {
+        // Given
+        MerchantNormalizationService service = new MerchantNormalizationService(2);
+
+        // When
+        Merchant first = service.normalize("STARBUCKS STORE 1234");
+        service.normalize("SHELL OIL 5744");
+        service.normalize("STARBUCKS STORE 1234");
+        service.normalize("TARGET T-1023");
+
+        // Then: the least recently used entry was evicted, the repeated one kept
+        assertThat(service.cacheSize()).isEqualTo(2);
+        assertThat(service.normalize("STARBUCKS STORE 1234")).isSameAs(first);
+    }
+
+    @Test
+    void applyImported_ShouldReplaceMerchantWithNormalizedName() {
+        // Given
+        Transaction transaction = new Transaction();
+        transaction.setMerchant("DEBIT PURCHASE WHOLEFDS MKT 10234");
+
+        // When
+        new MerchantNormalizationService().applyImported(transaction);
+
+        // Then
+        assertThat(transaction.getMerchant()).isEqualTo("Whole Foods");
+        assertThat(transaction.getMerchantKey()).isEqualTo("whole foods");
+    }
+
+    @Test
+    void applyEntered_ShouldKeepTypedMerchantAndSetKey() {
+        // Given
+        Transaction transaction = new Transaction();
+        transaction.setMerchant("starbucks downtown");
+
+        // When
+        new MerchantNormalizationService().applyEntered(transaction);
+
+        // Then
+        assertThat(transaction.getMerchant()).isEqualTo("starbucks downtown");
+        assertThat(transaction.getMerchantKey()).isEqualTo("starbucks");
+    }
+
+    @Test
+    void applyEntered_WithoutMerchant_ShouldClearKey() {
+        Transaction transaction = new Transaction();
+        transaction.setMerchantKey("stale");
+
+        new MerchantNormalizationService().applyEntered(transaction);
+
+        assertThat(transaction.getMerchantKey()).isNull();
+    }
+}
@@ -0,0 +1,81 @@
+package backend.service;
+
+import backend.service.MerchantNormalizer.Merchant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MerchantNormalizerTest {
+
+    private final MerchantNormalizer normalizer = MerchantNormalizer.defaults();
+
+    @Test
+    void normalize_WithKnownMerchant_ShouldReturnCanonicalNameAndKey() {
+        // Given: the same merchant as several banks print it
+        List<String> raw = List.of(
+            "STARBUCKS STORE 1234",
+            "DEBIT CARD PURCHASE - Starbucks #0442 Seattle WA",
+            "POS Starbucks Coffee VISA 1111"
+        );
+
+        // When/Then
+        assertThat(raw).allSatisfy(text -> {
+            Merchant merchant = normalizer.normalize(text);
+            assertThat(merchant.name).isEqualTo("Starbucks");
+            assertThat(merchant.key).isEqualTo("starbucks");
+        });
+    }
+
+    @Test
+    void normalize_ShouldPreferLongestAlias() {
+        assertThat(normalizer.normalize("UBER EATS HELP.UBER.COM").name).isEqualTo("Uber Eats");
+        assertThat(normalizer.normalize("UBER TRIP 8H3K").name).isEqualTo("Uber");
+        assertThat(normalizer.normalize("McDonald's F1234").key).isEqualTo("mcdonalds");
+        assertThat(normalizer.normalize("7-ELEVEN 33421").name).isEqualTo("7-Eleven");
+    }
+
+    @Test
+    void normalize_WithUnknownMerchant_ShouldCutCardAndStoreSuffixes() {
+        // When
+        Merchant merchant = normalizer.normalize("Purchase Blue Bottle Cafe Store VISA 4455");
+
+        // Then
+        assertThat(merchant.name).isEqualTo("Blue Bottle Cafe Store");
+        assertThat(merchant.key).isEqualTo("blue bottle cafe");
+    }
+
+    @Test
+    void normalize_ShouldOnlyStripPrefixesAtWordBoundaries() {
+        assertThat(normalizer.normalize("Fromage Shop").name).isEqualTo("Fromage Shop");
+        assertThat(normalizer.normalize("SQ *JOES TACOS").name).isEqualTo("JOES TACOS");
+        assertThat(normalizer.normalize("Cardinal Books").name).isEqualTo("Cardinal Books");
+    }
+
+    @Test
+    void normalize_WithBlankText_ShouldReturnNull() {
+        assertThat(normalizer.normalize(null)).isNull();
+        assertThat(normalizer.normalize("   ")).isNull();
+    }
+
+    @Test
+    void normalize_ShouldBeStableForItsOwnNames() {
+        for (String raw : List.of("AMZN Mktp US*2K4", "Payment to City Water #88", "Transfer to Savings")) {
+            Merchant first = normalizer.normalize(raw);
+            Merchant again = normalizer.normalize(first.name);
+            assertThat(again.name).isEqualTo(first.name);
+            assertThat(again.key).isEqualTo(first.key);
+        }
+    }
+
+    @Test
+    void constructor_WithCustomMerchants_ShouldUseThem() {
+        MerchantNormalizer custom = new MerchantNormalizer(List.of("ach"), Map.of("city of austin", "City of Austin"));
+
+        assertThat(custom.normalize("ACH CITY OF AUSTIN UTIL").name).isEqualTo("City of Austin");
+        assertThatThrownBy(() -> new MerchantNormalizer(List.of(" "), Map.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OcrCorrectorTest {
+
+    private final OcrCorrector corrector = OcrCorrector.defaults();
+
+    @Test
+    void correct_ShouldFixWholeWordMisreads() {
+        assertThat(corrector.correct("Acccunt Summary\nBaiance cn 01/31: Tctal Depcsit"))
+            .isEqualTo("Account Summary\nBalance on 01/31: Total Deposit");
+    }
+
+    @Test
+    void correct_ShouldLeaveWordsInsideLongerWordsAlone() {
+        assertThat(corrector.correct("Baiances cnly xcn TctalAmount")).isEqualTo("Baiances cnly xcn TctalAmount");
+    }
+
+    @Test
+    void correct_ShouldFixDigitMisreads() {
+        // Given
+        String text = "Date 12l05 paid 1O5.00 ref 1O2O3 day 123l45";
+
+        // When
+        String corrected = corrector.correct(text);
+
+        // Then: matches are leftmost and non-overlapping, as with the regex replacements
+        assertThat(corrected).isEqualTo("Date 12/05 paid 105.00 ref 102O3 day 123/45");
+    }
+
+    @Test
+    void correct_ShouldNotTouchLettersNextToNonDigits() {
+        assertThat(corrector.correct("Online Old l5 5l OO")).isEqualTo("Online Old l5 5l OO");
+    }
+
+    @Test
+    void correct_WithAppendTarget_ShouldAppendToBuilder() {
+        StringBuilder out = new StringBuilder("> ");
+
+        corrector.correct(new StringBuilder("N br 7"), out);
+
+        assertThat(out.toString()).isEqualTo("> Nbr 7");
+    }
+
+    @Test
+    void withCorrections_ShouldApplyLearnedCorrectionsAndKeepDefaults() {
+        // Given
+        OcrCorrector learned = corrector.withCorrections(Map.of("Checklng", "Checking"));
+
+        // When/Then
+        assertThat(learned.correct("Checklng Baiance")).isEqualTo("Checking Balance");
+        assertThat(corrector.correct("Checklng")).isEqualTo("Checklng");
+    }
+
+    @Test
+    void constructor_WithEmptySource_ShouldThrowException() {
+        assertThatThrownBy(() -> new OcrCorrector(Map.of("", "x")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("required");
+    }
+}
@@ -2,13 +2,24 @@ package backend.service;
 
 import backend.service.PDFParserService.ParsedStatement;
 import backend.service.PDFParserService.ParsedTransaction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -66,4 +77,127 @@ class PDFParserServiceTest {
         assertThatThrownBy(() -> pdfParserService.parseStatement(invalidPdf))
             .isInstanceOf(IOException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseStatement_WithGenericLines_ShouldExtractTransactions() throws IOException {
+        MultipartFile pdf = pdfWithLines(
+            "Statement Date: 03/31/2024",
+            "Page 1 of 1",
+            "03/02 Starbucks Coffee 5.75",
+            "03/05 Payroll Deposit 1,250.00",
+            "Total fees 0.00 this period",
+            "03/09 Shell Gas Station -40.10"
+        );
+
+        ParsedStatement statement = pdfParserService.parseStatement(pdf);
+
+        assertThat(statement.statementDate).isEqualTo(LocalDate.of(2024, 3, 31));
+        assertThat(statement.transactions).hasSize(3);
+
+        ParsedTransaction coffee = statement.transactions.get(0);
+        assertThat(coffee.date).isEqualTo(LocalDate.of(2024, 3, 2));
+        assertThat(coffee.description).isEqualTo("Starbucks Coffee");
+        assertThat(coffee.amount).isEqualByComparingTo(new BigDecimal("5.75"));
+        assertThat(coffee.category).isEqualTo("Dining");
+
+        assertThat(statement.transactions.get(1).type).isEqualTo("in");
+        assertThat(statement.transactions.get(1).amount).isEqualByComparingTo(new BigDecimal("1250.00"));
+        assertThat(statement.transactions.get(2).type).isEqualTo("out");
+    }
+
+    @Test
+    void parseStatementFile_WithUnrecognisedLayout_ShouldStreamTransactionsBeforeTextEnds() throws IOException {
+        // Given: a first page long enough to settle the layout, then a second page
+        StringBuilder firstPage = new StringBuilder("Statement Date: 03/31/2024\n");
+        while (firstPage.length() < StatementFingerprint.FIRST_PAGE_CHARS) {
+            firstPage.append("03/02 Starbucks Coffee 5.75\n");
+        }
+        List<ParsedTransaction> received = new ArrayList<>();
+        ChunkedTextExtractor extractor = new ChunkedTextExtractor(received,
+            firstPage.toString(), "03/05 Payroll Deposit 1,250.00\n");
+        PDFParserService service = new PDFParserService(extractor, new StatementUploadSpool(), StatementParserRegistry.defaults());
+
+        // When
+        ParsedStatement statement = service.parseStatementFile(Path.of("statement.pdf"), received::add);
+
+        // Then: the first page's transactions arrived while the second page was still to come
+        int firstPageTransactions = statement.transactions.size() - 1;
+        assertThat(extractor.receivedAfterChunk).containsExactly(firstPageTransactions, firstPageTransactions + 1);
+        assertThat(received).containsExactlyElementsOf(statement.transactions);
+        assertThat(statement.transactions.get(firstPageTransactions).date).isEqualTo(LocalDate.of(2024, 3, 5));
+    }
+
+    @Test
+    void parseStatementFile_WhenLaterStatementDateChangesYear_ShouldRestartListener() throws IOException {
+        // Given: "Ending Balance" outranks "As of", so the statement year only settles at the end
+        StringBuilder firstPage = new StringBuilder("As of 12/31/2023\n");
+        while (firstPage.length() < StatementFingerprint.FIRST_PAGE_CHARS) {
+            firstPage.append("01/02 Starbucks Coffee 5.75\n");
+        }
+        List<ParsedTransaction> received = new ArrayList<>();
+        int[] restarts = {0};
+        ChunkedTextExtractor extractor = new ChunkedTextExtractor(received,
+            firstPage.toString(), "Ending Balance 01/31/2024 $100.00\n");
+        PDFParserService service = new PDFParserService(extractor, new StatementUploadSpool(), StatementParserRegistry.defaults());
+
+        // When
+        ParsedStatement statement = service.parseStatementFile(Path.of("statement.pdf"), new StatementParseListener() {
+            @Override
+            public void onTransaction(ParsedTransaction transaction) {
+                received.add(transaction);
+            }
+
+            @Override
+            public void onRestart() {
+                restarts[0]++;
+                received.clear();
+            }
+        });
+
+        // Then
+        assertThat(restarts[0]).isEqualTo(1);
+        assertThat(statement.transactions).isNotEmpty().allSatisfy(t -> assertThat(t.date.getYear()).isEqualTo(2024));
+        assertThat(received).containsExactlyElementsOf(statement.transactions);
+    }
+
+    /** Writes the given chunks as the document text, noting how many transactions were received after each. */
+    private static class ChunkedTextExtractor extends PdfTextExtractor {
+        private final List<ParsedTransaction> received;
+        private final String[] chunks;
+        final List<Integer> receivedAfterChunk = new ArrayList<>();
+
+        ChunkedTextExtractor(List<ParsedTransaction> received, String... chunks) {
+            super(1, 1, 1, 1024 * 1024, 1024 * 1024, "");
+            this.received = received;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void extract(Path pdf, Writer out) throws IOException {
+            for (String chunk : chunks) {
+                out.write(chunk);
+                receivedAfterChunk.add(received.size());
+            }
+        }
+    }
+
+    private MultipartFile pdfWithLines(String... lines) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+                content.setLeading(14);
+                content.newLineAtOffset(50, 720);
+                for (String line : lines) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            document.save(out);
+            return new MockMultipartFile("file", "statement.pdf", "application/pdf", out.toByteArray());
+        }
+    }
+}
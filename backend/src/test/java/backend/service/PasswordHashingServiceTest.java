@@ -0,0 +1,157 @@
+package backend.service;
+
+import backend.service.PasswordHashingService.HashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTrip() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 10, 5000, 200);
+
+        String hash = service.encode("password123");
+
+        assertThat(service.matches("password123", hash)).isTrue();
+        assertThat(service.matches("wrongpassword", hash)).isFalse();
+        assertThat(meterRegistry.timer("security.hashing.duration").count()).isEqualTo(3);
+    }
+
+    @Test
+    void encode_WithNullPassword_ShouldThrowEncoderException() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 1, 10, 5000, 200);
+
+        assertThatThrownBy(() -> service.encode(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+        // Given: one hashing thread held busy and one request queued behind it
+        service = new PasswordHashingService(blockingEncoder(), meterRegistry, 1, 1, 5000, 200);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        awaitActive(1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        awaitQueued(1);
+
+        // Then
+        assertThatThrownBy(() -> service.encode("third"))
+            .isInstanceOf(HashingBusyException.class);
+        assertThat(meterRegistry.counter("security.hashing.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+    }
+
+    @Test
+    void encode_WithLargeConfiguredQueue_ShouldRejectWhileMostServletThreadsAreFree() throws Exception {
+        // Given: 8 request threads; a 200-slot queue would let hashing hold all of them
+        service = new PasswordHashingService(blockingEncoder(), meterRegistry, 2, 200, 5000, 8);
+        ExecutorService servletPool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> waiting = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                waiting.add(servletPool.submit(() -> service.encode("running")));
+            }
+            awaitActive(2);
+            for (int i = 0; i < 2; i++) {
+                waiting.add(servletPool.submit(() -> service.encode("queued")));
+            }
+            awaitQueued(2);
+
+            // When
+            long start = System.nanoTime();
+            Future<?> refused = servletPool.submit(() -> service.encode("refused"));
+
+            // Then: refused at once, with half of the request threads never touched by hashing
+            assertThatThrownBy(() -> refused.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(HashingBusyException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+            assertThat(meterRegistry.get("security.hashing.max-callers").gauge().value()).isEqualTo(4);
+
+            release.countDown();
+            for (Future<String> hash : waiting) {
+                assertThat(hash.get(5, TimeUnit.SECONDS)).isNotBlank();
+            }
+        } finally {
+            servletPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_WithDefaultQueue_ShouldAdmitAQuarterOfTheServletPool() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 2, 0, 1000, 200);
+
+        assertThat(meterRegistry.get("security.hashing.max-callers").gauge().value()).isEqualTo(52);
+    }
+
+    @Test
+    void encode_WhenNotStartedWithinMaxWait_ShouldRejectAndDropTheHash() throws Exception {
+        service = new PasswordHashingService(blockingEncoder(), meterRegistry, 1, 10, 50, 200);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        awaitActive(1);
+
+        assertThatThrownBy(() -> service.encode("second"))
+            .isInstanceOf(HashingBusyException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+        assertThat(meterRegistry.timer("security.hashing.duration").count()).isEqualTo(1);
+    }
+
+    private BCryptPasswordEncoder blockingEncoder() {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+    }
+
+    private void awaitActive(int count) throws InterruptedException {
+        await("security.hashing.active", count);
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+        await("security.hashing.queue.depth", count);
+    }
+
+    private void await(String gauge, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get(gauge).gauge().value() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package backend.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PdfTextExtractorTest {
+
+    private final List<PdfTextExtractor> extractors = new ArrayList<>();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        extractors.forEach(PdfTextExtractor::shutdown);
+    }
+
+    @Test
+    void extractText_WithManyPages_ShouldMatchSinglePassInPageOrder() throws IOException {
+        // Given
+        Path pdf = pdfWithPages(25);
+        PdfTextExtractor extractor = extractor(8, 3, 1);
+
+        // When
+        List<String> chunks = new ArrayList<>();
+        extractor.extract(pdf, chunks::add);
+
+        // Then
+        assertThat(chunks).hasSize(9);
+        assertThat(chunks.get(0)).contains("Page 1 line").doesNotContain("Page 4 line");
+        assertThat(chunks.get(8)).contains("Page 25 line");
+        assertThat(String.join("", chunks)).isEqualTo(singlePass(pdf));
+    }
+
+    @Test
+    void extractText_BelowThreshold_ShouldUseSingleChunk() throws IOException {
+        // Given
+        Path pdf = pdfWithPages(3);
+        PdfTextExtractor extractor = extractor(4, 1, 16);
+
+        // When
+        List<String> chunks = new ArrayList<>();
+        extractor.extract(pdf, chunks::add);
+
+        // Then
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0)).isEqualTo(singlePass(pdf));
+    }
+
+    @Test
+    void extractText_WithTinyMemoryBudget_ShouldSpillToScratchFileAndMatchSinglePass() throws IOException {
+        // Given: 4 KB of main memory per document forces the scratch file into use
+        Path pdf = pdfWithPages(20);
+        Path scratchDir = Files.createDirectory(tempDir.resolve("scratch"));
+        PdfTextExtractor extractor = new PdfTextExtractor(2, 5, 1, 4096, 64L * 1024 * 1024, scratchDir.toString());
+        extractors.add(extractor);
+
+        // When
+        String text = extractor.extractText(pdf);
+
+        // Then
+        assertThat(text).isEqualTo(singlePass(pdf));
+        assertThat(scratchDir).isEmptyDirectory();
+    }
+
+    @Test
+    void shutdown_OfDefaultExtractor_ShouldLeaveSharedPoolUsable() throws IOException {
+        // Given
+        Path pdf = pdfWithPages(20);
+        new PdfTextExtractor().shutdown();
+
+        // When
+        String text = new PdfTextExtractor().extractText(pdf);
+
+        // Then
+        assertThat(text).isEqualTo(singlePass(pdf));
+    }
+
+    @Test
+    void extractText_WithInvalidContent_ShouldThrowIOException() throws IOException {
+        PdfTextExtractor extractor = extractor(2, 1, 1);
+        Path invalid = Files.write(tempDir.resolve("invalid.pdf"), "Not a valid PDF".getBytes());
+
+        assertThatThrownBy(() -> extractor.extractText(invalid))
+            .isInstanceOf(IOException.class);
+    }
+
+    private PdfTextExtractor extractor(int parallelism, int pagesPerTask, int thresholdPages) {
+        PdfTextExtractor extractor = new PdfTextExtractor(parallelism, pagesPerTask, thresholdPages,
+            8L * 1024 * 1024, 256L * 1024 * 1024, tempDir.toString());
+        extractors.add(extractor);
+        return extractor;
+    }
+
+    private String singlePass(Path pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf.toFile())) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private Path pdfWithPages(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 720);
+                    for (int line = 1; line <= 5; line++) {
+                        content.showText("Page " + p + " line " + line + " 01/0" + line + " Coffee 4.5" + line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            Path pdf = tempDir.resolve("statement-" + pages + ".pdf");
+            document.save(pdf.toFile());
+            return pdf;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedStatement;
+import backend.service.PDFParserService.ParsedTransaction;
+import backend.service.StatementJobService.QueueFullException;
+import backend.service.StatementJobService.Status;
+import backend.service.StatementJobService.StatementJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StatementJobServiceTest {
+
+    private PDFParserService pdfParserService;
+    private SimpleMeterRegistry meterRegistry;
+    private StatementJobService statementJobService;
+
+    @TempDir
+    Path spoolDir;
+
+    @BeforeEach
+    void setUp() {
+        pdfParserService = mock(PDFParserService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // One worker and one queue slot so backpressure is easy to trigger
+        statementJobService = service(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementJobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldParseInBackgroundAndComplete() throws Exception {
+        // Given
+        ParsedStatement statement = new ParsedStatement();
+        statement.accountName = "Checking";
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(statement);
+
+        // When
+        StatementJob job = statementJobService.submit(1L, 5L, pdf());
+        ParsedStatement result = job.getFuture().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(result).isSameAs(statement);
+        assertThat(job.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(job.getResult()).isSameAs(statement);
+        assertThat(job.getAccountId()).isEqualTo(5L);
+        assertThat(statementJobService.getJob(job.getId(), 1L)).isSameAs(job);
+        assertThat(meterRegistry.counter("statement.jobs.completed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_WhenParseFails_ShouldMarkJobFailed() throws Exception {
+        // Given
+        when(pdfParserService.parseStatementFile(any(), any())).thenThrow(new IOException("Corrupt PDF"));
+
+        // When
+        StatementJob job = statementJobService.submit(1L, null, pdf());
+
+        // Then
+        assertThatThrownBy(() -> job.getFuture().get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IOException.class);
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getError()).isEqualTo("Corrupt PDF");
+        assertThat(meterRegistry.counter("statement.jobs.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldReject() throws Exception {
+        // Given: first job occupies the worker, second fills the queue
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(pdfParserService.parseStatementFile(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ParsedStatement();
+        });
+        statementJobService.submit(1L, null, pdf());
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        statementJobService.submit(1L, null, pdf());
+
+        // When/Then
+        assertThatThrownBy(() -> statementJobService.submit(1L, null, pdf()))
+            .isInstanceOf(QueueFullException.class)
+            .hasMessageContaining("queue is full");
+        assertThat(statementJobService.getQueueDepth()).isEqualTo(1);
+        assertThat(meterRegistry.counter("statement.jobs.rejected").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("statement.jobs.queue.depth").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    @Test
+    void submit_WithInvalidFile_ShouldThrowBeforeQueueing() throws Exception {
+        // Given
+        MockMultipartFile textFile = new MockMultipartFile("file", "notes.txt", "text/plain", "x".getBytes());
+        doThrow(new IllegalArgumentException("Only PDF files are supported"))
+            .when(pdfParserService).validateStatementFile(textFile);
+
+        // When/Then
+        assertThatThrownBy(() -> statementJobService.submit(1L, null, textFile))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Only PDF files");
+        verify(pdfParserService, never()).parseStatementFile(any(), any());
+    }
+
+    @Test
+    void getJob_ForAnotherUser_ShouldThrowException() throws Exception {
+        // Given
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(new ParsedStatement());
+        StatementJob job = statementJobService.submit(1L, null, pdf());
+
+        // When/Then
+        assertThatThrownBy(() -> statementJobService.getJob(job.getId(), 2L))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Job not found");
+    }
+
+    @Test
+    void submit_ShouldParseSpooledFileAndDeleteItAfterwards() throws Exception {
+        // Given
+        AtomicReference<Path> parsedPath = new AtomicReference<>();
+        when(pdfParserService.parseStatementFile(any(), any())).thenAnswer(invocation -> {
+            Path spooled = invocation.getArgument(0);
+            parsedPath.set(spooled);
+            assertThat(Files.readString(spooled)).isEqualTo("%PDF-1.4");
+            return new ParsedStatement();
+        });
+
+        // When
+        StatementJob job = statementJobService.submit(1L, null, pdf());
+        job.getFuture().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(parsedPath.get().getParent()).isEqualTo(spoolDir);
+        awaitEmpty(spoolDir);
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    @Test
+    void submit_WithPreviouslyParsedContent_ShouldCompleteFromCache() throws Exception {
+        // Given
+        ParsedStatement statement = new ParsedStatement();
+        statement.accountName = "Checking";
+        when(pdfParserService.parseStatementFile(any(), any())).thenReturn(statement);
+        statementJobService.submit(1L, null, pdf()).getFuture().get(5, TimeUnit.SECONDS);
+
+        // When
+        StatementJob repeat = statementJobService.submit(2L, 7L, pdf());
+
+        // Then
+        assertThat(repeat.getFuture()).isDone();
+        assertThat(repeat.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(repeat.getResult().accountName).isEqualTo("Checking");
+        assertThat(repeat.getAccountId()).isEqualTo(7L);
+        verify(pdfParserService, times(1)).parseStatementFile(any(), any());
+        assertThat(meterRegistry.counter("statement.cache.hits").count()).isEqualTo(1.0);
+        awaitEmpty(spoolDir);
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    @Test
+    void submit_WhenParseExceedsTimeout_ShouldFailAndInterruptWorker() throws Exception {
+        // Given
+        statementJobService.shutdown();
+        statementJobService = service(100);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(pdfParserService.parseStatementFile(any(), any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return new ParsedStatement();
+        });
+
+        // When
+        StatementJob job = statementJobService.submit(1L, null, pdf());
+
+        // Then
+        assertThatThrownBy(() -> job.getFuture().get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(job.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(job.getError()).contains("timed out");
+        assertThat(meterRegistry.counter("statement.jobs.timed-out").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("statement.jobs.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_WhenParallelExtractionExceedsTimeout_ShouldStopRangesAndFreeWorker() throws Exception {
+        // Given: a document far over the parallel threshold, parsed for real with a short timeout
+        PdfTextExtractor extractor = new PdfTextExtractor(2, 1, 1, 8L * 1024 * 1024, 256L * 1024 * 1024, spoolDir.toString());
+        PDFParserService parser = new PDFParserService(extractor, new StatementUploadSpool(spoolDir.toString(), 16L * 1024 * 1024),
+            StatementParserRegistry.defaults());
+        StatementJobService service = new StatementJobService(parser, new StatementUploadSpool(spoolDir.toString(), 16L * 1024 * 1024),
+            new StatementParseCache(meterRegistry, 10, 60, ""), meterRegistry, 1, 1, 30, 100);
+        try {
+            // When
+            StatementJob slow = service.submit(1L, null, pdfWithPages(600));
+
+            // Then: the job fails on time, and the worker and range tasks are released within a page or so
+            assertThatThrownBy(() -> slow.getFuture().get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+            StatementJob next = service.submit(1L, null, pdfWithPages(2));
+            long deadline = System.currentTimeMillis() + 1000;
+            while ((next.getStatus() == Status.QUEUED || !extractor.isIdle()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(next.getStatus()).isNotEqualTo(Status.QUEUED);
+            assertThat(extractor.isIdle()).isTrue();
+        } finally {
+            service.shutdown();
+            extractor.shutdown();
+        }
+    }
+
+    @Test
+    void submit_ShouldForwardTransactionsToListenersWhileParsing() throws Exception {
+        // Given: the parser reports one transaction, then waits until the test has looked at the job
+        CountDownLatch subscribed = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        ParsedTransaction coffee = new ParsedTransaction(LocalDate.of(2024, 1, 5), "Coffee", new BigDecimal("4.50"), "out");
+        when(pdfParserService.parseStatementFile(any(), any())).thenAnswer(invocation -> {
+            subscribed.await(5, TimeUnit.SECONDS);
+            StatementParseListener listener = invocation.getArgument(1);
+            listener.onTransaction(coffee);
+            checked.await(5, TimeUnit.SECONDS);
+            return new ParsedStatement();
+        });
+        List<ParsedTransaction> received = new CopyOnWriteArrayList<>();
+
+        // When
+        StatementJob job = statementJobService.submit(1L, null, pdf());
+        job.addParseListener(received::add);
+        subscribed.countDown();
+
+        // Then
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getTransactionsParsed() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.getTransactionsParsed()).isEqualTo(1);
+        assertThat(received).containsExactly(coffee);
+        assertThat(job.getStatus()).isEqualTo(Status.RUNNING);
+        checked.countDown();
+        job.getFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submit_WithOversizedFile_ShouldThrowBeforeSpooling() {
+        // Given
+        MockMultipartFile large = new MockMultipartFile("file", "statement.pdf", "application/pdf", new byte[2048]);
+
+        // When/Then
+        assertThatThrownBy(() -> statementJobService.submit(1L, null, large))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("exceeds");
+        assertThat(spoolDir).isEmptyDirectory();
+    }
+
+    private StatementJobService service(long parseTimeoutMs) {
+        StatementUploadSpool spool = new StatementUploadSpool(spoolDir.toString(), 1024);
+        StatementParseCache cache = new StatementParseCache(meterRegistry, 10, 60, "");
+        return new StatementJobService(pdfParserService, spool, cache, meterRegistry, 1, 1, 30, parseTimeoutMs);
+    }
+
+    private void awaitEmpty(Path dir) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            try (var files = Files.list(dir)) {
+                if (files.findAny().isEmpty()) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private MockMultipartFile pdfWithPages(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 11);
+                    content.setLeading(14);
+                    content.newLineAtOffset(50, 720);
+                    for (int line = 1; line <= 40; line++) {
+                        content.showText("Page " + p + " line " + line + " 01/05 Coffee 4.50");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            document.save(bytes);
+            return new MockMultipartFile("file", "statement.pdf", "application/pdf", bytes.toByteArray());
+        }
+    }
+
+    private MockMultipartFile pdf() {
+        return new MockMultipartFile("file", "statement.pdf", "application/pdf", "%PDF-1.4".getBytes());
+    }
+}
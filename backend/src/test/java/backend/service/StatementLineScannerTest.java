@@ -0,0 +1,47 @@
+package backend.service;
+
+import backend.service.StatementLineScanner.LineFeatures;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementLineScannerTest {
+
+    @Test
+    void scan_WithNumericDateAndAmount_ShouldDetectBoth() {
+        LineFeatures features = StatementLineScanner.scan("01/15 Starbucks Coffee $1,234.56");
+
+        assertThat(features.hasDate()).isTrue();
+        assertThat(features.hasAmount()).isTrue();
+        assertThat(features.isHeaderOrFooter()).isFalse();
+    }
+
+    @Test
+    void scan_WithDayAndMonthName_ShouldDetectDate() {
+        assertThat(StatementLineScanner.scan("05  Dec Grocery Store 42.10").hasDate()).isTrue();
+        assertThat(StatementLineScanner.scan("05Dec Grocery Store 42.10").hasDate()).isFalse();
+        assertThat(StatementLineScanner.scan("05 dec Grocery Store 42.10").hasDate()).isFalse();
+    }
+
+    @Test
+    void scan_WithAmountMissingCents_ShouldNotDetectAmount() {
+        LineFeatures features = StatementLineScanner.scan("01/15 Starbucks Coffee 12.5");
+
+        assertThat(features.hasDate()).isTrue();
+        assertThat(features.hasAmount()).isFalse();
+    }
+
+    @Test
+    void scan_WithPageFooter_ShouldBeHeaderOrFooter() {
+        assertThat(StatementLineScanner.scan("Page 2 of 4").isHeaderOrFooter()).isTrue();
+        assertThat(StatementLineScanner.scan("Member FDIC 01/15 10.00").isHeaderOrFooter()).isTrue();
+        assertThat(StatementLineScanner.scan("Date Description Amount").isHeaderOrFooter()).isTrue();
+        assertThat(StatementLineScanner.scan("abc").isHeaderOrFooter()).isTrue();
+    }
+
+    @Test
+    void scan_WithTotalKeyword_ShouldOnlyBeFooterWithoutAmount() {
+        assertThat(StatementLineScanner.scan("TOTAL DEPOSITS").isHeaderOrFooter()).isTrue();
+        assertThat(StatementLineScanner.scan("01/31 Total Wine 45.99").isHeaderOrFooter()).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementLineWriterTest {
+
+    private final List<String> lines = new ArrayList<>();
+    private final StatementLineWriter writer = new StatementLineWriter(lines::add);
+
+    @Test
+    void write_ShouldEmitLinesAsTheyComplete() throws IOException {
+        // When: a line split across writes
+        writer.write("01/05 Coff");
+        assertThat(lines).isEmpty();
+        writer.write("ee 4.50\r\n01/06 Tea");
+
+        // Then
+        assertThat(lines).containsExactly("01/05 Coffee 4.50\r\n");
+    }
+
+    @Test
+    void close_ShouldEmitUnterminatedLastLine() throws IOException {
+        // Given
+        writer.write("a\n\nb");
+
+        // When
+        writer.close();
+
+        // Then: the lines concatenate back to the written text
+        assertThat(lines).containsExactly("a\n", "\n", "b");
+        assertThat(String.join("", lines)).isEqualTo("a\n\nb");
+    }
+
+    @Test
+    void close_AfterTerminatedLine_ShouldNotEmitEmptyLine() throws IOException {
+        writer.write("a\n");
+        writer.close();
+
+        assertThat(lines).containsExactly("a\n");
+    }
+}
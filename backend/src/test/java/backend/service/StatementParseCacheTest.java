@@ -0,0 +1,222 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedStatement;
+import backend.service.PDFParserService.ParsedTransaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementParseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnEqualCopyAndCountHit() {
+        // Given
+        StatementParseCache cache = cache(10, null);
+        cache.put("abc", statement());
+
+        // When
+        ParsedStatement first = cache.get("abc").orElseThrow();
+        ParsedStatement second = cache.get("abc").orElseThrow();
+
+        // Then
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.accountName).isEqualTo("Checking");
+        assertThat(first.statementDate).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(first.transactions).hasSize(1);
+        assertThat(first.transactions.get(0).amount).isEqualByComparingTo("4.50");
+        assertThat(first.transactions.get(0).category).isEqualTo("Dining");
+        assertThat(meterRegistry.counter("statement.cache.hits").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("statement.cache.misses").count()).isZero();
+    }
+
+    @Test
+    void get_WithUnknownKey_ShouldCountMiss() {
+        StatementParseCache cache = cache(10, null);
+
+        assertThat(cache.get("missing")).isEmpty();
+        assertThat(meterRegistry.counter("statement.cache.misses").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_AfterTtl_ShouldExpireEntry() {
+        // Given
+        StatementParseCache cache = cache(10, null);
+        cache.put("abc", statement());
+
+        // When
+        clock.advance(Duration.ofMinutes(61));
+
+        // Then
+        assertThat(cache.get("abc")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        StatementParseCache cache = cache(2, null);
+        cache.put("a", statement());
+        cache.put("b", statement());
+        cache.get("a");
+
+        // When
+        cache.put("c", statement());
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("a")).isPresent();
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(meterRegistry.get("statement.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void get_WithStoreDir_ShouldSurviveRestart() {
+        // Given
+        Path store = tempDir.resolve("store");
+        cache(10, store).put("abc", statement());
+
+        // When
+        StatementParseCache restarted = cache(10, store);
+
+        // Then
+        assertThat(restarted.get("abc")).hasValueSatisfying(s -> assertThat(s.accountNumber).isEqualTo("1234"));
+        assertThat(store.resolve(storeFileName("abc"))).exists();
+    }
+
+    @Test
+    void constructor_WithStoreDir_ShouldPruneExpiredFiles() {
+        // Given
+        Path store = tempDir.resolve("store");
+        cache(10, store).put("abc", statement());
+        clock.advance(Duration.ofHours(2));
+
+        // When
+        StatementParseCache restarted = cache(10, store);
+
+        // Then
+        assertThat(store.resolve(storeFileName("abc"))).doesNotExist();
+        assertThat(restarted.get("abc")).isEmpty();
+    }
+
+    @Test
+    void constructor_WithStoreDir_ShouldDiscardResultsFromOtherParserVersions() throws IOException {
+        // Given: results written before the parser changed, including unversioned ones
+        Path store = tempDir.resolve("store");
+        cache(10, store).put("abc", statement());
+        byte[] json = Files.readAllBytes(store.resolve(storeFileName("abc")));
+        Files.write(store.resolve("v" + (PDFParserService.OUTPUT_VERSION - 1) + "-old.json"), json);
+        Files.write(store.resolve("older.json"), json);
+
+        // When
+        StatementParseCache restarted = cache(10, store);
+
+        // Then
+        assertThat(restarted.get("old")).isEmpty();
+        assertThat(restarted.get("older")).isEmpty();
+        assertThat(restarted.get("abc")).isPresent();
+        assertThat(store).isDirectoryNotContaining("glob:**/*old*.json");
+    }
+
+    @Test
+    void put_WithStoreDir_ShouldPruneOnlyOncePastThreshold() throws IOException {
+        // Given: ten entries allowed, so the store is pruned once it passes eleven files
+        Path store = tempDir.resolve("store");
+        StatementParseCache cache = cache(10, store);
+        for (int i = 0; i < 11; i++) {
+            cache.put("key" + i, statement());
+            clock.advance(Duration.ofSeconds(1));
+        }
+        assertThat(storedFileCount(store)).isEqualTo(11);
+
+        // When
+        cache.put("key11", statement());
+
+        // Then: trimmed back to the oldest-first limit
+        assertThat(storedFileCount(store)).isEqualTo(10);
+        assertThat(store.resolve(storeFileName("key0"))).doesNotExist();
+        assertThat(store.resolve(storeFileName("key1"))).doesNotExist();
+        assertThat(store.resolve(storeFileName("key11"))).exists();
+    }
+
+    @Test
+    void contentKey_ShouldBeSha256OfFile() throws IOException {
+        Path file = Files.write(tempDir.resolve("statement.pdf"), "abc".getBytes());
+
+        assertThat(StatementParseCache.contentKey(file))
+            .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    private String storeFileName(String key) {
+        return "v" + PDFParserService.OUTPUT_VERSION + "-" + key + ".json";
+    }
+
+    private long storedFileCount(Path storeDir) throws IOException {
+        try (Stream<Path> files = Files.list(storeDir)) {
+            return files.count();
+        }
+    }
+
+    private StatementParseCache cache(int maxEntries, Path storeDir) {
+        return new StatementParseCache(meterRegistry, maxEntries, Duration.ofMinutes(60), storeDir, clock);
+    }
+
+    private ParsedStatement statement() {
+        ParsedStatement statement = new ParsedStatement();
+        statement.accountName = "Checking";
+        statement.accountNumber = "1234";
+        statement.openingBalance = new BigDecimal("100.00");
+        statement.closingBalance = new BigDecimal("95.50");
+        statement.statementDate = LocalDate.of(2024, 2, 29);
+        statement.transactions.add(new ParsedTransaction(LocalDate.of(2024, 2, 3), "Coffee Shop", new BigDecimal("4.50"), "out"));
+        return statement;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
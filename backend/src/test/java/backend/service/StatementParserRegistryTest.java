@@ -0,0 +1,132 @@
+package backend.service;
+
+import backend.service.PDFParserService.ParsedTransaction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementParserRegistryTest {
+
+    private final StatementParserRegistry registry = StatementParserRegistry.defaults();
+
+    @Test
+    void detect_ShouldPickFormatFromFirstPageHeaders() {
+        assertThat(registry.detect("Date Description Debit Credit Balance\n01/05 Coffee 4.50 95.50"))
+            .hasValueSatisfying(parser -> assertThat(parser.name()).isEqualTo("table"));
+        assertThat(registry.detect("Date Description\n5 Jan Coffee\nMoney out Money In Balance\n4.50 - 95.50"))
+            .hasValueSatisfying(parser -> assertThat(parser.name()).isEqualTo("broken-table"));
+        assertThat(registry.detect("Deposits I Credits\nDate Description Amount\nJan 5 Payroll 100.00"))
+            .hasValueSatisfying(parser -> assertThat(parser.name()).isEqualTo("us-bank"));
+        assertThat(registry.detect("DATE   AMOUNT\nRESULTING BALANCE\n01/05 -$4.50 $95.50 Debit"))
+            .hasValueSatisfying(parser -> assertThat(parser.name()).isEqualTo("capital-one"));
+    }
+
+    @Test
+    void detect_WithUnknownLayout_ShouldReturnEmpty() {
+        assertThat(registry.detect("Some Credit Union\n01/05/2024 Coffee Shop $4.50")).isEmpty();
+    }
+
+    @Test
+    void parse_WithUnknownLayout_ShouldUseGenericParser() {
+        // When
+        List<ParsedTransaction> transactions = registry.parse("01/05/2024 Coffee Shop $4.50\n01/06/2024 Grocery Store $20.00", 2024);
+
+        // Then
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0).date).isEqualTo(LocalDate.of(2024, 1, 5));
+        assertThat(transactions.get(0).amount).isEqualByComparingTo("4.50");
+    }
+
+    @Test
+    void parse_ShouldOnlyRunBestScoringParserWhenItFindsTransactions() {
+        // Given
+        RecordingParser strong = new RecordingParser("strong", "acme bank", 5, true);
+        RecordingParser weak = new RecordingParser("weak", "acme", 1, true);
+        StatementParserRegistry custom = new StatementParserRegistry(List.of(weak, strong), new GenericStatementParser());
+
+        // When
+        List<ParsedTransaction> transactions = custom.parse("ACME   Bank statement", 2024);
+
+        // Then
+        assertThat(transactions).extracting(t -> t.description).containsExactly("strong");
+        assertThat(strong.calls).isEqualTo(1);
+        assertThat(weak.calls).isZero();
+    }
+
+    @Test
+    void parse_WhenBestParserFindsNothing_ShouldTryNextCandidate() {
+        // Given
+        RecordingParser strong = new RecordingParser("strong", "acme bank", 5, false);
+        RecordingParser weak = new RecordingParser("weak", "acme", 1, true);
+        StatementParserRegistry custom = new StatementParserRegistry(List.of(strong, weak), new GenericStatementParser());
+
+        // When
+        List<ParsedTransaction> transactions = custom.parse("ACME Bank statement", 2024);
+
+        // Then
+        assertThat(transactions).extracting(t -> t.description).containsExactly("weak");
+        assertThat(strong.calls).isEqualTo(1);
+    }
+
+    @Test
+    void parse_WithHeaderBeyondFirstPage_ShouldStillFindFormat() {
+        // Given
+        RecordingParser late = new RecordingParser("late", "acme bank", 5, true);
+        StatementParserRegistry custom = new StatementParserRegistry(List.of(late), new GenericStatementParser());
+        String text = "x".repeat(StatementFingerprint.FIRST_PAGE_CHARS) + "\nACME Bank";
+
+        // When/Then
+        assertThat(custom.detect(text)).isEmpty();
+        assertThat(custom.parse(text, 2024)).extracting(t -> t.description).containsExactly("late");
+    }
+
+    @Test
+    void fingerprint_HasLine_ShouldMatchTokenGroupsInOrderOnOneLine() {
+        StatementFingerprint fingerprint = StatementFingerprint.of("DATE\tTRANSACTION   AMOUNT BALANCE\nDescription", 1000);
+
+        assertThat(fingerprint.hasLine(new String[] {"date "}, new String[] {"description", "transaction"}, new String[] {"balance"})).isTrue();
+        assertThat(fingerprint.hasLine(new String[] {"balance"}, new String[] {"date "})).isFalse();
+        assertThat(fingerprint.hasLine(new String[] {"date "}, new String[] {"description"})).isFalse();
+        assertThat(fingerprint.contains("balance description")).isTrue();
+    }
+
+    private static class RecordingParser implements StatementParser {
+        private final String name;
+        private final String token;
+        private final int score;
+        private final boolean findsTransactions;
+        int calls;
+
+        RecordingParser(String name, String token, int score, boolean findsTransactions) {
+            this.name = name;
+            this.token = token;
+            this.score = score;
+            this.findsTransactions = findsTransactions;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int score(StatementFingerprint fingerprint) {
+            return fingerprint.contains(token) ? score : 0;
+        }
+
+        @Override
+        public List<ParsedTransaction> parse(String text, int year) {
+            calls++;
+            List<ParsedTransaction> transactions = new ArrayList<>();
+            if (findsTransactions) {
+                transactions.add(new ParsedTransaction(LocalDate.of(year, 1, 1), name, BigDecimal.ONE, "out"));
+            }
+            return transactions;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package backend.service;
+
+import backend.entity.Account;
+import backend.entity.Transaction;
+import backend.repository.AccountRepository;
+import backend.service.TransactionImportService.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private CategoryEngine categoryEngine;
+
+    @Spy
+    private MerchantNormalizationService merchantNormalizationService = new MerchantNormalizationService();
+
+    @Mock
+    private CategoryTotalsService categoryTotalsService;
+
+    @InjectMocks
+    private TransactionImportService transactionImportService;
+
+    private Account testAccount;
+
+    @BeforeEach
+    void setUp() {
+        testAccount = new Account();
+        testAccount.setId(1L);
+        testAccount.setUserId(1L);
+    }
+
+    @Test
+    void importTransactions_ShouldBatchInsertAndAggregateBalances() {
+        // Given
+        when(accountRepository.findByUserId(1L)).thenReturn(List.of(testAccount));
+        when(categoryEngine.categorize(eq(1L), isNull(), isNull())).thenReturn("Other");
+        List<Transaction> rows = Arrays.asList(
+            row(1L, "100.00", "out"),
+            row(1L, "40.00", "IN"),
+            row(null, "5.00", "out")
+        );
+
+        // When
+        ImportResult result = transactionImportService.importTransactions(1L, rows, true);
+
+        // Then
+        assertThat(result.imported).isEqualTo(3);
+        assertThat(result.skipped).isZero();
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((Collection<Transaction> c) -> c.size() == 3),
+            eq(TransactionImportService.BATCH_SIZE), any(ParameterizedPreparedStatementSetter.class));
+        verify(accountService).applyBalanceDeltas(1L, Map.of(1L, new BigDecimal("-60.00")));
+        assertThat(rows).allSatisfy(t -> {
+            assertThat(t.getUserId()).isEqualTo(1L);
+            assertThat(t.getCategory()).isEqualTo("Other");
+        });
+        assertThat(rows.get(1).getType()).isEqualTo("in");
+        verify(categoryTotalsService).record(argThat((Collection<Transaction> c) -> c.size() == 3));
+    }
+
+    @Test
+    void importTransactions_ShouldSkipInvalidRows() {
+        // Given
+        when(accountRepository.findByUserId(1L)).thenReturn(List.of(testAccount));
+        List<Transaction> rows = Arrays.asList(
+            row(1L, "10.00", "out"),
+            row(1L, "-1.00", "out"),
+            row(1L, "10.00", "sideways"),
+            row(99L, "10.00", "out")
+        );
+
+        // When
+        ImportResult result = transactionImportService.importTransactions(1L, rows, false);
+
+        // Then
+        assertThat(result.imported).isEqualTo(1);
+        assertThat(result.skipped).isEqualTo(3);
+        assertThat(result.errors).containsExactly(
+            "Row 2: Amount must be greater than zero",
+            "Row 3: Invalid transaction type. Must be 'in' or 'out'",
+            "Row 4: Account not found"
+        );
+        verify(accountService, never()).applyBalanceDeltas(anyLong(), anyMap());
+    }
+
+    @Test
+    void importTransactions_WithBlankCategory_ShouldUseAccountInstitutionRules() {
+        // Given
+        testAccount.setInstitution("Chase");
+        when(accountRepository.findByUserId(1L)).thenReturn(List.of(testAccount));
+        when(categoryEngine.categorize(1L, "Chase", "Starbucks Latte")).thenReturn("Dining");
+        Transaction categorized = row(1L, "4.50", "out");
+        categorized.setMerchant("Starbucks");
+        categorized.setNote("Latte");
+        Transaction explicit = row(1L, "9.99", "out");
+        explicit.setCategory("Entertainment");
+
+        // When
+        transactionImportService.importTransactions(1L, Arrays.asList(categorized, explicit), false);
+
+        // Then
+        assertThat(categorized.getCategory()).isEqualTo("Dining");
+        assertThat(explicit.getCategory()).isEqualTo("Entertainment");
+        verify(categoryEngine, times(1)).categorize(anyLong(), any(), any());
+    }
+
+    @Test
+    void importTransactions_ShouldNormalizeMerchantsBeforeInsert() {
+        // Given: categories are inferred from the bank's text, not the shortened name
+        when(accountRepository.findByUserId(1L)).thenReturn(List.of(testAccount));
+        when(categoryEngine.categorize(1L, null, "DEBIT CARD PURCHASE STARBUCKS STORE 1234")).thenReturn("Dining");
+        Transaction row = row(1L, "5.75", "out");
+        row.setMerchant("DEBIT CARD PURCHASE STARBUCKS STORE 1234");
+
+        // When
+        transactionImportService.importTransactions(1L, List.of(row), false);
+
+        // Then
+        assertThat(row.getCategory()).isEqualTo("Dining");
+        assertThat(row.getMerchant()).isEqualTo("Starbucks");
+        assertThat(row.getMerchantKey()).isEqualTo("starbucks");
+    }
+
+    @Test
+    void importTransactions_WithNoRows_ShouldNotTouchDatabase() {
+        // When
+        ImportResult result = transactionImportService.importTransactions(1L, new ArrayList<>(), true);
+
+        // Then
+        assertThat(result.imported).isZero();
+        verifyNoInteractions(jdbcTemplate, accountRepository, accountService);
+    }
+
+    private Transaction row(Long accountId, String amount, String type) {
+        Transaction t = new Transaction();
+        t.setAccountId(accountId);
+        t.setAmount(new BigDecimal(amount));
+        t.setType(type);
+        t.setTransactionDate(LocalDate.of(2024, 3, 1));
+        return t;
+    }
+}
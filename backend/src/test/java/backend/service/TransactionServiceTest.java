@@ -1,5 +1,6 @@
 package backend.service;
 
+import backend.dto.TransactionPage;
 import backend.entity.Account;
 import backend.entity.Transaction;
 import backend.repository.TransactionRepository;
@@ -8,12 +9,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,6 +33,15 @@ class TransactionServiceTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private CategoryEngine categoryEngine;
+
+    @Spy
+    private MerchantNormalizationService merchantNormalizationService = new MerchantNormalizationService();
+
+    @Mock
+    private CategoryTotalsService categoryTotalsService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -68,11 +81,32 @@ class TransactionServiceTest {
         verify(transactionRepository).findByUserIdOrderByTransactionDateDesc(1L);
     }
 
+    @Test
+    void getMerchantTotals_WithoutFilters_ShouldQuerySpendingForLast30Days() {
+        // Given
+        LocalDate today = LocalDate.now();
+
+        // When
+        transactionService.getMerchantTotals(1L, null, null, null, null);
+
+        // Then
+        verify(transactionRepository).findMerchantTotals(eq(1L), eq("out"), eq(today.minusDays(30)), eq(today),
+            argThat((Pageable pageable) -> pageable.getPageSize() == TransactionService.DEFAULT_PAGE_SIZE));
+    }
+
+    @Test
+    void getMerchantTotals_WithInvalidRange_ShouldThrowException() {
+        assertThatThrownBy(() -> transactionService.getMerchantTotals(1L, "out", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Start date");
+        assertThatThrownBy(() -> transactionService.getMerchantTotals(1L, "sideways", null, null, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void createTransaction_WithValidData_ShouldCreateTransaction() {
         // Given
         when(transactionRepository.save(any(Transaction.class))).thenReturn(testTransaction);
-        when(accountService.getAccountById(1L, 1L)).thenReturn(testAccount);
 
         // When
         Transaction result = transactionService.createTransaction(
@@ -90,7 +124,32 @@ class TransactionServiceTest {
         // Then
         assertThat(result).isNotNull();
         verify(transactionRepository).save(any(Transaction.class));
-        verify(accountService).updateBalance(eq(1L), eq(1L), any(BigDecimal.class));
+        verify(accountService).adjustBalance(1L, 1L, new BigDecimal("-50.00"));
+    }
+
+    @Test
+    void createTransaction_WithBlankCategory_ShouldInferCategory() {
+        // Given
+        when(accountService.getInstitution(1L, 1L)).thenReturn("Chase");
+        when(categoryEngine.categorize(1L, "Chase", "Shell Fuel stop")).thenReturn("Gas");
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Transaction result = transactionService.createTransaction(
+            1L, 1L, LocalDate.now(),
+            new BigDecimal("35.00"),
+            " ",
+            "out",
+            "Fuel stop",
+            "Shell",
+            false
+        );
+
+        // Then
+        assertThat(result.getCategory()).isEqualTo("Gas");
+        assertThat(result.getMerchant()).isEqualTo("Shell");
+        assertThat(result.getMerchantKey()).isEqualTo("shell");
+        verify(accountService, never()).adjustBalance(anyLong(), anyLong(), any(BigDecimal.class));
     }
 
     @Test
@@ -154,7 +213,9 @@ class TransactionServiceTest {
         transactionService.deleteTransaction(1L, 1L);
 
         // Then
+        verify(accountService).adjustBalance(1L, 1L, new BigDecimal("50.00"));
         verify(transactionRepository).delete(testTransaction);
+        verify(categoryTotalsService).reverse(List.of(testTransaction));
     }
 
     @Test
@@ -202,7 +263,6 @@ class TransactionServiceTest {
         List<Transaction> transactions = Arrays.asList(txn1, txn2);
 
         when(transactionRepository.saveAll(anyList())).thenReturn(transactions);
-        when(accountService.getAccountById(1L, 1L)).thenReturn(testAccount);
 
         // When
         List<Transaction> result = transactionService.createBulkTransactions(1L, transactions, true);
@@ -210,6 +270,87 @@ class TransactionServiceTest {
         // Then
         assertThat(result).hasSize(2);
         verify(transactionRepository).saveAll(anyList());
-        verify(accountService, times(2)).updateBalance(anyLong(), anyLong(), any(BigDecimal.class));
+        verify(accountService).applyBalanceDeltas(1L, Map.of(1L, new BigDecimal("-300.00")));
+        verify(accountService, never()).updateBalance(anyLong(), anyLong(), any(BigDecimal.class));
+    }
+
+    @Test
+    void deleteTransactions_ShouldAggregateReversalsPerAccount() {
+        // Given
+        Transaction income = new Transaction();
+        income.setId(2L);
+        income.setAccountId(1L);
+        income.setAmount(new BigDecimal("20.00"));
+        income.setType("in");
+        when(transactionRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(testTransaction));
+        when(transactionRepository.findByIdAndUserId(2L, 1L)).thenReturn(Optional.of(income));
+
+        // When
+        transactionService.deleteTransactions(Arrays.asList(1L, 2L), 1L);
+
+        // Then
+        verify(accountService).applyBalanceDeltas(1L, Map.of(1L, new BigDecimal("30.00")));
+        verify(transactionRepository).deleteAll(anyList());
+    }
+
+    @Test
+    void getTransactionPage_WithMoreRows_ShouldReturnCursor() {
+        // Given
+        Transaction older = new Transaction();
+        older.setId(2L);
+        older.setTransactionDate(LocalDate.of(2024, 1, 1));
+        testTransaction.setTransactionDate(LocalDate.of(2024, 2, 1));
+        when(transactionRepository.findPageByUserId(eq(1L), any(LocalDate.class), anyLong(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testTransaction, older));
+
+        // When
+        TransactionPage page = transactionService.getTransactionPage(1L, null, null, null, 1);
+
+        // Then
+        assertThat(page.getTransactions()).containsExactly(testTransaction);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void getTransactionPage_WithCursor_ShouldResumeAfterLastRow() {
+        // Given
+        testTransaction.setTransactionDate(LocalDate.of(2024, 2, 1));
+        when(transactionRepository.findPageByUserId(eq(1L), any(LocalDate.class), anyLong(), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testTransaction, new Transaction()))
+            .thenReturn(List.of());
+        String cursor = transactionService.getTransactionPage(1L, null, null, null, 1).getNextCursor();
+
+        // When
+        TransactionPage next = transactionService.getTransactionPage(1L, null, null, cursor, 1);
+
+        // Then
+        assertThat(next.getTransactions()).isEmpty();
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+        verify(transactionRepository).findPageByUserId(eq(1L), eq(LocalDate.of(2024, 2, 1)), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void getTransactionPage_ShouldCapPageSize() {
+        // Given
+        when(transactionRepository.findPageByUserIdAndAccountId(eq(1L), eq(1L), any(LocalDate.class), anyLong(), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        // When
+        transactionService.getTransactionPage(1L, 1L, null, null, 10_000);
+
+        // Then
+        verify(transactionRepository).findPageByUserIdAndAccountId(
+            eq(1L), eq(1L), any(LocalDate.class), anyLong(),
+            argThat(p -> p.getPageSize() == TransactionService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getTransactionPage_WithInvalidCursor_ShouldThrowException() {
+        // When/Then
+        assertThatThrownBy(() -> transactionService.getTransactionPage(1L, null, null, "not-a-cursor", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid cursor");
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UnknownIdentifierCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    }
+
+    @Test
+    void isUnknown_AfterAdd_ShouldMatchAnyCaseAndCountHit() {
+        // Given
+        UnknownIdentifierCache cache = cache(10);
+        cache.add("Nobody@Test.com", cache.stamp());
+
+        // Then
+        assertThat(cache.isUnknown("nobody@test.com")).isTrue();
+        assertThat(cache.isUnknown("NOBODY@TEST.COM")).isTrue();
+        assertThat(cache.isUnknown("someone@test.com")).isFalse();
+        assertThat(meterRegistry.counter("auth.unknown-cache.hits").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void isUnknown_AfterTtl_ShouldExpireEntry() {
+        // Given
+        UnknownIdentifierCache cache = cache(10);
+        cache.add("nobody", cache.stamp());
+
+        // When
+        clock.advance(Duration.ofSeconds(30));
+
+        // Then
+        assertThat(cache.isUnknown("nobody")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void onIdentifiersChanged_ShouldDropNamedEntries() {
+        // Given
+        UnknownIdentifierCache cache = cache(10);
+        cache.add("newuser", cache.stamp());
+        cache.add("other", cache.stamp());
+
+        // When
+        cache.onIdentifiersChanged(new UserIdentifiersChangedEvent(List.of("NewUser", "new@test.com")));
+
+        // Then
+        assertThat(cache.isUnknown("newuser")).isFalse();
+        assertThat(cache.isUnknown("other")).isTrue();
+    }
+
+    @Test
+    void add_WithStampTakenBeforeChange_ShouldBeIgnored() {
+        // Given: a lookup started before the user registered
+        UnknownIdentifierCache cache = cache(10);
+        long stamp = cache.stamp();
+        cache.onIdentifiersChanged(new UserIdentifiersChangedEvent(List.of("newuser")));
+
+        // When
+        cache.add("newuser", stamp);
+
+        // Then
+        assertThat(cache.isUnknown("newuser")).isFalse();
+    }
+
+    @Test
+    void add_WithStampTakenBeforeOtherIdentifierChanged_ShouldStore() {
+        // Given
+        UnknownIdentifierCache cache = cache(10);
+        long stamp = cache.stamp();
+        cache.onIdentifiersChanged(new UserIdentifiersChangedEvent(List.of("someone-else")));
+
+        // When
+        cache.add("Nobody", stamp);
+
+        // Then
+        assertThat(cache.isUnknown("nobody")).isTrue();
+    }
+
+    @Test
+    void add_BeyondMaxEntries_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        UnknownIdentifierCache cache = cache(2);
+        cache.add("a", cache.stamp());
+        cache.add("b", cache.stamp());
+        cache.isUnknown("a");
+
+        // When
+        cache.add("c", cache.stamp());
+
+        // Then
+        assertThat(cache.isUnknown("a")).isTrue();
+        assertThat(cache.isUnknown("b")).isFalse();
+        assertThat(cache.isUnknown("c")).isTrue();
+        assertThat(meterRegistry.get("auth.unknown-cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    private UnknownIdentifierCache cache(int maxEntries) {
+        return new UnknownIdentifierCache(meterRegistry, maxEntries, Duration.ofSeconds(30), clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -6,18 +6,25 @@ import backend.entity.Transaction;
 import backend.repository.UserRepository;
 import backend.repository.AccountRepository;
 import backend.repository.TransactionRepository;
+import backend.repository.TransactionRepository.ExportRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,6 +45,13 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Spy
+    private PasswordHashingService passwordHasher =
+        new PasswordHashingService(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 2, 10, 5000, 200);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -102,6 +116,7 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         verify(emailService).sendVerificationEmail(anyString(), anyString(), anyString());
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(any(UserIdentifiersChangedEvent.class));
     }
 
     @Test
@@ -350,6 +365,62 @@ class UserServiceTest {
             .hasMessageContaining("User not found");
     }
 
+    @Test
+    void streamUserData_AsNdjson_ShouldWriteOneRecordPerLine() throws Exception {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(accountRepository.findByUserId(1L)).thenReturn(Arrays.asList(testAccount));
+        ExportRow row = exportRow("Coffee, large");
+        when(transactionRepository.streamExportRows(1L)).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userService.streamUserData(1L, "ndjson", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"record\":\"profile\"");
+        assertThat(lines[1]).startsWith("{\"record\":\"account\"");
+        assertThat(lines[2]).startsWith("{\"record\":\"transaction\"").contains("\"amount\":2000.00");
+    }
+
+    @Test
+    void streamUserData_AsCsv_ShouldQuoteFieldsWithCommas() throws Exception {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        ExportRow row = exportRow("Coffee, large");
+        when(transactionRepository.streamExportRows(1L)).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userService.streamUserData(1L, "csv", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,accountId,date,amount,category,type,note,merchant,createdAt");
+        assertThat(lines[1]).contains(",2000.00,Income,in,\"Coffee, large\",");
+        verify(accountRepository, never()).findByUserId(anyLong());
+    }
+
+    @Test
+    void streamUserData_WithUnknownFormat_ShouldThrowException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        assertThatThrownBy(() -> userService.streamUserData(1L, "xml", new ByteArrayOutputStream()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Export format");
+    }
+
+    private ExportRow exportRow(String note) {
+        ExportRow row = mock(ExportRow.class);
+        when(row.getId()).thenReturn(1L);
+        when(row.getAccountId()).thenReturn(1L);
+        when(row.getTransactionDate()).thenReturn(LocalDate.of(2024, 1, 15));
+        when(row.getAmount()).thenReturn(new BigDecimal("2000.00"));
+        when(row.getCategory()).thenReturn("Income");
+        when(row.getType()).thenReturn("in");
+        when(row.getNote()).thenReturn(note);
+        when(row.getMerchant()).thenReturn("Employer");
+        when(row.getCreatedAt()).thenReturn(LocalDateTime.of(2024, 1, 15, 9, 0));
+        return row;
+    }
+
     // ==================== LEGACY METHODS TESTS ====================
 
     @Test
@@ -389,6 +460,8 @@ class UserServiceTest {
 
         assertThat(result).isNotNull();
         verify(userRepository).save(testUser);
+        verify(eventPublisher).publishEvent(
+            new UserIdentifiersChangedEvent(List.of(testUser.getUsername(), testUser.getEmail())));
     }
 
     @Test
@@ -404,6 +477,8 @@ class UserServiceTest {
 
         assertThat(result).isNotNull();
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(
+            new UserIdentifiersChangedEvent(List.of("newusername", "newemail@test.com")));
     }
 
     @Test
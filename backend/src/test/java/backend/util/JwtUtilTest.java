@@ -132,6 +132,42 @@ class JwtUtilTest {
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    void verify_WithValidToken_ShouldReadClaimsOnce() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 123);
+        claims.put("email", "test@test.com");
+        String token = jwtUtil.generateToken("testuser", claims);
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(verified.username()).isEqualTo("testuser");
+        assertThat(verified.userId()).isEqualTo(123L);
+        assertThat(verified.email()).isEqualTo("test@test.com");
+        assertThat(jwtUtil.verify(token)).containsSame(verified);
+    }
+
+    @Test
+    void verify_WithTamperedOrForeignToken_ShouldBeEmpty() {
+        JwtUtil otherJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(otherJwtUtil, "secret", "anotherSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256");
+        ReflectionTestUtils.setField(otherJwtUtil, "expiration", 3600000L);
+
+        assertThat(jwtUtil.verify(otherJwtUtil.generateToken("testuser"))).isEmpty();
+        assertThat(jwtUtil.verify("invalid.token.here")).isEmpty();
+    }
+
+    @Test
+    void verify_WithExpiredCachedToken_ShouldBeEmpty() throws InterruptedException {
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 1500L);
+        String token = jwtUtil.generateToken("testuser");
+        assertThat(jwtUtil.verify(token)).isPresent();
+
+        Thread.sleep(1600); // exp is truncated to the second
+
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
     @Test
     void extractClaim_WithCustomClaimExtractor_ShouldExtractCorrectly() {
         String token = jwtUtil.generateToken("testuser");
@@ -0,0 +1,7 @@
+-- Columns for budget periods other than calendar months and years (weekly, biweekly, pay-cycle, rolling)
+
+ALTER TABLE IF EXISTS public.budgets
+    ADD COLUMN IF NOT EXISTS period_anchor date;
+
+ALTER TABLE IF EXISTS public.budgets
+    ADD COLUMN IF NOT EXISTS period_length_days integer;
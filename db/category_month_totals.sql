@@ -0,0 +1,33 @@
+-- Table: public.category_month_totals
+
+-- DROP TABLE IF EXISTS public.category_month_totals;
+
+CREATE TABLE IF NOT EXISTS public.category_month_totals
+(
+    id bigserial NOT NULL,
+    user_id bigint NOT NULL,
+    year_month character varying(7) COLLATE pg_catalog."default" NOT NULL,
+    category character varying(50) COLLATE pg_catalog."default" NOT NULL,
+    type character varying(10) COLLATE pg_catalog."default" NOT NULL,
+    total numeric(15,2) NOT NULL DEFAULT 0,
+    transaction_count bigint NOT NULL DEFAULT 0,
+    updated_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT category_month_totals_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_category_month_totals_key UNIQUE (user_id, year_month, category, type),
+    CONSTRAINT category_month_totals_user_id_fkey FOREIGN KEY (user_id)
+        REFERENCES public.users (id) MATCH SIMPLE
+        ON UPDATE NO ACTION
+        ON DELETE CASCADE
+)
+
+TABLESPACE pg_default;
+
+ALTER TABLE IF EXISTS public.category_month_totals
+    OWNER to mastertyler;
+
+-- Backfill from existing transactions (run once after creating the table)
+INSERT INTO public.category_month_totals (user_id, year_month, category, type, total, transaction_count)
+SELECT user_id, to_char(transaction_date, 'YYYY-MM'), category, lower(type), SUM(amount), COUNT(*)
+FROM public.transactions
+GROUP BY user_id, to_char(transaction_date, 'YYYY-MM'), category, lower(type)
+ON CONFLICT (user_id, year_month, category, type) DO NOTHING;
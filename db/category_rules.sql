@@ -0,0 +1,42 @@
+-- Table: public.category_rules
+
+-- DROP TABLE IF EXISTS public.category_rules;
+
+CREATE TABLE IF NOT EXISTS public.category_rules
+(
+    id bigserial NOT NULL,
+    user_id bigint,
+    institution character varying(100) COLLATE pg_catalog."default",
+    keyword character varying(100) COLLATE pg_catalog."default" NOT NULL,
+    exclude_keyword character varying(100) COLLATE pg_catalog."default",
+    category character varying(50) COLLATE pg_catalog."default" NOT NULL,
+    priority integer NOT NULL DEFAULT 100,
+    created_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT category_rules_pkey PRIMARY KEY (id),
+    CONSTRAINT category_rules_user_id_fkey FOREIGN KEY (user_id)
+        REFERENCES public.users (id) MATCH SIMPLE
+        ON UPDATE NO ACTION
+        ON DELETE CASCADE
+)
+
+TABLESPACE pg_default;
+
+ALTER TABLE IF EXISTS public.category_rules
+    OWNER to mastertyler;
+-- Index: idx_category_rules_user
+
+-- DROP INDEX IF EXISTS public.idx_category_rules_user;
+
+CREATE INDEX IF NOT EXISTS idx_category_rules_user
+    ON public.category_rules USING btree
+    (user_id ASC NULLS LAST, priority ASC NULLS LAST)
+    TABLESPACE pg_default;
+-- Index: idx_category_rules_institution
+
+-- DROP INDEX IF EXISTS public.idx_category_rules_institution;
+
+CREATE INDEX IF NOT EXISTS idx_category_rules_institution
+    ON public.category_rules USING btree
+    (lower(institution::text) COLLATE pg_catalog."default" ASC NULLS LAST, priority ASC NULLS LAST)
+    TABLESPACE pg_default
+    WHERE user_id IS NULL;
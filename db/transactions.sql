@@ -13,6 +13,7 @@ CREATE TABLE IF NOT EXISTS public.transactions
     type character varying(10) COLLATE pg_catalog."default" NOT NULL,
     note character varying(255) COLLATE pg_catalog."default",
     merchant character varying(100) COLLATE pg_catalog."default",
+    merchant_key character varying(100) COLLATE pg_catalog."default",
     created_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at timestamp without time zone NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT transactions_pkey PRIMARY KEY (id),
@@ -63,3 +64,11 @@ CREATE INDEX IF NOT EXISTS idx_transactions_user_id
     ON public.transactions USING btree
     (user_id ASC NULLS LAST)
     TABLESPACE pg_default;
+-- Index: idx_transactions_user_merchant
+
+-- DROP INDEX IF EXISTS public.idx_transactions_user_merchant;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_merchant
+    ON public.transactions USING btree
+    (user_id ASC NULLS LAST, merchant_key COLLATE pg_catalog."default" ASC NULLS LAST)
+    TABLESPACE pg_default;
@@ -0,0 +1,11 @@
+-- Normalized merchant used for grouping; MerchantKeyBackfill fills it in for existing rows at startup
+
+ALTER TABLE IF EXISTS public.transactions
+    ADD COLUMN IF NOT EXISTS merchant_key character varying(100) COLLATE pg_catalog."default";
+
+-- Index: idx_transactions_user_merchant
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_merchant
+    ON public.transactions USING btree
+    (user_id ASC NULLS LAST, merchant_key COLLATE pg_catalog."default" ASC NULLS LAST)
+    TABLESPACE pg_default;
@@ -0,0 +1,14 @@
+-- Columns for answering a verification link clicked again after it was used
+
+ALTER TABLE IF EXISTS public.users
+    ADD COLUMN IF NOT EXISTS consumed_verification_token character varying(255) COLLATE pg_catalog."default";
+
+ALTER TABLE IF EXISTS public.users
+    ADD COLUMN IF NOT EXISTS email_verified_at timestamp without time zone;
+
+-- Index: idx_users_consumed_verification_token
+
+CREATE INDEX IF NOT EXISTS idx_users_consumed_verification_token
+    ON public.users USING btree
+    (consumed_verification_token COLLATE pg_catalog."default" ASC NULLS LAST)
+    TABLESPACE pg_default;
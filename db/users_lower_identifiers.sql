@@ -0,0 +1,15 @@
+-- Case-insensitive indexes for signing in with either a username or an email
+
+-- Index: idx_users_lower_username
+
+CREATE INDEX IF NOT EXISTS idx_users_lower_username
+    ON public.users USING btree
+    (lower(username::text) COLLATE pg_catalog."default" ASC NULLS LAST)
+    TABLESPACE pg_default;
+
+-- Index: idx_users_lower_email
+
+CREATE INDEX IF NOT EXISTS idx_users_lower_email
+    ON public.users USING btree
+    (lower(email::text) COLLATE pg_catalog."default" ASC NULLS LAST)
+    TABLESPACE pg_default;